@@ -15,96 +15,156 @@ import java.io.Serializable;
  * <p>Ces informations sont nécessaires pour la notation FEN complète
  * et pour la validation des coups légaux.
  *
+ * <p>L'état est compacté dans un entier : droits de roque sur 4 bits (K=1, Q=2, k=4, q=8)
+ * et case de prise en passant sur 5 bits (0 si aucune, puis les colonnes a à h de la
+ * troisième rangée et de la sixième rangée). Les 16 × 17 états possibles sont créés une
+ * fois pour toutes et partagés : {@link #of(int, int)} n'alloue rien, et l'égalité se
+ * réduit à une comparaison d'entiers.
+ *
  * @author crios
  * @see Position
  */
-public class BoardState implements Serializable {
+public final class BoardState implements Serializable {
 
-    /** Case de prise en passant (notation algébrique), ou null si aucune */
-    private String epCell;
+    private static final int EP_STATES = 17;
 
-    /** Indique si les blancs peuvent faire le petit roque */
-    private Boolean whiteCanCastleKingSide;
+    private static final BoardState[] STATES = new BoardState[16 * EP_STATES];
 
-    /** Indique si les blancs peuvent faire le grand roque */
-    private Boolean whiteCanCastleQueenSide;
+    static {
+        for (int packed = 0; packed < STATES.length; packed++) {
+            STATES[packed] = new BoardState(packed);
+        }
+    }
 
-    /** Indique si les noirs peuvent faire le petit roque */
-    private Boolean blackCanCastleKingSide;
+    /** Droits de roque (bits 0 à 3) et case de prise en passant (bits 4 à 8) */
+    private final int packed;
 
-    /** Indique si les noirs peuvent faire le grand roque */
-    private Boolean blackCanCastleQueenSide;
+    /** Case de prise en passant (notation algébrique), ou null si aucune */
+    private final transient String epCell;
+
+    private BoardState(int packed) {
+        this.packed = packed;
+        int ep = packed >>> 4;
+        if (ep == 0) {
+            epCell = null;
+        } else {
+            char col = (char) ('a' + (ep - 1) % 8);
+            epCell = new String(new char[]{col, ep <= 8 ? '3' : '6'});
+        }
+    }
 
     /**
-     * Retourne la case de prise en passant.
+     * Retourne l'état correspondant à une valeur compactée.
      *
-     * @return la notation algébrique de la case (ex: "e3"), ou {@code null} si aucune
+     * @param packed la valeur compactée (voir {@link #getPacked()})
+     * @return l'instance partagée de cet état
+     * @throws IllegalArgumentException si la valeur ne correspond à aucun état
      */
-    public String getEpCell() {
-        return epCell;
+    public static BoardState valueOf(int packed) {
+        if (packed < 0 || packed >= STATES.length) {
+            throw new IllegalArgumentException("Etat invalide : " + packed);
+        }
+        return STATES[packed];
     }
 
     /**
-     * Définit la case de prise en passant.
+     * Retourne l'état correspondant à des droits de roque et une case de prise en passant.
      *
-     * @param epCell la notation algébrique de la case
+     * @param castleRights les droits de roque (K=1, Q=2, k=4, q=8)
+     * @param epCellIdx l'indice de la case de prise en passant (0-63), ou une valeur négative
+     *                  ou supérieure à 63 si aucune
+     * @return l'instance partagée de cet état
+     * @throws IllegalArgumentException si la case n'est ni sur la troisième ni sur la sixième rangée
      */
-    public void setEpCell(final String epCell) {
-        this.epCell = epCell;
+    public static BoardState of(int castleRights, int epCellIdx) {
+        int ep = 0;
+        if (epCellIdx >= 0 && epCellIdx < 64) {
+            int line = epCellIdx >>> 3;
+            if (line != 2 && line != 5) {
+                throw new IllegalArgumentException("Case de prise en passant invalide : " + epCellIdx);
+            }
+            ep = 1 + (epCellIdx & 7) + (line == 5 ? 8 : 0);
+        }
+        return STATES[(ep << 4) | (castleRights & 0xF)];
     }
 
     /**
-     * Indique si les blancs peuvent faire le petit roque.
+     * Retourne l'état correspondant à des droits de roque et une case de prise en passant.
      *
-     * @return {@code true} si le petit roque blanc est possible
+     * @param whiteCanCastleKingSide {@code true} si le petit roque blanc est possible
+     * @param whiteCanCastleQueenSide {@code true} si le grand roque blanc est possible
+     * @param blackCanCastleKingSide {@code true} si le petit roque noir est possible
+     * @param blackCanCastleQueenSide {@code true} si le grand roque noir est possible
+     * @param epCell la notation algébrique de la case de prise en passant (ex: "e3"), ou {@code null}
+     * @return l'instance partagée de cet état
+     * @throws IllegalArgumentException si la case de prise en passant est invalide
      */
-    public Boolean getWhiteCanCastleKingSide() {
-        return whiteCanCastleKingSide;
+    public static BoardState of(boolean whiteCanCastleKingSide, boolean whiteCanCastleQueenSide,
+                                boolean blackCanCastleKingSide, boolean blackCanCastleQueenSide, String epCell) {
+        int castleRights = (whiteCanCastleKingSide ? 1 : 0) | (whiteCanCastleQueenSide ? 2 : 0)
+                | (blackCanCastleKingSide ? 4 : 0) | (blackCanCastleQueenSide ? 8 : 0);
+        int epCellIdx = -1;
+        if (epCell != null) {
+            if (epCell.length() != 2 || epCell.charAt(0) < 'a' || epCell.charAt(0) > 'h') {
+                throw new IllegalArgumentException("Case de prise en passant invalide : " + epCell);
+            }
+            epCellIdx = (epCell.charAt(1) - '1') * 8 + (epCell.charAt(0) - 'a');
+        }
+        return of(castleRights, epCellIdx);
     }
 
     /**
-     * Définit si les blancs peuvent faire le petit roque.
+     * Retourne la valeur compactée de l'état.
      *
-     * @param whiteCanCastleKingSide {@code true} si possible
+     * @return les droits de roque (bits 0 à 3) et la case de prise en passant (bits 4 à 8)
      */
-    public void setWhiteCanCastleKingSide(Boolean whiteCanCastleKingSide) {
-        this.whiteCanCastleKingSide = whiteCanCastleKingSide;
+    public int getPacked() {
+        return packed;
     }
 
     /**
-     * Indique si les blancs peuvent faire le grand roque.
+     * Retourne les droits de roque.
      *
-     * @return {@code true} si le grand roque blanc est possible
+     * @return les droits de roque (K=1, Q=2, k=4, q=8)
      */
-    public Boolean getWhiteCanCastleQueenSide() {
-        return whiteCanCastleQueenSide;
+    public int getCastleRights() {
+        return packed & 0xF;
     }
 
     /**
-     * Définit si les blancs peuvent faire le grand roque.
+     * Retourne la case de prise en passant.
      *
-     * @param whiteCanCastleQueenSide {@code true} si possible
+     * @return la notation algébrique de la case (ex: "e3"), ou {@code null} si aucune
      */
-    public void setWhiteCanCastleQueenSide(Boolean whiteCanCastleQueenSide) {
-        this.whiteCanCastleQueenSide = whiteCanCastleQueenSide;
+    public String getEpCell() {
+        return epCell;
     }
 
     /**
-     * Indique si les noirs peuvent faire le petit roque.
+     * Indique si les blancs peuvent faire le petit roque.
      *
-     * @return {@code true} si le petit roque noir est possible
+     * @return {@code true} si le petit roque blanc est possible
      */
-    public Boolean getBlackCanCastleKingSide() {
-        return blackCanCastleKingSide;
+    public Boolean getWhiteCanCastleKingSide() {
+        return (packed & 1) != 0;
     }
 
     /**
-     * Définit si les noirs peuvent faire le petit roque.
+     * Indique si les blancs peuvent faire le grand roque.
      *
-     * @param blackCanCastleKingSide {@code true} si possible
+     * @return {@code true} si le grand roque blanc est possible
      */
-    public void setBlackCanCastleKingSide(Boolean blackCanCastleKingSide) {
-        this.blackCanCastleKingSide = blackCanCastleKingSide;
+    public Boolean getWhiteCanCastleQueenSide() {
+        return (packed & 2) != 0;
+    }
+
+    /**
+     * Indique si les noirs peuvent faire le petit roque.
+     *
+     * @return {@code true} si le petit roque noir est possible
+     */
+    public Boolean getBlackCanCastleKingSide() {
+        return (packed & 4) != 0;
     }
 
     /**
@@ -113,47 +173,26 @@ public class BoardState implements Serializable {
      * @return {@code true} si le grand roque noir est possible
      */
     public Boolean getBlackCanCastleQueenSide() {
-        return blackCanCastleQueenSide;
+        return (packed & 8) != 0;
     }
 
     /**
-     * Définit si les noirs peuvent faire le grand roque.
+     * Remplace une instance désérialisée par l'instance partagée du même état.
      *
-     * @param blackCanCastleQueenSide {@code true} si possible
+     * @return l'instance partagée
      */
-    public void setBlackCanCastleQueenSide(Boolean blackCanCastleQueenSide) {
-        this.blackCanCastleQueenSide = blackCanCastleQueenSide;
+    private Object readResolve() {
+        return valueOf(packed);
     }
 
     @Override
     public boolean equals(Object obj) {
-        if (obj == null || !(obj instanceof BoardState)) {
-            return false;
-        }
-
-        BoardState state = (BoardState) obj;
-        if ((this.epCell == null) != (state.epCell == null)) {
-            return false;
-        }
-
-        if (this.epCell != null && !this.epCell.equals(state.epCell)) {
-            return false;
-        }
-
-        return this.whiteCanCastleKingSide != state.whiteCanCastleKingSide
-                && this.whiteCanCastleQueenSide != state.whiteCanCastleQueenSide
-                && this.blackCanCastleKingSide != state.blackCanCastleKingSide
-                && this.blackCanCastleQueenSide == state.blackCanCastleQueenSide;
+        return obj instanceof BoardState && ((BoardState) obj).packed == packed;
     }
 
     @Override
     public int hashCode() {
-        int result = epCell == null ? 0 : epCell.hashCode();
-        result += whiteCanCastleKingSide != null && whiteCanCastleKingSide ? 2048 : 0;
-        result += whiteCanCastleQueenSide != null && whiteCanCastleQueenSide ? 4096 : 0;
-        result += blackCanCastleKingSide != null && blackCanCastleKingSide ? 8192 : 0;
-        result += blackCanCastleQueenSide != null && blackCanCastleQueenSide ? 16384 : 0;
-        return result;
+        return packed;
     }
 
 }
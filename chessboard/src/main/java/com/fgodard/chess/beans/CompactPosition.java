@@ -0,0 +1,117 @@
+package com.fgodard.chess.beans;
+
+import com.fgodard.chess.board.Color;
+import com.fgodard.chess.board.GameBoard;
+import com.fgodard.chess.exception.InvalidPositionException;
+
+import java.io.Serializable;
+import java.util.Arrays;
+
+/**
+ * Position d'échecs stockée au format binaire de taille fixe
+ * ({@value GameBoard#BINARY_POSITION_SIZE} octets, voir {@link GameBoard#exportBinary()}).
+ *
+ * <p>Seuls les octets sont conservés : la chaîne LLP est reconstruite à la première lecture.
+ * L'égalité et le hachage portent directement sur les octets. Une position compacte n'est
+ * pas modifiable ; {@link #toPosition()} construit le bean {@link Position} correspondant,
+ * pour les traitements qui attendent une position modifiable.
+ *
+ * @author crios
+ * @see GameBoard#exportCompactPosition()
+ */
+public class CompactPosition implements Serializable {
+
+    private final byte[] data;
+
+    private transient String llp;
+
+    /**
+     * Construit une position à partir de sa représentation binaire.
+     *
+     * @param src le tableau contenant la position (les octets sont copiés)
+     * @param offset l'indice du premier octet de la position
+     */
+    public CompactPosition(byte[] src, int offset) {
+        data = Arrays.copyOfRange(src, offset, offset + GameBoard.BINARY_POSITION_SIZE);
+    }
+
+    /**
+     * Copie la représentation binaire de la position dans un tableau.
+     *
+     * @param dest le tableau à remplir
+     * @param offset l'indice du premier octet à écrire
+     */
+    public void writeTo(byte[] dest, int offset) {
+        System.arraycopy(data, 0, dest, offset, data.length);
+    }
+
+    /**
+     * Place la position sur un échiquier.
+     *
+     * @param board l'échiquier à remplir
+     * @throws InvalidPositionException si les octets ne décrivent pas une position valide
+     */
+    public void applyTo(GameBoard board) throws InvalidPositionException {
+        board.importBinary(data, 0);
+    }
+
+    /**
+     * Construit la position correspondante sous forme de bean modifiable.
+     *
+     * @return une nouvelle position (LLP, trait et état de l'échiquier)
+     */
+    public Position toPosition() {
+        Position position = new Position();
+        position.setPosition(getPosition());
+        position.setTurnColor(getTurnColor());
+        position.setBoardState(getBoardState());
+        return position;
+    }
+
+    /**
+     * Retourne la position des pièces au format LLP.
+     *
+     * @return la chaîne LLP
+     */
+    public String getPosition() {
+        if (llp == null) {
+            GameBoard board = new GameBoard(true);
+            try {
+                applyTo(board);
+            } catch (InvalidPositionException e) {
+                throw new IllegalStateException(e);
+            }
+            llp = board.exportLLP();
+        }
+        return llp;
+    }
+
+    /**
+     * Retourne la couleur du joueur ayant le trait.
+     *
+     * @return la couleur, ou {@code null} si le trait n'est pas connu
+     */
+    public Color getTurnColor() {
+        int turnBits = (data[24] >>> 4) & 3;
+        return turnBits == 1 ? Color.WHITE : (turnBits == 2 ? Color.BLACK : null);
+    }
+
+    /**
+     * Retourne l'état de l'échiquier.
+     *
+     * @return l'état partagé correspondant aux droits de roque et à la prise en passant
+     */
+    public BoardState getBoardState() {
+        return BoardState.of(data[24] & 0xF, data[25] & 0xFF);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        return obj instanceof CompactPosition && Arrays.equals(data, ((CompactPosition) obj).data);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(data);
+    }
+}
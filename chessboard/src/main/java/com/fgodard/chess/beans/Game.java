@@ -45,6 +45,7 @@ public class Game implements Serializable {
     private String pgnBody;
     private ArrayList<String> posList = new ArrayList<>();
     private ArrayList<Ply> plies = new ArrayList<>();
+    private GamePositions positions;
 
     public String getStartFENPosition() {
         return startFENPosition;
@@ -204,6 +205,8 @@ public class Game implements Serializable {
      * <p>
      * Met à jour la liste des coups et la liste des positions.
      * Si c'est le premier coup, la position initiale est également ajoutée.
+     * En import différé (voir {@link #setPositions(GamePositions)}), les positions sont déjà
+     * enregistrées : seul le coup est ajouté.
      * </p>
      *
      * @param ply le coup à ajouter (ignoré si null)
@@ -216,6 +219,10 @@ public class Game implements Serializable {
 
         plies.add(ply);
 
+        if (positions != null) {
+            return;
+        }
+
         if (posList.isEmpty()) {
             posList.add(ply.getInitialPosition().getPosition());
         }
@@ -252,10 +259,41 @@ public class Game implements Serializable {
         return yearRange;
     }
 
+    /**
+     * Retourne la liste des positions de la partie au format LLP.
+     * <p>
+     * En import différé, la liste est construite à la première lecture.
+     * </p>
+     *
+     * @return la liste des positions
+     */
     public List<String> getPosList() {
+        if (positions != null && posList.size() < positions.size()) {
+            for (int i = posList.size(); i < positions.size(); i++) {
+                posList.add(positions.get(i).getPosition());
+            }
+        }
         return posList;
     }
 
+    /**
+     * Retourne les positions de la partie au format binaire, renseignées par un import différé.
+     *
+     * @return les positions, ou {@code null} si la partie a été importée avec ses objets {@link Position}
+     */
+    public GamePositions getPositions() {
+        return positions;
+    }
+
+    /**
+     * Définit les positions de la partie au format binaire (import différé).
+     *
+     * @param positions les positions
+     */
+    public void setPositions(GamePositions positions) {
+        this.positions = positions;
+    }
+
     public void setPosList(List<String> posList) {
         this.posList.clear();;
         this.posList.addAll(posList);
@@ -0,0 +1,64 @@
+package com.fgodard.chess.beans;
+
+import com.fgodard.chess.board.GameBoard;
+
+import java.io.Serializable;
+import java.util.Arrays;
+
+/**
+ * Positions successives d'une partie, stockées les unes à la suite des autres au format
+ * binaire ({@value GameBoard#BINARY_POSITION_SIZE} octets par position).
+ *
+ * <p>Lors d'un import en mode différé, chaque {@link Ply} ne conserve que l'indice de sa
+ * position initiale dans ce tableau : les objets {@link Position} ne sont construits qu'à
+ * la première lecture de {@link Ply#getInitialPosition()} ou {@link Ply#getFinalPosition()}.
+ *
+ * @author crios
+ * @see Game#getPositions()
+ * @see CompactPosition
+ */
+public class GamePositions implements Serializable {
+
+    private byte[] data = new byte[64 * GameBoard.BINARY_POSITION_SIZE];
+
+    private int size = 0;
+
+    /**
+     * Ajoute la position courante d'un échiquier.
+     *
+     * @param board l'échiquier
+     * @return l'indice de la position ajoutée
+     */
+    public int add(GameBoard board) {
+        int offset = size * GameBoard.BINARY_POSITION_SIZE;
+        if (offset == data.length) {
+            data = Arrays.copyOf(data, data.length * 2);
+        }
+        board.exportBinary(data, offset);
+        return size++;
+    }
+
+    /**
+     * Retourne le nombre de positions enregistrées.
+     *
+     * @return le nombre de positions
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Construit la position d'indice donné.
+     *
+     * @param index l'indice de la position (0 pour la position de départ)
+     * @return une nouvelle position compacte
+     * @throws IndexOutOfBoundsException si l'indice est hors des positions enregistrées
+     */
+    public CompactPosition get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Position " + index + " / " + size);
+        }
+        return new CompactPosition(data, index * GameBoard.BINARY_POSITION_SIZE);
+    }
+
+}
@@ -0,0 +1,121 @@
+package com.fgodard.chess.beans;
+
+import java.io.Serializable;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Résultat d'un comptage perft (performance test) du générateur de coups.
+ *
+ * <p>Cette classe contient :
+ * <ul>
+ *   <li>La profondeur explorée et le nombre de feuilles atteintes</li>
+ *   <li>La durée du comptage, pour le calcul du nombre de noeuds par seconde</li>
+ *   <li>Le détail par coup racine (divide), au format UCI</li>
+ * </ul>
+ *
+ * @author crios
+ */
+public class PerftResult implements Serializable {
+
+    /** Profondeur explorée (en demi-coups) */
+    private int depth;
+
+    /** Nombre de feuilles atteintes à la profondeur demandée */
+    private long nodes;
+
+    /** Durée du comptage en nanosecondes */
+    private long durationNanos;
+
+    /** Nombre de feuilles par coup racine (clé : coup UCI), dans l'ordre de génération */
+    private final Map<String, Long> divide = new LinkedHashMap<>();
+
+    /**
+     * Retourne la profondeur explorée.
+     *
+     * @return la profondeur en demi-coups
+     */
+    public int getDepth() {
+        return depth;
+    }
+
+    /**
+     * Définit la profondeur explorée.
+     *
+     * @param depth la profondeur en demi-coups
+     */
+    public void setDepth(int depth) {
+        this.depth = depth;
+    }
+
+    /**
+     * Retourne le nombre de feuilles atteintes.
+     *
+     * @return le nombre de noeuds à la profondeur demandée
+     */
+    public long getNodes() {
+        return nodes;
+    }
+
+    /**
+     * Définit le nombre de feuilles atteintes.
+     *
+     * @param nodes le nombre de noeuds
+     */
+    public void setNodes(long nodes) {
+        this.nodes = nodes;
+    }
+
+    /**
+     * Retourne la durée du comptage.
+     *
+     * @return la durée en nanosecondes
+     */
+    public long getDurationNanos() {
+        return durationNanos;
+    }
+
+    /**
+     * Définit la durée du comptage.
+     *
+     * @param durationNanos la durée en nanosecondes
+     */
+    public void setDurationNanos(long durationNanos) {
+        this.durationNanos = durationNanos;
+    }
+
+    /**
+     * Retourne le débit du comptage.
+     *
+     * @return le nombre de noeuds par seconde, ou 0 si la durée est nulle
+     */
+    public long getNodesPerSecond() {
+        if (durationNanos <= 0) {
+            return 0;
+        }
+        return (long) (nodes * 1_000_000_000.0 / durationNanos);
+    }
+
+    /**
+     * Retourne le détail du comptage par coup racine.
+     *
+     * @return les feuilles par coup UCI, vide si le détail n'a pas été demandé
+     */
+    public Map<String, Long> getDivide() {
+        return divide;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        for (Map.Entry<String, Long> entry : divide.entrySet()) {
+            sb.append(entry.getKey()).append(": ").append(entry.getValue()).append('\n');
+        }
+        sb.append("depth ").append(depth)
+                .append(" nodes ").append(nodes)
+                .append(" time ").append(durationNanos / 1_000_000).append(" ms")
+                .append(" nps ").append(getNodesPerSecond());
+        return sb.toString();
+    }
+
+}
@@ -69,6 +69,12 @@ public class Ply implements Serializable {
     /** Position après le coup */
     private Position finalPosition;
 
+    /** Positions de la partie, pour construire les positions à la demande (import différé) */
+    private GamePositions positions;
+
+    /** Indice de la position avant le coup dans {@link #positions} */
+    private int positionIndex;
+
     /**
      * Retourne la tranche de classement Elo associée au coup.
      *
@@ -255,6 +261,9 @@ public class Ply implements Serializable {
      * @return la position initiale
      */
     public Position getInitialPosition() {
+        if (initialPosition == null && positions != null) {
+            initialPosition = positions.get(positionIndex).toPosition();
+        }
         return initialPosition;
     }
 
@@ -273,6 +282,9 @@ public class Ply implements Serializable {
      * @return la position finale
      */
     public Position getFinalPosition() {
+        if (finalPosition == null && positions != null) {
+            finalPosition = positions.get(positionIndex + 1).toPosition();
+        }
         return finalPosition;
     }
 
@@ -285,6 +297,19 @@ public class Ply implements Serializable {
         this.finalPosition = finalPosition;
     }
 
+    /**
+     * Rattache le coup aux positions de sa partie : les positions initiale et finale
+     * (indices {@code positionIndex} et {@code positionIndex + 1}) ne seront construites
+     * qu'à leur première lecture.
+     *
+     * @param positions les positions de la partie
+     * @param positionIndex l'indice de la position avant le coup
+     */
+    public void setPositions(GamePositions positions, int positionIndex) {
+        this.positions = positions;
+        this.positionIndex = positionIndex;
+    }
+
     /**
      * Indique si le coup met le roi adverse en échec.
      *
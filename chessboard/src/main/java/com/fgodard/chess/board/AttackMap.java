@@ -0,0 +1,160 @@
+package com.fgodard.chess.board;
+
+import java.util.Arrays;
+
+/**
+ * Cartes d'attaque des deux camps, maintenues incrémentalement.
+ *
+ * <p>Pour chaque camp, la carte donne le masque des cases attaquées et, pour chaque case,
+ * le nombre de pièces de ce camp qui l'attaquent. Une case occupée par une pièce amie est
+ * comptée comme attaquée (elle est défendue).
+ *
+ * <p>La carte est rattachée à un {@link BitBoard} (voir {@link GameBoard#setAttackMapEnabled(boolean)})
+ * qui la met à jour à chaque pose ou retrait de pièce : seules changent les attaques de la
+ * pièce concernée et celles des pièces glissantes dont un rayon passe par sa case. Lire
+ * la carte ne coûte alors plus rien, l'échec se lit directement sur la case du roi.
+ *
+ * @author crios
+ * @see Attacks
+ */
+public class AttackMap {
+
+    private final long[] attacked = new long[2];
+
+    private final byte[][] counts = new byte[2][64];
+
+    /**
+     * Indique si une case est attaquée par un camp.
+     *
+     * @param sq l'indice de la case (0-63)
+     * @param byColor l'indice de couleur du camp attaquant
+     * @return {@code true} si au moins une pièce du camp attaque la case
+     */
+    public boolean isAttacked(int sq, int byColor) {
+        return (attacked[byColor] & (1L << sq)) != 0;
+    }
+
+    /**
+     * Retourne le masque des cases attaquées par un camp.
+     *
+     * @param byColor l'indice de couleur du camp attaquant
+     * @return le bitboard des cases attaquées
+     */
+    public long getAttacked(int byColor) {
+        return attacked[byColor];
+    }
+
+    /**
+     * Retourne le nombre de pièces d'un camp qui attaquent une case.
+     *
+     * @param sq l'indice de la case (0-63)
+     * @param byColor l'indice de couleur du camp attaquant
+     * @return le nombre d'attaquants
+     */
+    public int getAttackerCount(int sq, int byColor) {
+        return counts[byColor][sq];
+    }
+
+    /**
+     * Recalcule entièrement les cartes à partir d'un échiquier.
+     *
+     * @param bb l'échiquier
+     */
+    void recompute(BitBoard bb) {
+        clear();
+        long occupancy = bb.getOccupancy();
+        long cells = occupancy;
+        while (cells != 0) {
+            int sq = Long.numberOfTrailingZeros(cells);
+            int code = bb.getPieceCode(sq);
+            add(BitBoard.colorOf(code), Attacks.attacks(code, sq, occupancy));
+            cells &= cells - 1;
+        }
+    }
+
+    /**
+     * Vide les cartes.
+     */
+    void clear() {
+        attacked[BitBoard.WHITE] = 0L;
+        attacked[BitBoard.BLACK] = 0L;
+        Arrays.fill(counts[BitBoard.WHITE], (byte) 0);
+        Arrays.fill(counts[BitBoard.BLACK], (byte) 0);
+    }
+
+    /**
+     * Copie les cartes d'un autre échiquier.
+     *
+     * @param other les cartes source
+     */
+    void copyFrom(AttackMap other) {
+        attacked[BitBoard.WHITE] = other.attacked[BitBoard.WHITE];
+        attacked[BitBoard.BLACK] = other.attacked[BitBoard.BLACK];
+        System.arraycopy(other.counts[BitBoard.WHITE], 0, counts[BitBoard.WHITE], 0, 64);
+        System.arraycopy(other.counts[BitBoard.BLACK], 0, counts[BitBoard.BLACK], 0, 64);
+    }
+
+    /**
+     * Met à jour les cartes après la pose d'une pièce sur une case vide.
+     *
+     * @param bb l'échiquier, pièce posée
+     * @param code le code de la pièce
+     * @param sq l'indice de la case
+     */
+    void pieceAdded(BitBoard bb, int code, int sq) {
+        long occupancy = bb.getOccupancy();
+        updateSliders(bb, sq, occupancy & ~(1L << sq), occupancy);
+        add(BitBoard.colorOf(code), Attacks.attacks(code, sq, occupancy));
+    }
+
+    /**
+     * Met à jour les cartes après le retrait d'une pièce.
+     *
+     * @param bb l'échiquier, pièce retirée
+     * @param code le code de la pièce retirée
+     * @param sq l'indice de la case libérée
+     */
+    void pieceRemoved(BitBoard bb, int code, int sq) {
+        long occupancy = bb.getOccupancy();
+        long before = occupancy | (1L << sq);
+        updateSliders(bb, sq, before, occupancy);
+        remove(BitBoard.colorOf(code), Attacks.attacks(code, sq, before));
+    }
+
+    private void updateSliders(BitBoard bb, int sq, long before, long after) {
+        // une pièce glissante voit la case modifiée quel que soit son contenu
+        for (int color = BitBoard.WHITE; color <= BitBoard.BLACK; color++) {
+            long sliders = Attacks.sliderAttackersTo(bb, sq, color, after);
+            while (sliders != 0) {
+                int slider = Long.numberOfTrailingZeros(sliders);
+                int code = bb.getPieceCode(slider);
+                long oldAttacks = Attacks.attacks(code, slider, before);
+                long newAttacks = Attacks.attacks(code, slider, after);
+                remove(color, oldAttacks & ~newAttacks);
+                add(color, newAttacks & ~oldAttacks);
+                sliders &= sliders - 1;
+            }
+        }
+    }
+
+    private void add(int color, long cells) {
+        attacked[color] |= cells;
+        byte[] colorCounts = counts[color];
+        while (cells != 0) {
+            colorCounts[Long.numberOfTrailingZeros(cells)]++;
+            cells &= cells - 1;
+        }
+    }
+
+    private void remove(int color, long cells) {
+        byte[] colorCounts = counts[color];
+        while (cells != 0) {
+            int sq = Long.numberOfTrailingZeros(cells);
+            if (--colorCounts[sq] == 0) {
+                attacked[color] &= ~(1L << sq);
+            }
+            cells &= cells - 1;
+        }
+    }
+
+}
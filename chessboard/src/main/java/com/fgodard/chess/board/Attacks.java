@@ -0,0 +1,390 @@
+package com.fgodard.chess.board;
+
+/**
+ * Tables d'attaque précalculées pour toutes les pièces.
+ *
+ * <p>Cette classe fournit, pour chaque case de l'échiquier, le bitboard des cases attaquées :
+ * <ul>
+ *   <li>Par un cavalier, un roi ou un pion (tables directes)</li>
+ *   <li>Par une tour, un fou ou une dame, en fonction de l'occupation de l'échiquier
+ *   (tables « magic bitboards »)</li>
+ * </ul>
+ *
+ * <p>Pour une pièce glissante, les cases occupées pertinentes (hors bords) sont multipliées
+ * par un nombre magique propre à la case ; les bits de poids fort du produit donnent l'indice
+ * de l'ensemble des cases attaquées dans une table partagée. Une attaque se calcule ainsi
+ * en une multiplication et une lecture de tableau, sans parcours de rayon.
+ *
+ * <p>Les tables sont construites une seule fois au chargement de la classe.
+ *
+ * @author crios
+ * @see BitBoard
+ * @see BoardGeometry
+ * @see MoveHelper
+ */
+public class Attacks {
+
+    private static final long[] ROOK_MAGICS = {
+            0x1680082040008010L, 0x0480200040008211L, 0x42002010800A0040L, 0x2080100280040800L,
+            0x0200080200042011L, 0x0200010200080410L, 0x8200020000B80114L, 0x01000020C2128900L,
+            0xA110800080204000L, 0x2010400050002008L, 0x0002001200402082L, 0x2100800800801000L,
+            0x4441802800800400L, 0x0810800200800400L, 0x8A05000402000100L, 0x000080178002E100L,
+            0x2040008020800040L, 0x0810004020004010L, 0x0001848020021000L, 0x0401090021001000L,
+            0x0010808008000402L, 0x8010808004000200L, 0x2100040002485001L, 0x200C220011008044L,
+            0x1040002080008048L, 0x00C0004080802000L, 0x4901004100200018L, 0x0050040040400800L,
+            0x0004000480080080L, 0x8001000900040002L, 0x0000105400110802L, 0xF580210200009044L,
+            0x0100400020800080L, 0x4800200080804002L, 0x9A0A002042001084L, 0x0020080080801000L,
+            0x0108000401800880L, 0x1002008022800400L, 0x0090810804000210L, 0x0200140082000051L,
+            0x8880800040008025L, 0x4010004020084000L, 0x4390002804002002L, 0x0081001000A30008L,
+            0x0000080011010004L, 0x8806000400808100L, 0x0001100A88040029L, 0x8888041884420021L,
+            0x0000400020801280L, 0x0006004025008200L, 0x0210001020008080L, 0x6441001000210900L,
+            0x0800040008008280L, 0x0081000208040100L, 0x20004108105A0C00L, 0x008201004400A200L,
+            0x00C100201A028042L, 0x0040410020120082L, 0x9290120208804022L, 0x888101A010007C09L,
+            0x4022000410082002L, 0x1042000841049002L, 0x0080014800821004L, 0x0088040040810022L
+    };
+
+    private static final long[] BISHOP_MAGICS = {
+            0x5410010208124300L, 0x0020441080810000L, 0x81C1040500430002L, 0x1084040088150002L,
+            0x0002121000400050L, 0x040A412021102C08L, 0x2004088228A0000CL, 0x588100480C843064L,
+            0x0008441828412400L, 0x0000024801010201L, 0x4810120410460020L, 0x0400040420800050L,
+            0x0502308820400000L, 0x0410084410040808L, 0x102010A828080400L, 0x2008010592052021L,
+            0x085114A042104320L, 0x2004102004041044L, 0x1010024101020010L, 0x4000800802084000L,
+            0x0101002820082000L, 0x000340120310A000L, 0x0404008203140B00L, 0x0050200049041000L,
+            0x8890041040880200L, 0x0001208004240400L, 0x0002120891080200L, 0x0004080000202040L,
+            0x0041001201004000L, 0xC008020042248400L, 0x82080082410488C0L, 0x0014004002220A00L,
+            0x094A104004242801L, 0x2001045000021060L, 0x5000404040081204L, 0x0008020082080080L,
+            0x101544040008C100L, 0x4010900084810080L, 0x20040810500A0D04L, 0x2011084100408400L,
+            0x14D0901008001045L, 0x000884018800A000L, 0x0011008050102500L, 0x0010002214000800L,
+            0x008308220820A400L, 0x4028101002105421L, 0x0010301E00904040L, 0x0084080210208042L,
+            0x900100B03008C091L, 0x0821028219200000L, 0x0042002402080202L, 0x0200880084044003L,
+            0x91061011320A008CL, 0x1208081070A08002L, 0x01210E260A04200CL, 0x0005344084010040L,
+            0x8101004042084004L, 0x0010014404092804L, 0x0008541214840414L, 0xA218040020420200L,
+            0x02804C8411021204L, 0x2008000408100444L, 0x0004110288080088L, 0x0002028226020200L
+    };
+
+    private static final long[] KNIGHT_ATTACKS = new long[64];
+    private static final long[] KING_ATTACKS = new long[64];
+    private static final long[][] PAWN_ATTACKS = new long[2][64];
+
+    private static final long[] ROOK_MASKS = new long[64];
+    private static final int[] ROOK_SHIFTS = new int[64];
+    private static final int[] ROOK_OFFSETS = new int[64];
+    private static final long[] ROOK_TABLE;
+
+    private static final long[] BISHOP_MASKS = new long[64];
+    private static final int[] BISHOP_SHIFTS = new int[64];
+    private static final int[] BISHOP_OFFSETS = new int[64];
+    private static final long[] BISHOP_TABLE;
+
+    private static final int[][] ROOK_DIRECTIONS = {{1, 0}, {-1, 0}, {0, 1}, {0, -1}};
+    private static final int[][] BISHOP_DIRECTIONS = {{1, 1}, {1, -1}, {-1, 1}, {-1, -1}};
+
+    static {
+        for (int sq = 0; sq < 64; sq++) {
+            KNIGHT_ATTACKS[sq] = toMask(BoardGeometry.getKnightJumps(sq));
+            KING_ATTACKS[sq] = toMask(BoardGeometry.getKingJumps(sq));
+            PAWN_ATTACKS[BitBoard.WHITE][sq] = jumps(sq, new int[][]{{-1, 1}, {1, 1}});
+            PAWN_ATTACKS[BitBoard.BLACK][sq] = jumps(sq, new int[][]{{-1, -1}, {1, -1}});
+        }
+        ROOK_TABLE = initMagics(ROOK_DIRECTIONS, ROOK_MAGICS, ROOK_MASKS, ROOK_SHIFTS, ROOK_OFFSETS);
+        BISHOP_TABLE = initMagics(BISHOP_DIRECTIONS, BISHOP_MAGICS, BISHOP_MASKS, BISHOP_SHIFTS, BISHOP_OFFSETS);
+    }
+
+    /**
+     * Private Constructor
+     */
+    private Attacks() {
+
+    }
+
+    private static long toMask(int[] cells) {
+        long result = 0L;
+        for (int cell : cells) {
+            result |= 1L << cell;
+        }
+        return result;
+    }
+
+    private static long jumps(int sq, int[][] increments) {
+        long result = 0L;
+        int col = sq & 7;
+        int line = sq >>> 3;
+        for (int[] inc : increments) {
+            int c = col + inc[0];
+            int l = line + inc[1];
+            if (c >= 0 && c < 8 && l >= 0 && l < 8) {
+                result |= 1L << (l * 8 + c);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Calcule les cases attaquées par une pièce glissante en parcourant les rayons.
+     * Utilisé uniquement pour construire les tables.
+     */
+    private static long slidingAttacks(int sq, long occupancy, int[][] directions) {
+        long result = 0L;
+        for (int[] dir : directions) {
+            int c = (sq & 7) + dir[0];
+            int l = (sq >>> 3) + dir[1];
+            while (c >= 0 && c < 8 && l >= 0 && l < 8) {
+                long bit = 1L << (l * 8 + c);
+                result |= bit;
+                if ((occupancy & bit) != 0) {
+                    break;
+                }
+                c += dir[0];
+                l += dir[1];
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Masque des cases dont l'occupation influe sur les attaques (rayons sans la case du bord).
+     */
+    private static long relevantMask(int sq, int[][] directions) {
+        long result = 0L;
+        for (int[] dir : directions) {
+            int c = (sq & 7) + dir[0];
+            int l = (sq >>> 3) + dir[1];
+            while (c + dir[0] >= 0 && c + dir[0] < 8 && l + dir[1] >= 0 && l + dir[1] < 8) {
+                result |= 1L << (l * 8 + c);
+                c += dir[0];
+                l += dir[1];
+            }
+        }
+        return result;
+    }
+
+    private static long[] initMagics(int[][] directions, long[] magics, long[] masks, int[] shifts, int[] offsets) {
+        int size = 0;
+        for (int sq = 0; sq < 64; sq++) {
+            masks[sq] = relevantMask(sq, directions);
+            int bits = Long.bitCount(masks[sq]);
+            shifts[sq] = 64 - bits;
+            offsets[sq] = size;
+            size += 1 << bits;
+        }
+        long[] table = new long[size];
+        for (int sq = 0; sq < 64; sq++) {
+            // énumération de tous les sous-ensembles du masque (Carry-Rippler)
+            long subset = 0L;
+            do {
+                int idx = offsets[sq] + (int) ((subset * magics[sq]) >>> shifts[sq]);
+                table[idx] = slidingAttacks(sq, subset, directions);
+                subset = (subset - masks[sq]) & masks[sq];
+            } while (subset != 0);
+        }
+        return table;
+    }
+
+    /**
+     * Retourne les cases attaquées par un cavalier.
+     *
+     * @param sq l'indice de la case du cavalier (0-63)
+     * @return le bitboard des cases attaquées
+     */
+    public static long knightAttacks(int sq) {
+        return KNIGHT_ATTACKS[sq];
+    }
+
+    /**
+     * Retourne les cases attaquées par un roi.
+     *
+     * @param sq l'indice de la case du roi (0-63)
+     * @return le bitboard des cases attaquées
+     */
+    public static long kingAttacks(int sq) {
+        return KING_ATTACKS[sq];
+    }
+
+    /**
+     * Retourne les cases attaquées (en prise) par un pion.
+     *
+     * @param color l'indice de couleur du pion ({@link BitBoard#WHITE} ou {@link BitBoard#BLACK})
+     * @param sq l'indice de la case du pion (0-63)
+     * @return le bitboard des cases attaquées
+     */
+    public static long pawnAttacks(int color, int sq) {
+        return PAWN_ATTACKS[color][sq];
+    }
+
+    /**
+     * Retourne les cases attaquées par une tour.
+     *
+     * @param sq l'indice de la case de la tour (0-63)
+     * @param occupancy le bitboard des cases occupées
+     * @return le bitboard des cases attaquées (la première pièce rencontrée sur chaque rayon est incluse)
+     */
+    public static long rookAttacks(int sq, long occupancy) {
+        return ROOK_TABLE[ROOK_OFFSETS[sq] + (int) (((occupancy & ROOK_MASKS[sq]) * ROOK_MAGICS[sq]) >>> ROOK_SHIFTS[sq])];
+    }
+
+    /**
+     * Retourne les cases attaquées par un fou.
+     *
+     * @param sq l'indice de la case du fou (0-63)
+     * @param occupancy le bitboard des cases occupées
+     * @return le bitboard des cases attaquées (la première pièce rencontrée sur chaque rayon est incluse)
+     */
+    public static long bishopAttacks(int sq, long occupancy) {
+        return BISHOP_TABLE[BISHOP_OFFSETS[sq] + (int) (((occupancy & BISHOP_MASKS[sq]) * BISHOP_MAGICS[sq]) >>> BISHOP_SHIFTS[sq])];
+    }
+
+    /**
+     * Retourne les cases attaquées par une dame.
+     *
+     * @param sq l'indice de la case de la dame (0-63)
+     * @param occupancy le bitboard des cases occupées
+     * @return le bitboard des cases attaquées
+     */
+    public static long queenAttacks(int sq, long occupancy) {
+        return rookAttacks(sq, occupancy) | bishopAttacks(sq, occupancy);
+    }
+
+    /**
+     * Retourne les cases attaquées par une pièce.
+     *
+     * @param code le code de la pièce (voir {@link BitBoard})
+     * @param sq l'indice de la case de la pièce (0-63)
+     * @param occupancy le bitboard des cases occupées
+     * @return le bitboard des cases attaquées
+     */
+    public static long attacks(int code, int sq, long occupancy) {
+        switch (BitBoard.typeOf(code)) {
+            case BitBoard.PAWN:
+                return PAWN_ATTACKS[BitBoard.colorOf(code)][sq];
+            case BitBoard.KNIGHT:
+                return KNIGHT_ATTACKS[sq];
+            case BitBoard.BISHOP:
+                return bishopAttacks(sq, occupancy);
+            case BitBoard.ROOK:
+                return rookAttacks(sq, occupancy);
+            case BitBoard.QUEEN:
+                return queenAttacks(sq, occupancy);
+            default:
+                return KING_ATTACKS[sq];
+        }
+    }
+
+    /**
+     * Retourne les pièces d'un camp qui attaquent une case.
+     *
+     * @param bb l'échiquier
+     * @param sq l'indice de la case attaquée (0-63)
+     * @param byColor l'indice de couleur du camp attaquant
+     * @param occupancy le bitboard d'occupation à utiliser pour les pièces glissantes
+     * @return le bitboard des cases des pièces attaquantes
+     */
+    public static long attackersTo(BitBoard bb, int sq, int byColor, long occupancy) {
+        long queens = bb.getPieces(byColor, BitBoard.QUEEN);
+        return (PAWN_ATTACKS[byColor ^ 1][sq] & bb.getPieces(byColor, BitBoard.PAWN))
+                | (KNIGHT_ATTACKS[sq] & bb.getPieces(byColor, BitBoard.KNIGHT))
+                | (KING_ATTACKS[sq] & bb.getPieces(byColor, BitBoard.KING))
+                | (bishopAttacks(sq, occupancy) & (bb.getPieces(byColor, BitBoard.BISHOP) | queens))
+                | (rookAttacks(sq, occupancy) & (bb.getPieces(byColor, BitBoard.ROOK) | queens));
+    }
+
+    /**
+     * Retourne les pièces d'un camp qui attaquent une case, avec l'occupation courante.
+     *
+     * @param bb l'échiquier
+     * @param sq l'indice de la case attaquée (0-63)
+     * @param byColor l'indice de couleur du camp attaquant
+     * @return le bitboard des cases des pièces attaquantes
+     */
+    public static long attackersTo(BitBoard bb, int sq, int byColor) {
+        return attackersTo(bb, sq, byColor, bb.getOccupancy());
+    }
+
+    /**
+     * Indique si une case est attaquée par au moins une pièce d'un camp.
+     *
+     * <p>Les tests sont ordonnés du moins coûteux au plus coûteux et s'arrêtent
+     * au premier attaquant trouvé. Aucun objet n'est créé.
+     *
+     * @param bb l'échiquier
+     * @param sq l'indice de la case (0-63)
+     * @param byColor l'indice de couleur du camp attaquant
+     * @param occupancy le bitboard d'occupation à utiliser pour les pièces glissantes
+     * @return {@code true} si la case est attaquée
+     */
+    public static boolean isAttacked(BitBoard bb, int sq, int byColor, long occupancy) {
+        if ((PAWN_ATTACKS[byColor ^ 1][sq] & bb.getPieces(byColor, BitBoard.PAWN)) != 0) {
+            return true;
+        }
+        if ((KNIGHT_ATTACKS[sq] & bb.getPieces(byColor, BitBoard.KNIGHT)) != 0) {
+            return true;
+        }
+        if ((KING_ATTACKS[sq] & bb.getPieces(byColor, BitBoard.KING)) != 0) {
+            return true;
+        }
+        long queens = bb.getPieces(byColor, BitBoard.QUEEN);
+        long diagonals = bb.getPieces(byColor, BitBoard.BISHOP) | queens;
+        if (diagonals != 0 && (bishopAttacks(sq, occupancy) & diagonals) != 0) {
+            return true;
+        }
+        long orthogonals = bb.getPieces(byColor, BitBoard.ROOK) | queens;
+        return orthogonals != 0 && (rookAttacks(sq, occupancy) & orthogonals) != 0;
+    }
+
+    /**
+     * Indique si le roi d'un camp est en échec.
+     *
+     * @param bb l'échiquier
+     * @param color l'indice de couleur du roi
+     * @return {@code true} si le roi est attaqué, {@code false} s'il est absent ou non attaqué
+     */
+    public static boolean isInCheck(BitBoard bb, int color) {
+        int kingIdx = bb.getKingIdx(color);
+        return kingIdx < 64 && isAttacked(bb, kingIdx, color ^ 1, bb.getOccupancy());
+    }
+
+    /**
+     * Retourne les pièces glissantes d'un camp qui attaquent une case.
+     *
+     * @param bb l'échiquier
+     * @param sq l'indice de la case (0-63)
+     * @param byColor l'indice de couleur du camp attaquant
+     * @param occupancy le bitboard d'occupation à utiliser
+     * @return le bitboard des fous, tours et dames attaquant la case
+     */
+    public static long sliderAttackersTo(BitBoard bb, int sq, int byColor, long occupancy) {
+        long queens = bb.getPieces(byColor, BitBoard.QUEEN);
+        return (bishopAttacks(sq, occupancy) & (bb.getPieces(byColor, BitBoard.BISHOP) | queens))
+                | (rookAttacks(sq, occupancy) & (bb.getPieces(byColor, BitBoard.ROOK) | queens));
+    }
+
+    /**
+     * Retourne les pièces clouées d'un camp.
+     *
+     * <p>Une pièce est clouée lorsqu'elle est la seule pièce entre son roi et une pièce
+     * glissante adverse alignée : elle ne peut alors se déplacer que sur la ligne
+     * {@link BoardGeometry#getLine(int, int)} passant par le roi et par elle-même.
+     *
+     * @param bb l'échiquier
+     * @param color l'indice de couleur du camp dont on cherche les pièces clouées
+     * @return le bitboard des pièces clouées, 0 si le camp n'a pas de roi
+     */
+    public static long pinnedPieces(BitBoard bb, int color) {
+        int kingIdx = bb.getKingIdx(color);
+        if (kingIdx == 64) {
+            return 0L;
+        }
+        long occupancy = bb.getOccupancy();
+        long own = bb.getColorOccupancy(color);
+        long snipers = sliderAttackersTo(bb, kingIdx, color ^ 1, 0L);
+        long pinned = 0L;
+        while (snipers != 0) {
+            long blockers = BoardGeometry.getBetween(kingIdx, Long.numberOfTrailingZeros(snipers)) & occupancy;
+            if (blockers != 0 && (blockers & (blockers - 1)) == 0) {
+                pinned |= blockers & own;
+            }
+            snipers &= snipers - 1;
+        }
+        return pinned;
+    }
+
+}
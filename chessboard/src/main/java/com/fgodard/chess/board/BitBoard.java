@@ -0,0 +1,394 @@
+package com.fgodard.chess.board;
+
+import java.util.Arrays;
+
+/**
+ * Représentation de l'échiquier par bitboards.
+ *
+ * <p>Cette classe maintient, en parallèle de la table de {@link Piece} de {@link GameBoard} :
+ * <ul>
+ *   <li>12 bitboards (un par type de pièce et par couleur)</li>
+ *   <li>Les masques d'occupation de chaque camp et de l'échiquier complet</li>
+ *   <li>Une table de 64 octets donnant le code de la pièce présente sur chaque case</li>
+ *   <li>Optionnellement, les cartes d'attaque des deux camps ({@link AttackMap})</li>
+ * </ul>
+ *
+ * <p>Le bit {@code n} d'un bitboard correspond à la case d'indice {@code n}
+ * (voir {@link BoardCell#getIdx()}) : a1 = bit 0, h1 = bit 7, a8 = bit 56, h8 = bit 63.
+ *
+ * <p>Une pièce est identifiée par un code entier compris entre 0 et 11 :
+ * {@code code = couleur * 6 + type}, les types étant dans l'ordre P, N, B, R, Q, K.
+ *
+ * <p>La part « pièces » de la clé de {@link Zobrist} est mise à jour à chaque pose,
+ * retrait ou déplacement de pièce (voir {@link #getKey()}).
+ *
+ * <p>Seul {@link GameBoard} modifie les bitboards : les méthodes de modification ne sont
+ * accessibles que dans ce paquetage.
+ *
+ * @author crios
+ * @see GameBoard
+ */
+public class BitBoard {
+
+    /** Indice de couleur des blancs */
+    public static final int WHITE = 0;
+
+    /** Indice de couleur des noirs */
+    public static final int BLACK = 1;
+
+    /** Type pion */
+    public static final int PAWN = 0;
+
+    /** Type cavalier */
+    public static final int KNIGHT = 1;
+
+    /** Type fou */
+    public static final int BISHOP = 2;
+
+    /** Type tour */
+    public static final int ROOK = 3;
+
+    /** Type dame */
+    public static final int QUEEN = 4;
+
+    /** Type roi */
+    public static final int KING = 5;
+
+    /** Code d'une case vide */
+    public static final int EMPTY = -1;
+
+    /** Nombre de codes de pièces (6 types x 2 couleurs) */
+    public static final int PIECE_CODES = 12;
+
+    /** Symboles de position indexés par code de pièce */
+    private static final String SYMBOLS = "PNBRQKpnbrqk";
+
+    private final long[] pieces = new long[PIECE_CODES];
+
+    private final long[] colors = new long[2];
+
+    private long occupied;
+
+    private final byte[] squares = new byte[64];
+
+    private long key;
+
+    private AttackMap attackMap;
+
+    // Codes des pièces posées, retirées ou déplacées depuis le dernier appel à takeChangedCodes
+    private int changedCodes = ALL_CODES;
+
+    private static final int ALL_CODES = (1 << PIECE_CODES) - 1;
+
+    /**
+     * Construit un échiquier vide.
+     */
+    public BitBoard() {
+        Arrays.fill(squares, (byte) EMPTY);
+    }
+
+    /**
+     * Calcule le code d'une pièce à partir de sa couleur et de son type.
+     *
+     * @param color l'indice de couleur ({@link #WHITE} ou {@link #BLACK})
+     * @param type le type de pièce ({@link #PAWN} à {@link #KING})
+     * @return le code de la pièce (0-11)
+     */
+    public static int pieceCode(int color, int type) {
+        return color * 6 + type;
+    }
+
+    /**
+     * Retourne le code de pièce correspondant à un symbole de position.
+     *
+     * @param symbol le symbole (majuscule pour les blancs, minuscule pour les noirs)
+     * @return le code de la pièce, ou {@link #EMPTY} si le symbole est inconnu
+     */
+    public static int pieceCode(char symbol) {
+        switch (symbol) {
+            case 'P': return 0;
+            case 'N': return 1;
+            case 'B': return 2;
+            case 'R': return 3;
+            case 'Q': return 4;
+            case 'K': return 5;
+            case 'p': return 6;
+            case 'n': return 7;
+            case 'b': return 8;
+            case 'r': return 9;
+            case 'q': return 10;
+            case 'k': return 11;
+            default: return EMPTY;
+        }
+    }
+
+    /**
+     * Retourne le type de pièce correspondant à un symbole, quelle que soit sa casse.
+     *
+     * @param symbol le symbole de la pièce (ex: 'N' ou 'n')
+     * @return le type de pièce, ou {@link #EMPTY} si le symbole est inconnu
+     */
+    public static int pieceType(char symbol) {
+        int code = pieceCode(symbol);
+        return code == EMPTY ? EMPTY : typeOf(code);
+    }
+
+    /**
+     * Retourne l'indice de couleur d'un code de pièce.
+     *
+     * @param code le code de la pièce
+     * @return {@link #WHITE} ou {@link #BLACK}
+     */
+    public static int colorOf(int code) {
+        return code < 6 ? WHITE : BLACK;
+    }
+
+    /**
+     * Retourne le type d'un code de pièce.
+     *
+     * @param code le code de la pièce
+     * @return le type ({@link #PAWN} à {@link #KING})
+     */
+    public static int typeOf(int code) {
+        return code < 6 ? code : code - 6;
+    }
+
+    /**
+     * Retourne le symbole de position d'un code de pièce.
+     *
+     * @param code le code de la pièce
+     * @return le symbole (ex: 'P' pour un pion blanc, 'k' pour le roi noir)
+     */
+    public static char symbolOf(int code) {
+        return SYMBOLS.charAt(code);
+    }
+
+    /**
+     * Convertit une couleur de joueur en indice de couleur.
+     *
+     * @param color la couleur du joueur
+     * @return {@link #WHITE} ou {@link #BLACK}
+     */
+    public static int colorIndex(Color color) {
+        return color == Color.BLACK ? BLACK : WHITE;
+    }
+
+    /**
+     * Convertit un indice de couleur en couleur de joueur.
+     *
+     * @param color l'indice de couleur
+     * @return la couleur du joueur
+     */
+    public static Color toColor(int color) {
+        return color == BLACK ? Color.BLACK : Color.WHITE;
+    }
+
+    /**
+     * Vide l'échiquier.
+     */
+    void clear() {
+        Arrays.fill(pieces, 0L);
+        colors[WHITE] = 0L;
+        colors[BLACK] = 0L;
+        occupied = 0L;
+        Arrays.fill(squares, (byte) EMPTY);
+        key = 0L;
+        changedCodes = ALL_CODES;
+        if (attackMap != null) {
+            attackMap.clear();
+        }
+    }
+
+    /**
+     * Copie le contenu d'un autre échiquier dans celui-ci.
+     *
+     * @param other l'échiquier source
+     */
+    void copyFrom(BitBoard other) {
+        System.arraycopy(other.pieces, 0, pieces, 0, PIECE_CODES);
+        colors[WHITE] = other.colors[WHITE];
+        colors[BLACK] = other.colors[BLACK];
+        occupied = other.occupied;
+        System.arraycopy(other.squares, 0, squares, 0, 64);
+        key = other.key;
+        changedCodes = ALL_CODES;
+        if (attackMap != null) {
+            if (other.attackMap != null) {
+                attackMap.copyFrom(other.attackMap);
+            } else {
+                attackMap.recompute(this);
+            }
+        }
+    }
+
+    /**
+     * Retourne les cartes d'attaque maintenues avec cet échiquier.
+     *
+     * @return les cartes d'attaque, ou {@code null} si elles ne sont pas maintenues
+     */
+    public AttackMap getAttackMap() {
+        return attackMap;
+    }
+
+    /**
+     * Active ou désactive la maintenance des cartes d'attaque.
+     *
+     * @param attackMap les cartes à maintenir (recalculées pour la position courante), ou {@code null}
+     */
+    void setAttackMap(AttackMap attackMap) {
+        this.attackMap = attackMap;
+        if (attackMap != null) {
+            attackMap.recompute(this);
+        }
+    }
+
+    /**
+     * Pose une pièce sur une case vide.
+     *
+     * @param code le code de la pièce
+     * @param cellIdx l'indice de la case (0-63)
+     */
+    void setPiece(int code, int cellIdx) {
+        long bit = 1L << cellIdx;
+        pieces[code] |= bit;
+        colors[colorOf(code)] |= bit;
+        occupied |= bit;
+        squares[cellIdx] = (byte) code;
+        key ^= Zobrist.piece(code, cellIdx);
+        changedCodes |= 1 << code;
+        if (attackMap != null) {
+            attackMap.pieceAdded(this, code, cellIdx);
+        }
+    }
+
+    /**
+     * Retire la pièce présente sur une case.
+     *
+     * @param cellIdx l'indice de la case (0-63)
+     * @return le code de la pièce retirée, ou {@link #EMPTY} si la case était vide
+     */
+    int removePiece(int cellIdx) {
+        int code = squares[cellIdx];
+        if (code == EMPTY) {
+            return EMPTY;
+        }
+        long mask = ~(1L << cellIdx);
+        pieces[code] &= mask;
+        colors[colorOf(code)] &= mask;
+        occupied &= mask;
+        squares[cellIdx] = (byte) EMPTY;
+        key ^= Zobrist.piece(code, cellIdx);
+        changedCodes |= 1 << code;
+        if (attackMap != null) {
+            attackMap.pieceRemoved(this, code, cellIdx);
+        }
+        return code;
+    }
+
+    /**
+     * Déplace une pièce vers une case vide.
+     *
+     * @param fromIdx l'indice de la case d'origine
+     * @param toIdx l'indice de la case de destination (qui doit être vide)
+     */
+    void movePiece(int fromIdx, int toIdx) {
+        if (attackMap != null) {
+            setPiece(removePiece(fromIdx), toIdx);
+            return;
+        }
+        int code = squares[fromIdx];
+        long fromTo = (1L << fromIdx) | (1L << toIdx);
+        pieces[code] ^= fromTo;
+        colors[colorOf(code)] ^= fromTo;
+        occupied ^= fromTo;
+        squares[fromIdx] = (byte) EMPTY;
+        squares[toIdx] = (byte) code;
+        key ^= Zobrist.piece(code, fromIdx) ^ Zobrist.piece(code, toIdx);
+        changedCodes |= 1 << code;
+    }
+
+    /**
+     * Retourne les codes des pièces posées, retirées ou déplacées depuis l'appel précédent,
+     * puis oublie ces changements.
+     *
+     * @return un masque dont le bit {@code code} est levé si des pièces de ce code ont changé
+     */
+    int takeChangedCodes() {
+        int changed = changedCodes;
+        changedCodes = 0;
+        return changed;
+    }
+
+    /**
+     * Retourne le code de la pièce présente sur une case.
+     *
+     * @param cellIdx l'indice de la case (0-63)
+     * @return le code de la pièce, ou {@link #EMPTY} si la case est vide
+     */
+    public int getPieceCode(int cellIdx) {
+        return squares[cellIdx];
+    }
+
+    /**
+     * Retourne le bitboard d'un code de pièce.
+     *
+     * @param code le code de la pièce
+     * @return le bitboard des cases occupées par ce type de pièce
+     */
+    public long getPieces(int code) {
+        return pieces[code];
+    }
+
+    /**
+     * Retourne le bitboard d'un type de pièce pour une couleur.
+     *
+     * @param color l'indice de couleur
+     * @param type le type de pièce
+     * @return le bitboard des cases occupées par ce type de pièce
+     */
+    public long getPieces(int color, int type) {
+        return pieces[color * 6 + type];
+    }
+
+    /**
+     * Retourne le masque d'occupation d'un camp.
+     *
+     * @param color l'indice de couleur
+     * @return le bitboard des cases occupées par ce camp
+     */
+    public long getColorOccupancy(int color) {
+        return colors[color];
+    }
+
+    /**
+     * Retourne le masque d'occupation de l'échiquier.
+     *
+     * @return le bitboard des cases occupées
+     */
+    public long getOccupancy() {
+        return occupied;
+    }
+
+    /**
+     * Retourne l'indice de la case du roi d'un camp.
+     *
+     * @param color l'indice de couleur
+     * @return l'indice de la case du roi, ou 64 si le camp n'a pas de roi
+     */
+    public int getKingIdx(int color) {
+        return Long.numberOfTrailingZeros(pieces[color * 6 + KING]);
+    }
+
+    /**
+     * Retourne la part « pièces » de la clé de Zobrist de la position.
+     *
+     * <p>Cette valeur ne tient compte ni du trait, ni des droits de roque, ni de la prise
+     * en passant : voir {@link GameBoard#getPositionKey()} pour la clé complète.
+     *
+     * @return le ou exclusif des valeurs de Zobrist de toutes les pièces posées
+     */
+    public long getKey() {
+        return key;
+    }
+
+}
@@ -14,11 +14,15 @@ import java.util.Optional;
  *   <li>Calculer des cases relatives à partir d'une case de base</li>
  * </ul>
  *
+ * <p>Les calculs internes de déplacement utilisent directement les tables
+ * de {@link BoardGeometry}, sans {@link Optional}.
+ *
  * <p>La classe est non instanciable (constructeur privé) car elle ne contient
  * que des méthodes statiques.
  *
  * @author crios
  * @see BoardCell
+ * @see BoardGeometry
  */
 public class Board {
 
@@ -29,13 +33,6 @@ public class Board {
 
     }
 
-    private static String getCellName(int colIdx, int lineIdx) {
-        char[] result = new char[2];
-        result[0] = (char)('A' + colIdx);
-        result[1] = (char)('1' + lineIdx);
-        return String.valueOf(result);
-    }
-
     /**
      * Retourne la case correspondant aux coordonnées spécifiées.
      *
@@ -51,7 +48,7 @@ public class Board {
             return Optional.empty();
         }
 
-        return Optional.of(BoardCell.valueOf(getCellName(colIdx,lineIdx)));
+        return Optional.of(BoardCell.fromIdx(colIdx + lineIdx * 8));
     }
 
     /**
@@ -76,7 +73,7 @@ public class Board {
             throw new InvalidCellException(e, "Lettre de colonne invalide (%s).", alpha);
         }
 
-        return BoardCell.values()[col + line * 8];
+        return BoardCell.fromIdx(col + line * 8);
     }
 
     /**
@@ -90,9 +87,7 @@ public class Board {
      * @return un Optional contenant la case relative, ou vide si hors échiquier
      */
     public static Optional<BoardCell> getCell(BoardCell cell, int colIncrement, int lineIncrement) {
-        int col = cell.getColIdx() + colIncrement;
-        int line = cell.getLineIdx() + lineIncrement;
-        return getCell(col, line);
+        return Optional.ofNullable(BoardGeometry.getRelativeCell(cell, colIncrement, lineIncrement));
     }
 
 }
@@ -48,6 +48,9 @@ public enum BoardCell {
     /** Case h8 (coin supérieur droit, case noire) */
     H8(7, 7, "h8", BoardColor.BLACK);
 
+    /** Cases indexées par indice linéaire (évite la copie de {@code values()}) */
+    private static final BoardCell[] CELLS = values();
+
     /** Indice linéaire de la case (0-63) */
     private final int idx;
 
@@ -133,4 +136,14 @@ public enum BoardCell {
     public int getLine() {
         return lineIdx + 1;
     }
+
+    /**
+     * Retourne la case correspondant à un indice linéaire.
+     *
+     * @param idx l'indice linéaire de la case (0-63)
+     * @return la case correspondante
+     */
+    public static BoardCell fromIdx(int idx) {
+        return CELLS[idx];
+    }
 }
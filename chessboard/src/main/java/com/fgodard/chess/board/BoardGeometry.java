@@ -0,0 +1,230 @@
+package com.fgodard.chess.board;
+
+import java.util.Arrays;
+
+/**
+ * Tables de géométrie de l'échiquier, indexées par indice de case (0-63).
+ *
+ * <p>Cette classe précalcule au chargement :
+ * <ul>
+ *   <li>Les cases voisines dans chacune des 8 directions</li>
+ *   <li>Les cases atteignables par un saut de cavalier ou un pas de roi</li>
+ *   <li>Les rayons (bitboards) partant d'une case dans chaque direction</li>
+ *   <li>Les cases situées entre deux cases alignées ({@link #getBetween(int, int)})
+ *   et la ligne complète passant par deux cases ({@link #getLine(int, int)})</li>
+ * </ul>
+ *
+ * <p>Les calculs de déplacement et d'attaque s'appuient sur ces tables plutôt que sur
+ * {@link Board#getCell(BoardCell, int, int)}, afin d'éviter toute construction d'objet.
+ *
+ * <p>Les tableaux retournés sont partagés et ne doivent pas être modifiés.
+ *
+ * @author crios
+ * @see Board
+ * @see BoardCell
+ */
+public class BoardGeometry {
+
+    /** Direction vers la rangée 8 */
+    public static final int NORTH = 0;
+    /** Direction diagonale vers h8 */
+    public static final int NORTH_EAST = 1;
+    /** Direction vers la colonne h */
+    public static final int EAST = 2;
+    /** Direction diagonale vers h1 */
+    public static final int SOUTH_EAST = 3;
+    /** Direction vers la rangée 1 */
+    public static final int SOUTH = 4;
+    /** Direction diagonale vers a1 */
+    public static final int SOUTH_WEST = 5;
+    /** Direction vers la colonne a */
+    public static final int WEST = 6;
+    /** Direction diagonale vers a8 */
+    public static final int NORTH_WEST = 7;
+
+    /** Valeur retournée pour une case hors de l'échiquier */
+    public static final int NO_CELL = -1;
+
+    private static final int[] COL_INCREMENTS = {0, 1, 1, 1, 0, -1, -1, -1};
+    private static final int[] LINE_INCREMENTS = {1, 1, 0, -1, -1, -1, 0, 1};
+
+    private static final int[][] KNIGHT_INCREMENTS = {{1, 2}, {2, 1}, {2, -1}, {1, -2}, {-1, -2}, {-2, -1}, {-2, 1}, {-1, 2}};
+
+    private static final int[][] NEIGHBOURS = new int[64][8];
+    private static final int[][] KNIGHT_JUMPS = new int[64][];
+    private static final int[][] KING_JUMPS = new int[64][];
+    private static final long[][] RAYS = new long[8][64];
+    private static final long[][] BETWEEN = new long[64][64];
+    private static final long[][] LINE = new long[64][64];
+
+    static {
+        for (int idx = 0; idx < 64; idx++) {
+            int count = 0;
+            int[] kingJumps = new int[8];
+            for (int dir = 0; dir < 8; dir++) {
+                NEIGHBOURS[idx][dir] = getRelativeIdx(idx, COL_INCREMENTS[dir], LINE_INCREMENTS[dir]);
+                if (NEIGHBOURS[idx][dir] != NO_CELL) {
+                    kingJumps[count++] = NEIGHBOURS[idx][dir];
+                }
+            }
+            KING_JUMPS[idx] = Arrays.copyOf(kingJumps, count);
+
+            count = 0;
+            int[] knightJumps = new int[8];
+            for (int[] inc : KNIGHT_INCREMENTS) {
+                int dest = getRelativeIdx(idx, inc[0], inc[1]);
+                if (dest != NO_CELL) {
+                    knightJumps[count++] = dest;
+                }
+            }
+            KNIGHT_JUMPS[idx] = Arrays.copyOf(knightJumps, count);
+        }
+
+        for (int idx = 0; idx < 64; idx++) {
+            for (int dir = 0; dir < 8; dir++) {
+                long ray = 0L;
+                long between = 0L;
+                for (int next = NEIGHBOURS[idx][dir]; next != NO_CELL; next = NEIGHBOURS[next][dir]) {
+                    ray |= 1L << next;
+                    BETWEEN[idx][next] = between;
+                    between |= 1L << next;
+                }
+                RAYS[dir][idx] = ray;
+            }
+        }
+
+        for (int idx = 0; idx < 64; idx++) {
+            for (int dir = 0; dir < 4; dir++) {
+                long line = RAYS[dir][idx] | RAYS[dir + 4][idx] | (1L << idx);
+                long cells = RAYS[dir][idx];
+                while (cells != 0) {
+                    LINE[idx][Long.numberOfTrailingZeros(cells)] = line;
+                    cells &= cells - 1;
+                }
+                cells = RAYS[dir + 4][idx];
+                while (cells != 0) {
+                    LINE[idx][Long.numberOfTrailingZeros(cells)] = line;
+                    cells &= cells - 1;
+                }
+            }
+        }
+    }
+
+    /**
+     * Private Constructor
+     */
+    private BoardGeometry() {
+
+    }
+
+    /**
+     * Retourne l'indice de la case relative à une case de base.
+     *
+     * @param idx l'indice de la case de base (0-63)
+     * @param colIncrement l'incrément de colonne
+     * @param lineIncrement l'incrément de ligne
+     * @return l'indice de la case relative, ou {@link #NO_CELL} si elle est hors de l'échiquier
+     */
+    public static int getRelativeIdx(int idx, int colIncrement, int lineIncrement) {
+        int col = (idx & 7) + colIncrement;
+        int line = (idx >>> 3) + lineIncrement;
+        if (col < 0 || col > 7 || line < 0 || line > 7) {
+            return NO_CELL;
+        }
+        return col + line * 8;
+    }
+
+    /**
+     * Retourne la case relative à une case de base.
+     *
+     * @param cell la case de base
+     * @param colIncrement l'incrément de colonne
+     * @param lineIncrement l'incrément de ligne
+     * @return la case relative, ou {@code null} si elle est hors de l'échiquier
+     */
+    public static BoardCell getRelativeCell(BoardCell cell, int colIncrement, int lineIncrement) {
+        int idx = getRelativeIdx(cell.getIdx(), colIncrement, lineIncrement);
+        return idx == NO_CELL ? null : BoardCell.fromIdx(idx);
+    }
+
+    /**
+     * Retourne la direction correspondant à un couple d'incréments unitaires.
+     *
+     * @param colIncrement l'incrément de colonne (-1, 0 ou 1)
+     * @param lineIncrement l'incrément de ligne (-1, 0 ou 1)
+     * @return la direction ({@link #NORTH} à {@link #NORTH_WEST}), ou -1 si les incréments ne sont pas unitaires
+     */
+    public static int getDirection(int colIncrement, int lineIncrement) {
+        for (int dir = 0; dir < 8; dir++) {
+            if (COL_INCREMENTS[dir] == colIncrement && LINE_INCREMENTS[dir] == lineIncrement) {
+                return dir;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Retourne la case voisine dans une direction.
+     *
+     * @param idx l'indice de la case (0-63)
+     * @param direction la direction ({@link #NORTH} à {@link #NORTH_WEST})
+     * @return l'indice de la case voisine, ou {@link #NO_CELL} si elle est hors de l'échiquier
+     */
+    public static int getNeighbour(int idx, int direction) {
+        return NEIGHBOURS[idx][direction];
+    }
+
+    /**
+     * Retourne les cases atteignables par un cavalier.
+     *
+     * @param idx l'indice de la case du cavalier (0-63)
+     * @return les indices des cases (tableau partagé, à ne pas modifier)
+     */
+    public static int[] getKnightJumps(int idx) {
+        return KNIGHT_JUMPS[idx];
+    }
+
+    /**
+     * Retourne les cases voisines (pas de roi).
+     *
+     * @param idx l'indice de la case du roi (0-63)
+     * @return les indices des cases (tableau partagé, à ne pas modifier)
+     */
+    public static int[] getKingJumps(int idx) {
+        return KING_JUMPS[idx];
+    }
+
+    /**
+     * Retourne le rayon partant d'une case dans une direction (case de départ exclue).
+     *
+     * @param direction la direction ({@link #NORTH} à {@link #NORTH_WEST})
+     * @param idx l'indice de la case de départ (0-63)
+     * @return le bitboard des cases du rayon jusqu'au bord
+     */
+    public static long getRay(int direction, int idx) {
+        return RAYS[direction][idx];
+    }
+
+    /**
+     * Retourne les cases strictement comprises entre deux cases alignées.
+     *
+     * @param fromIdx l'indice de la première case
+     * @param toIdx l'indice de la seconde case
+     * @return le bitboard des cases intermédiaires, ou 0 si les cases ne sont pas alignées ou sont voisines
+     */
+    public static long getBetween(int fromIdx, int toIdx) {
+        return BETWEEN[fromIdx][toIdx];
+    }
+
+    /**
+     * Retourne la ligne complète (colonne, rangée ou diagonale) passant par deux cases alignées.
+     *
+     * @param fromIdx l'indice de la première case
+     * @param toIdx l'indice de la seconde case
+     * @return le bitboard de la ligne d'un bord à l'autre, ou 0 si les cases ne sont pas alignées
+     */
+    public static long getLine(int fromIdx, int toIdx) {
+        return LINE[fromIdx][toIdx];
+    }
+
+}
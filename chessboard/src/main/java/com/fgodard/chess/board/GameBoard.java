@@ -1,18 +1,17 @@
 package com.fgodard.chess.board;
 
 import com.fgodard.chess.beans.BoardState;
+import com.fgodard.chess.beans.CompactPosition;
 import com.fgodard.chess.beans.Ply;
 import com.fgodard.chess.beans.Position;
 import com.fgodard.chess.board.pieces.*;
 import com.fgodard.chess.exception.*;
 
+import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Optional;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
 /**
  * Représente l'échiquier et gère l'état complet d'une partie d'échecs.
@@ -20,14 +19,16 @@ import java.util.stream.Stream;
  * <p>Cette classe est le gestionnaire central qui maintient :
  * <ul>
  *   <li>La position des pièces sur l'échiquier (tableau de 64 cases)</li>
- *   <li>Les listes de pièces pour chaque camp (blancs et noirs)</li>
+ *   <li>La même position sous forme de bitboards ({@link BitBoard}) : un bitboard par couleur
+ *       et par type de pièce, qui sert d'index des pièces par type (pose, retrait et déplacement
+ *       en temps constant, voir {@link #getPieces(Color, char)})</li>
  *   <li>Les droits de roque pour chaque camp</li>
  *   <li>La case de prise en passant</li>
  *   <li>Le compteur de coups et de demi-coups</li>
  *   <li>La couleur du trait (joueur qui doit jouer)</li>
  * </ul>
  *
- * <p>Elle permet d'importer et d'exporter des positions aux formats FEN et LLP,
+ * <p>Elle permet d'importer et d'exporter des positions aux formats FEN, LLP et binaire,
  * ainsi qu'en HTML pour l'affichage.
  *
  * @author crios
@@ -37,17 +38,20 @@ import java.util.stream.Stream;
  */
 public class GameBoard {
 
-    private static final Pattern Castle960Pattern = Pattern.compile("[a-hA-H]{1}");
+    /** Taille en octets d'une position au format binaire (voir {@link #exportBinary()}) */
+    public static final int BINARY_POSITION_SIZE = 26;
+
+    /** Longueur maximale d'une position FEN exportée (voir {@link #exportFEN(char[], int)}) */
+    public static final int MAX_FEN_LENGTH = PositionExporter.MAX_FEN_LENGTH;
 
     private boolean chess960;
 
     private final Piece[] boardMap = new Piece[64];
 
-    private final ArrayList<Piece> whitePiecesList = new ArrayList<>(16);
-    private final ArrayList<Piece> blackPiecesList = new ArrayList<>(16);
-    
-    private King whiteKing = null;
-    private King blackKing = null;
+    private final BitBoard bitBoard = new BitBoard();
+
+    // En mode poids-mouche, aucune pièce n'est instanciée : la position n'est que dans bitBoard
+    private final boolean flyweight;
 
     private boolean whiteCanCastleKingSide;
     private boolean whiteCanCastleQueenSide;
@@ -70,19 +74,108 @@ public class GameBoard {
 
     private String llp;
 
+    // Emplacements LLP des 32 pièces, mis à jour pour les seuls codes de pièce modifiés
+    private final char[] llpSlots = new char[32];
+
     private String html;
 
     private Position pos;
 
-    private BoardState state = null;
+    private static final int WHITE_KING_SIDE = 1;
+    private static final int WHITE_QUEEN_SIDE = 2;
+    private static final int BLACK_KING_SIDE = 4;
+    private static final int BLACK_QUEEN_SIDE = 8;
+
+    private static final int[] CASTLE_RIGHTS_MASK = new int[64];
+
+    private static final long FILE_A = 0x0101010101010101L;
+    private static final long RANK_1 = 0x00000000000000FFL;
+
+    static {
+        Arrays.fill(CASTLE_RIGHTS_MASK, 15);
+        CASTLE_RIGHTS_MASK[BoardCell.A1.getIdx()] = ~WHITE_QUEEN_SIDE & 15;
+        CASTLE_RIGHTS_MASK[BoardCell.E1.getIdx()] = ~(WHITE_KING_SIDE | WHITE_QUEEN_SIDE) & 15;
+        CASTLE_RIGHTS_MASK[BoardCell.H1.getIdx()] = ~WHITE_KING_SIDE & 15;
+        CASTLE_RIGHTS_MASK[BoardCell.A8.getIdx()] = ~BLACK_QUEEN_SIDE & 15;
+        CASTLE_RIGHTS_MASK[BoardCell.E8.getIdx()] = ~(BLACK_KING_SIDE | BLACK_QUEEN_SIDE) & 15;
+        CASTLE_RIGHTS_MASK[BoardCell.H8.getIdx()] = ~BLACK_KING_SIDE & 15;
+    }
+
+    // Pile d'annulation : coup joué, droits de roque, case en passant, pièce prise et compteur de demi-coups
+    private long[] undoStates = new long[64];
+    private Piece[] undoCaptured = new Piece[64];
+    private Piece[] undoPromoted = new Piece[64];
+    private int undoSize = 0;
+
+    // Cache des déplacements, valable tant que la génération de la position n'a pas changé
+    private int generation = 1;
+    private final long[] moveTargets = new long[64];
+    private final int[] moveTargetsGeneration = new int[64];
+    private int[] legalMoves;
+    private int legalMoveCount;
+    private int legalMovesColor;
+    private int legalMovesGeneration;
+    private long moveCacheHits = 0;
+    private long moveCacheMisses = 0;
+    private PositionCache positionCache;
+
+    // Historique circulaire des clés des positions précédant chaque coup joué
+    private static final int HISTORY_SIZE = 1024;
+    private final long[] keyHistory = new long[HISTORY_SIZE];
+    private int historyCount = 0;
+
+    // Pièces retirées de l'échiquier, réutilisées par copyFrom et les promotions
+    private static final int POOL_SIZE = 10;
+    private final Piece[][] piecePool = new Piece[BitBoard.PIECE_CODES][POOL_SIZE];
+    private final int[] poolCounts = new int[BitBoard.PIECE_CODES];
+
+    /**
+     * Construit un échiquier vide dont les pièces sont des objets {@link Piece}.
+     */
+    public GameBoard() {
+        this(false);
+    }
+
+    /**
+     * Construit un échiquier vide.
+     *
+     * <p>En mode poids-mouche, aucun objet {@link Piece} n'est créé : les pièces sont les
+     * 12 instances partagées de {@link PieceKind} et leur position n'existe que dans les
+     * bitboards. L'échiquier ne coûte alors que quelques tableaux, et sa copie n'alloue rien.
+     * {@link #getPiece(BoardCell)} n'est pas disponible dans ce mode, {@link #getPieceKind(BoardCell)}
+     * le remplace ; les coups sont joués par {@link #makeMove(int)}.
+     *
+     * @param flyweight {@code true} pour le mode poids-mouche
+     */
+    public GameBoard(boolean flyweight) {
+        this.flyweight = flyweight;
+    }
+
+    /**
+     * Indique si l'échiquier est en mode poids-mouche (aucun objet {@link Piece}).
+     *
+     * @return {@code true} en mode poids-mouche
+     * @see #GameBoard(boolean)
+     */
+    public boolean isFlyweight() {
+        return flyweight;
+    }
 
     private void clearCells() {
-        whitePiecesList.clear();
-        blackPiecesList.clear();
         //pieceBoardMap.clear();
+        // les pièces retirées sont recyclées par les imports suivants (voir addPiece(int, int))
         for (int i = 0; i < 64; i++) {
-            boardMap[i] = null;
+            if (boardMap[i] != null) {
+                releasePiece(boardMap[i]);
+                boardMap[i] = null;
+            }
         }
+        bitBoard.clear();
+        enPassantCell = null;
+        enPassantPawn = null;
+        clearUndo();
+        historyCount = 0;
+        generation++;
         plyNoSincePawn = 0;
         plyNo = 0;
         currentMove = 0;
@@ -91,27 +184,34 @@ public class GameBoard {
     }
 
     private Piece buildPiece(final Character piece) throws InvalidPieceException {
-        char up = Character.toUpperCase(piece);
-        switch (up) {
-            case 'B' : {
+        int type = BitBoard.pieceType(piece);
+        if (type == BitBoard.EMPTY) {
+            throw new InvalidPieceException("Piece invalide (%s).", piece);
+        }
+        return newPiece(type);
+
+    }
+
+    private static Piece newPiece(int type) {
+        switch (type) {
+            case BitBoard.BISHOP : {
                 return new Bishop();
             }
-            case 'K' : {
+            case BitBoard.KING : {
                 return new King();
             }
-            case 'N' : {
+            case BitBoard.KNIGHT : {
                 return new Knight();
             }
-            case 'P' : {
-                return new Pawn();
-            }
-            case 'Q' : {
+            case BitBoard.QUEEN : {
                 return new Queen();
             }
-            case 'R' : {
+            case BitBoard.ROOK : {
                 return new Rook();
             }
-            default : throw new InvalidPieceException("Piece invalide (%s).", piece);
+            default : {
+                return new Pawn();
+            }
         }
 
     }
@@ -120,30 +220,83 @@ public class GameBoard {
      * Récupère la pièce située sur une case donnée en notation algébrique.
      *
      * @param alpha la notation algébrique de la case (ex: "e4")
-     * @return la pièce sur la case, ou {@code null} si la case est vide ou si alpha est null
+     * @return la pièce sur la case (valable jusqu'au prochain import, voir
+     *         {@link #getPiece(BoardCell)}), ou {@code null} si la case est vide ou si alpha est null
      * @throws InvalidCellException si la notation algébrique est invalide
+     * @throws IllegalStateException si l'échiquier est en mode poids-mouche
      */
     public Piece getPiece(final String alpha) throws InvalidCellException {
         if (alpha == null) {
             return null;
         }
         BoardCell cell = Board.getCell(alpha);
-        return boardMap[cell.getIdx()];
+        return getPiece(cell);
     }
 
     /**
      * Récupère la pièce située sur une case donnée.
      *
+     * <p>La pièce retournée n'est valable que jusqu'au prochain import de position
+     * (FEN, LLP, binaire) ou {@link #copyFrom(GameBoard)} : les pièces de l'échiquier sont
+     * alors recyclées et peuvent représenter une autre pièce, sur une autre case. Pour
+     * conserver une information au-delà, en garder la case, le type ou la couleur.
+     *
      * @param cell la case de l'échiquier
      * @return la pièce sur la case, ou {@code null} si la case est vide ou si cell est null
+     * @throws IllegalStateException si l'échiquier est en mode poids-mouche
      */
     public Piece getPiece(BoardCell cell) {
+        if (flyweight) {
+            throw new IllegalStateException("Échiquier sans objets pièces : utiliser getPieceKind.");
+        }
         if (cell == null) {
             return null;
         }
         return boardMap[cell.getIdx()];
     }
 
+    /**
+     * Récupère les pièces d'une couleur et d'un type donnés.
+     *
+     * <p>Seul le bitboard de ce type de pièce est parcouru, et chaque pièce est lue directement
+     * sur sa case : aucune autre pièce n'est examinée.
+     *
+     * @param color la couleur des pièces
+     * @param pieceSymbol le symbole du type de pièce (ex: 'N' ou 'n')
+     * @return une nouvelle collection des pièces (valables jusqu'au prochain import, voir
+     *         {@link #getPiece(BoardCell)}), vide si le symbole est inconnu
+     * @throws IllegalStateException si l'échiquier est en mode poids-mouche
+     */
+    public Collection<Piece> getPieces(Color color, char pieceSymbol) {
+        if (flyweight) {
+            throw new IllegalStateException("Échiquier sans objets pièces : utiliser getBitBoard.");
+        }
+        int type = BitBoard.pieceType(pieceSymbol);
+        if (type == BitBoard.EMPTY) {
+            return new ArrayList<>(0);
+        }
+        long cells = bitBoard.getPieces(BitBoard.colorIndex(color), type);
+        Collection<Piece> pieces = new ArrayList<>(Long.bitCount(cells));
+        while (cells != 0) {
+            pieces.add(boardMap[Long.numberOfTrailingZeros(cells)]);
+            cells &= cells - 1;
+        }
+        return pieces;
+    }
+
+    /**
+     * Récupère la pièce partagée située sur une case donnée, quel que soit le mode de l'échiquier.
+     *
+     * @param cell la case de l'échiquier
+     * @return la pièce sur la case, ou {@code null} si la case est vide ou si cell est null
+     */
+    public PieceKind getPieceKind(BoardCell cell) {
+        if (cell == null) {
+            return null;
+        }
+        return PieceKind.of(bitBoard.getPieceCode(cell.getIdx()));
+    }
+
     private void nextTurn() {
         if (turnColor == null) {
             return;
@@ -188,25 +341,15 @@ public class GameBoard {
         if (p == null) {
             return p;
         }
-        if (p.getColor() == Color.WHITE) {
-            whitePiecesList.remove(p);
-        }
-        if (p.getColor() == Color.BLACK) {
-            blackPiecesList.remove(p);
-        }
+        bitBoard.removePiece(cell.getIdx());
         p.setCell(null);
         return p;
     }
 
     private void removePiece(Piece piece) {
-        if (piece.getColor() == Color.BLACK) {
-            blackPiecesList.remove(piece);
-        }
-        if (piece.getColor() == Color.WHITE) {
-            whitePiecesList.remove(piece);
-        }
         BoardCell cell = piece.getCell();
         boardMap[cell.getIdx()] = null;
+        bitBoard.removePiece(cell.getIdx());
         piece.setCell(null);
     }
 
@@ -223,15 +366,13 @@ public class GameBoard {
             BoardCell currentCell = pieceToMove.getCell();
             boardMap[currentCell.getIdx()] = null;
             boardMap[destCell.getIdx()] = pieceToMove;
+            bitBoard.movePiece(currentCell.getIdx(), destCell.getIdx());
             pieceToMove.setCell(destCell);
             if (pieceToMove instanceof Pawn) {
                 int d = destCell.getLineIdx() - currentCell.getLineIdx();
                 if ((d == 2 || d == -2) && (hasSidePawn(destCell, -1) || hasSidePawn(destCell, +1))) {
-                    Optional<BoardCell> enPassantCell = Board.getCell(destCell.getColIdx(), (destCell.getLineIdx() + currentCell.getLineIdx()) / 2);
-                    if (enPassantCell.isPresent()) {
-                        setEnPassantCell(enPassantCell.get());
-                        setEnPassantPawn((Pawn) pieceToMove);
-                    }
+                    setEnPassantCell(BoardCell.fromIdx((destCell.getIdx() + currentCell.getIdx()) / 2));
+                    setEnPassantPawn((Pawn) pieceToMove);
                 }
                 plyNoSincePawn = 0;
             } else {
@@ -243,15 +384,12 @@ public class GameBoard {
 
     private boolean hasSidePawn(BoardCell destCell, int i) {
 
-        Optional<BoardCell> sideCell = Board.getCell(destCell.getColIdx() + i, destCell.getLineIdx());
-        if (!sideCell.isPresent()) {
+        int col = destCell.getColIdx() + i;
+        if (col < 0 || col > 7) {
             return false;
         }
-        Piece sidePiece = this.getPiece(sideCell.get());
-        if (sidePiece != null && sidePiece instanceof Pawn) {
-            return true;
-        }
-        return false;
+        long pawns = bitBoard.getPieces(BitBoard.WHITE, BitBoard.PAWN) | bitBoard.getPieces(BitBoard.BLACK, BitBoard.PAWN);
+        return (pawns & (1L << (destCell.getIdx() + i))) != 0;
 
     }
 
@@ -267,70 +405,113 @@ public class GameBoard {
 
     }
 
-    private Collection<Piece> getPiecesForDestination(Color color, Character pieceSymbol, BoardCell cell) {
+    private Piece getPieceToMove(Character piece, String orgPos, String destCell) throws InvalidMoveException {
+
+        BoardCell cell;
+        try {
+            cell = Board.getCell(destCell);
+        } catch (InvalidCellException e) {
+            throw new InvalidMoveException(e, "Mouvement invalide (%1$s %2$s -> %3$s)", piece, orgPos, destCell);
+        }
 
-        Collection<Piece> result = new ArrayList<>();
-        if (color == null || color == Color.WHITE) {
-            appendPiecesForDestination(result, cell, whitePiecesList, pieceSymbol);
+        int type = BitBoard.pieceType(piece);
+        long origins = 0L;
+        if (type != BitBoard.EMPTY) {
+            long originMask = getOriginMask(orgPos);
+            if (turnColor == null || turnColor == Color.WHITE) {
+                origins |= findOrigins(BitBoard.WHITE, type, cell.getIdx()) & originMask;
+            }
+            if (turnColor == null || turnColor == Color.BLACK) {
+                origins |= findOrigins(BitBoard.BLACK, type, cell.getIdx()) & originMask;
+            }
         }
-        if (color == null || color == Color.BLACK) {
-            appendPiecesForDestination(result, cell, blackPiecesList, pieceSymbol);
+        if (origins != 0 && (origins & (origins - 1)) == 0) {
+            return boardMap[Long.numberOfTrailingZeros(origins)];
         }
-        return result;
+        throw new InvalidMoveException("Mouvement invalide (%1$s %2$s -> %3$s)", piece, orgPos, destCell);
 
     }
 
-    private void appendPiecesForDestination(Collection<Piece> result, BoardCell cell, Collection<Piece> pieceList, char pieceSymbol) {
-
-        for (Piece p : pieceList) {
-            if (pieceSymbol == p.getSymbol() && p.getMoveCells().contains(cell)) {
-                result.add(p);
+    /**
+     * Retourne les cases d'origine autorisées par la désambiguïsation d'un coup SAN
+     * (colonne, rangée ou case complète).
+     */
+    private static long getOriginMask(String orgPos) {
+        long mask = -1L;
+        if (orgPos == null) {
+            return mask;
+        }
+        for (int i = 0; i < orgPos.length(); i++) {
+            char c = orgPos.charAt(i);
+            if (c >= 'a' && c <= 'h') {
+                mask &= FILE_A << (c - 'a');
+            } else if (c >= '1' && c <= '8') {
+                mask &= RANK_1 << ((c - '1') * 8);
             }
         }
-
+        return mask;
     }
 
-    private Piece getPieceToMove(Character piece, String orgPos, String destCell) throws InvalidMoveException {
+    /**
+     * Recherche, à partir de la case de destination, les pièces d'un type donné qui peuvent
+     * s'y rendre : les tables d'attaque sont lues depuis la destination, sans calculer les
+     * déplacements de chaque pièce.
+     *
+     * <p>Comme {@link Piece#getMoveCells()}, le roi ne peut aller sur une case attaquée.
+     * Lorsque plusieurs pièces conviennent, celles qui sont clouées hors de la ligne de
+     * leur roi sont écartées : la notation SAN ne désambiguïse qu'entre coups légaux.
+     */
+    private long findOrigins(int us, int type, int toIdx) {
 
-        BoardCell cell;
-        try {
-            cell = Board.getCell(destCell);
-            Collection<Piece> pieces = getPiecesForDestination(getTurnColor(), piece, cell);
-
-            if (orgPos != null && !orgPos.isEmpty()) {
-                Stream<Piece> pStream;
-                final String origPos = orgPos;
-                char c = origPos.charAt(0);
-                if (c >= '1' && c <= '8') {
-                    pStream = pieces.stream().filter(p -> p.getCell().getAlgebricPos().endsWith(origPos));
-                } else {
-                    pStream = pieces.stream().filter(p -> p.getCell().getAlgebricPos().startsWith(origPos));
+        long toMask = 1L << toIdx;
+        if ((bitBoard.getColorOccupancy(us) & toMask) != 0) {
+            return 0L;
+        }
+        long occupancy = bitBoard.getOccupancy();
+        long pieces = bitBoard.getPieces(us, type);
+        long origins;
+        switch (type) {
+            case BitBoard.PAWN: {
+                if ((occupancy & toMask) != 0 || (enPassantCell != null && enPassantCell.getIdx() == toIdx)) {
+                    origins = Attacks.pawnAttacks(us ^ 1, toIdx) & pieces;
+                    break;
                 }
-                pieces = pStream.collect(Collectors.toCollection(ArrayList::new));
-                if (pieces.size() == 1) {
-                    return pieces.iterator().next();
+                int back = us == BitBoard.WHITE ? -8 : 8;
+                int fromIdx = toIdx + back;
+                origins = 0L;
+                if (fromIdx >= 0 && fromIdx < 64) {
+                    if ((pieces & (1L << fromIdx)) != 0) {
+                        origins = 1L << fromIdx;
+                    } else if ((occupancy & (1L << fromIdx)) == 0 && ((fromIdx + back) >>> 3) == (us == BitBoard.WHITE ? 1 : 6)) {
+                        origins = pieces & (1L << (fromIdx + back));
+                    }
                 }
-
+                break;
             }
-
-            if (pieces.size() == 1) {
-                return pieces.iterator().next();
-
-            } else {
-                System.out.println(orgPos);
-                System.out.println(piece);
-                System.out.println(cell);
-                System.out.println(pieces);
-
+            case BitBoard.KING: {
+                origins = Attacks.kingAttacks(toIdx) & pieces;
+                if (origins != 0 && Attacks.isAttacked(bitBoard, toIdx, us ^ 1, occupancy & ~origins)) {
+                    origins = 0L;
+                }
+                break;
             }
+            default: {
+                origins = Attacks.attacks(BitBoard.pieceCode(us, type), toIdx, occupancy) & pieces;
+            }
+        }
 
-            throw new InvalidMoveException("Mouvement invalide (%1$s %2$s -> %3$s)", piece, orgPos, destCell);
-
-        } catch (InvalidCellException e) {
-
-            throw new InvalidMoveException(e, "Mouvement invalide (%1$s %2$s -> %3$s)", piece, orgPos, destCell);
-
+        if ((origins & (origins - 1)) != 0) {
+            long pinned = origins & Attacks.pinnedPieces(bitBoard, us);
+            int kingIdx = bitBoard.getKingIdx(us);
+            while (pinned != 0) {
+                int fromIdx = Long.numberOfTrailingZeros(pinned);
+                if ((BoardGeometry.getLine(kingIdx, fromIdx) & toMask) == 0) {
+                    origins &= ~(1L << fromIdx);
+                }
+                pinned &= pinned - 1;
+            }
         }
+        return origins;
 
     }
 
@@ -349,41 +530,57 @@ public class GameBoard {
     public void addPiece(final Character piece, int col, int line) throws InvalidPieceException, InvalidCellException {
 
         Optional<BoardCell> cell = Board.getCell(col, line);
-        if(cell.isPresent()) {
+        generation++;
+        if (cell.isPresent() && flyweight) {
+            int code = BitBoard.pieceCode(piece);
+            if (code == BitBoard.EMPTY) {
+                throw new InvalidPieceException("Piece invalide (%s).", piece);
+            }
+            bitBoard.removePiece(cell.get().getIdx());
+            bitBoard.setPiece(code, cell.get().getIdx());
+        } else if(cell.isPresent()) {
             Piece p = buildPiece(piece);
+            if (boardMap[cell.get().getIdx()] != null) {
+                removePiece(cell.get());
+            }
             p.setCurrentBoard(this);
             p.setCell(cell.get());
             if (piece > 'A' && piece < 'Z') {
                 p.setColor(Color.WHITE);
-                whitePiecesList.add(p);
-                if (piece == 'K') {
-                    whiteKing = (King) p;
-                }
             } else {
                 p.setColor(Color.BLACK);
-                blackPiecesList.add(p);
-                if (piece == 'k') {
-                    blackKing = (King) p;
-                }
             }
             boardMap[cell.get().getIdx()] = p;
+            bitBoard.setPiece(p.getCode(), cell.get().getIdx());
         } else {
             throw new InvalidCellException("Pas de case à la position (%s,%s).",col,line);
         }
 
     }
 
+    /**
+     * Pose une pièce, désignée par son code, sur une case vide.
+     *
+     * @param code le code de la pièce (voir {@link BitBoard})
+     * @param cellIdx l'indice de la case (0-63)
+     */
+    void addPiece(int code, int cellIdx) {
+
+        generation++;
+        if (flyweight) {
+            bitBoard.setPiece(code, cellIdx);
+        } else {
+            setPiece(obtainPiece(code), BoardCell.fromIdx(cellIdx));
+        }
+
+    }
+
     private void setPiece(final Piece piece, BoardCell cell) {
 
         piece.setCurrentBoard(this);
-        if (piece.getColor() == Color.WHITE) {
-            whitePiecesList.add(piece);
-        }
-        if (piece.getColor() == Color.BLACK) {
-            blackPiecesList.add(piece);
-        }
         piece.setCell(cell);
         boardMap[cell.getIdx()] = piece;
+        bitBoard.setPiece(piece.getCode(), cell.getIdx());
 
     }
 
@@ -552,6 +749,9 @@ public class GameBoard {
         }
 
         movePiece(pieceToMove, destCell, promPiece);
+        if (pieceToTake != null) {
+            plyNoSincePawn = 0;
+        }
 
     }
 
@@ -575,6 +775,11 @@ public class GameBoard {
      * <p>Après l'exécution du coup, la méthode vérifie si le roi adverse
      * est en échec ou mat, et passe le trait à l'adversaire.
      *
+     * <p>En mode poids-mouche, le coup est joué par {@link #makeMove(int)} et peut être annulé
+     * par {@link #unmakeMove()}. Sinon, il n'est pas annulable : la pile d'annulation est
+     * vidée, les coups joués auparavant par {@link #makeMove(int)} ou {@link #tryMove(Ply)}
+     * ne pouvant plus être annulés sur la nouvelle position.
+     *
      * @param ply le demi-coup à jouer
      * @throws InvalidMoveException si le coup est illégal
      */
@@ -583,6 +788,12 @@ public class GameBoard {
         if (turnColor == null && ply.getColor() != null) {
             turnColor = ply.getColor();
         }
+        if (flyweight) {
+            moveKind(ply);
+            verifyCheckAndMate(ply, BitBoard.colorIndex(turnColor));
+            return;
+        }
+        long positionKey = getPositionKey();
 
         if (ply.isKingCastle()) {
             castle(BoardSide.KING);
@@ -597,233 +808,886 @@ public class GameBoard {
 
         }
 
-        verifyCheckAndMate(ply);
+        verifyCheckAndMate(ply, turnColor == Color.WHITE ? BitBoard.BLACK : BitBoard.WHITE);
 
         clearExportPosition();
 
+        pushHistory(positionKey);
+
         nextTurn();
 
-    }
+        // coup joué hors de makeMove : les états mémorisés ne correspondent plus à la position
+        clearUndo();
 
-    private void verifyCheckAndMate(Ply ply) {
-        // Recherche d'echecs et de Mat
-        Collection<Piece> attackingPieces;
-        King opponentKing;
-        if (turnColor == Color.WHITE) {
-            opponentKing = blackKing;
-        } else {
-            opponentKing = whiteKing;
-        }
-        
-        attackingPieces = MoveHelper.findAttackingPieces(opponentKing, ply.getPiece());
-        if (attackingPieces != null && !attackingPieces.isEmpty()) {
-            if (opponentKing.getMoveCells().isEmpty()) {
-                // Ce n'est pas encore mat il faut vérifier les interceptions et les prises
-                if (attackingPieces.size() > 1) {
-                    //echec multiple et le roi n'a plus de case.
-                    ply.setMate(true);
-                } else {
-                    //une seule piece
-                    Piece attackingPiece = attackingPieces.iterator().next();
-                    //prise de la piece attaquante ?
-                    Collection<Piece> defeners = MoveHelper.findAttackingPieces(this,attackingPiece.getCell(),attackingPiece.getColor(),null);
-                    if (defeners == null || defeners.isEmpty()) {
-                        //piece attaquante pas en prise
-                        if (attackingPiece.getSymbol()=='N') {
-                            //Cavalier : pas d'interception possible
-                            ply.setMate(true);
-                        } else {
-                            //Rechercher les interceptions
-                            Collection<BoardCell> cells = listCellsBetween(opponentKing.getCell(), attackingPiece.getCell());
-                            defeners = MoveHelper.findAttackingPieces(this, cells,attackingPiece.getColor(), null);
-                            if (defeners == null || defeners.isEmpty()) {
-                                ply.setMate(true);
-                            }
-                        }
-                    }
-                }
-            }
-            ply.setCheck(true);
-        }
     }
 
     /**
-     * Indique si les blancs peuvent encore roquer côté roi.
-     *
-     * @return {@code true} si le petit roque blanc est possible
+     * Vide la pile d'annulation, sans modifier la position.
      */
-    public boolean isWhiteCanCastleKingSide() {
-        return whiteCanCastleKingSide;
+    private void clearUndo() {
+        Arrays.fill(undoCaptured, 0, undoSize, null);
+        Arrays.fill(undoPromoted, 0, undoSize, null);
+        undoSize = 0;
     }
 
-    /**
-     * Indique si les blancs peuvent encore roquer côté dame.
-     *
-     * @return {@code true} si le grand roque blanc est possible
-     */
-    public boolean isWhiteCanCastleQueenSide() {
-        return whiteCanCastleQueenSide;
-    }
+    private void moveKind(Ply ply) throws InvalidMoveException {
 
-    /**
-     * Indique si les noirs peuvent encore roquer côté roi.
-     *
-     * @return {@code true} si le petit roque noir est possible
-     */
-    public boolean isBlackCanCastleKingSide() {
-        return blackCanCastleKingSide;
-    }
+        if (turnColor == null) {
+            throw new InvalidMoveException("Mouvement invalide, trait inconnu (%1$s %2$s -> %3$s)", ply.getPiece(), ply.getOrigCell(), ply.getDestCell());
+        }
+        int move = resolvePly(ply);
+        if (move == Move.NONE || move == Move.AMBIGUOUS) {
+            throw new InvalidMoveException("Mouvement invalide (%1$s %2$s -> %3$s)", ply.getPiece(), ply.getOrigCell(), ply.getDestCell());
+        }
+        playResolved(ply, move);
 
-    /**
-     * Indique si les noirs peuvent encore roquer côté dame.
-     *
-     * @return {@code true} si le grand roque noir est possible
-     */
-    public boolean isBlackCanCastleQueenSide() {
-        return blackCanCastleQueenSide;
     }
 
-    /**
-     * Définit la couleur du joueur ayant le trait.
-     *
-     * @param turnColor la couleur du joueur qui doit jouer
-     */
-    public void setTurnColor(Color turnColor) {
-        this.turnColor = turnColor;
-        clearExportPosition();
+    private int resolvePly(Ply ply) {
+        int count = getLegalMoveCount(BitBoard.colorIndex(turnColor));
+        return Move.matchPly(bitBoard, ply, legalMoves, count);
     }
 
-    /**
-     * Retourne la couleur du joueur ayant le trait.
-     *
-     * @return la couleur du joueur qui doit jouer
-     */
-    public Color getTurnColor() {
-        return turnColor;
+    private void playResolved(Ply ply, int move) {
+        //Complete le déplacement avec détermination de la case d'origine et de la couleur
+        ply.setColor(turnColor);
+        if (!Move.isCastle(move)) {
+            ply.setOrigCell(BoardCell.fromIdx(Move.getFrom(move)).getAlgebricPos());
+            ply.setEnPassant(Move.isEnPassant(move));
+            ply.setTake(Move.isCapture(move));
+        }
+        makeMove(move);
     }
 
     /**
-     * Retourne le numéro du demi-coup actuel.
+     * Exécute un demi-coup s'il est légal, sans lever d'exception.
      *
-     * @return le numéro de demi-coup (ply)
-     */
-    public int getPlyNo() {
-        return plyNo;
-    }
-
-    /**
-     * Retourne le numéro du coup actuel.
+     * <p>Le demi-coup est recherché parmi les coups légaux de la position : en cas de refus,
+     * l'échiquier n'est pas modifié et aucun message n'est construit. Lorsqu'il est joué,
+     * le demi-coup est complété comme par {@link #move(Ply)} (case d'origine, couleur,
+     * prise, échec et mat).
      *
-     * @return le numéro de coup (incrémenté après chaque coup noir)
-     */
-    protected int getCurrentMove() {
-        return currentMove;
-    }
-
-    /**
-     * Retourne la case de prise en passant actuelle.
+     * <p>Le coup est joué par {@link #makeMove(int)} : il peut être annulé par
+     * {@link #unmakeMove()}, quel que soit le mode de l'échiquier.
      *
-     * @return la case de prise en passant, ou {@code null} si aucune prise en passant n'est possible
+     * @param ply le demi-coup à jouer
+     * @return {@link MoveStatus#OK} si le coup a été joué, la raison du refus sinon
      */
-    public BoardCell getEnPassantCell() {
-        return enPassantCell;
-    }
-
-    private void setEnPassantCell(BoardCell enPassantCell) {
-        this.enPassantCell = enPassantCell;
-        clearExportPosition();
-    }
-
-    private Pawn getEnPassantPawn() {
-        return enPassantPawn;
-    }
-
-    private void setEnPassantPawn(Pawn enPassantPawn) {
+    public MoveStatus tryMove(Ply ply) {
 
-        this.enPassantPawn = enPassantPawn;
-        clearExportPosition();
+        Color initialTurn = turnColor;
+        if (turnColor == null) {
+            if (ply.getColor() == null) {
+                return MoveStatus.NO_TURN;
+            }
+            turnColor = ply.getColor();
+        }
+        int move = resolvePly(ply);
+        if (move == Move.NONE || move == Move.AMBIGUOUS) {
+            turnColor = initialTurn;
+            return move == Move.NONE ? MoveStatus.ILLEGAL : MoveStatus.AMBIGUOUS;
+        }
+        playResolved(ply, move);
+        verifyCheckAndMate(ply, BitBoard.colorIndex(turnColor));
+        return MoveStatus.OK;
 
     }
 
     /**
-     * Indique si la partie utilise les règles du Chess960 (Fischer Random Chess).
+     * Joue un coup encodé ({@link Move}) et mémorise de quoi l'annuler avec {@link #unmakeMove()}.
      *
-     * @return {@code true} si la partie est en mode Chess960
-     */
-    public boolean isChess960() {
-        return chess960;
-    }
-
-    /**
-     * Définit la case de prise en passant à partir de sa notation algébrique.
+     * <p>Le coup doit être pseudo-légal pour le joueur au trait (voir {@link MoveGenerator}) :
+     * aucune vérification n'est effectuée, et ni l'échec ni le mat ne sont recherchés.
+     * Les pièces capturées sont conservées dans la pile d'annulation, ce qui permet de
+     * revenir à la position précédente en temps constant.
      *
-     * @param enPassant la notation algébrique de la case (ex: "e3")
-     * @throws InvalidCellException si la notation est invalide ou si la case n'est pas valide pour la prise en passant
+     * @param move le coup encodé
      */
-    public void setEnPassantCell(final String enPassant) throws InvalidCellException {
+    public void makeMove(int move) {
+
+        int from = Move.getFrom(move);
+        int to = Move.getTo(move);
+        int flags = Move.getFlags(move);
+        int code = bitBoard.getPieceCode(from);
+        if (turnColor == null) {
+            turnColor = BitBoard.toColor(BitBoard.colorOf(code));
+        }
+
+        if (undoSize == undoStates.length) {
+            undoStates = Arrays.copyOf(undoStates, undoSize * 2);
+            undoCaptured = Arrays.copyOf(undoCaptured, undoSize * 2);
+            undoPromoted = Arrays.copyOf(undoPromoted, undoSize * 2);
+        }
+        int castleRights = getCastleRights();
+        long epIdx = enPassantCell == null ? 64 : enPassantCell.getIdx();
+        int capturedIdx = flags == Move.EN_PASSANT ? (turnColor == Color.WHITE ? to - 8 : to + 8) : to;
+        int capturedCode = Move.isCapture(move) ? bitBoard.getPieceCode(capturedIdx) : BitBoard.EMPTY;
+        pushHistory(getPositionKey());
+        undoStates[undoSize] = (move & 0xFFFFL) | ((long) castleRights << 16) | (epIdx << 20)
+                | ((long) (capturedCode + 1) << 27) | ((long) plyNoSincePawn << 31);
 
+        resetExportPostions();
         enPassantCell = null;
         enPassantPawn = null;
 
-        if (enPassant == null || enPassant.length() < 2) {
-            throw new InvalidCellException("Case %s inconnue", enPassant);
+        undoCaptured[undoSize] = null;
+        undoPromoted[undoSize] = null;
+        if (capturedCode != BitBoard.EMPTY) {
+            if (flyweight) {
+                bitBoard.removePiece(capturedIdx);
+            } else {
+                undoCaptured[undoSize] = boardMap[capturedIdx];
+                removePiece(boardMap[capturedIdx]);
+            }
         }
 
-        BoardCell cell = Board.getCell(enPassant);
+        if (Move.isPromotion(move)) {
+            int promCode = BitBoard.pieceCode(BitBoard.colorOf(code), Move.getPromotionType(move));
+            if (flyweight) {
+                bitBoard.removePiece(from);
+                bitBoard.setPiece(promCode, to);
+            } else {
+                Piece pawn = boardMap[from];
+                removePiece(pawn);
+                setPiece(obtainPiece(promCode), BoardCell.fromIdx(to));
+                undoPromoted[undoSize] = pawn;
+            }
+        } else {
+            relocatePiece(from, to);
+            if (flags == Move.KING_CASTLE) {
+                relocatePiece(to + 1, to - 1);
+            } else if (flags == Move.QUEEN_CASTLE) {
+                relocatePiece(to - 2, to + 1);
+            } else if (flags == Move.DOUBLE_PAWN_PUSH) {
+                BoardCell destCell = BoardCell.fromIdx(to);
+                if (hasSidePawn(destCell, -1) || hasSidePawn(destCell, +1)) {
+                    enPassantCell = BoardCell.fromIdx((from + to) / 2);
+                    enPassantPawn = flyweight ? null : (Pawn) boardMap[to];
+                }
+            }
+        }
+        undoSize++;
 
-        int line = cell.getLineIdx();
-        int col = cell.getColIdx();
-        if (line == 5) {
-            line = 4;
+        setCastleRights(castleRights & CASTLE_RIGHTS_MASK[from] & CASTLE_RIGHTS_MASK[to]);
+        if (capturedCode != BitBoard.EMPTY || BitBoard.typeOf(code) == BitBoard.PAWN) {
+            plyNoSincePawn = 0;
+        } else {
+            plyNoSincePawn++;
         }
-        if (line == 2) {
-            line = 3;
+        plyNo++;
+        nextTurn();
+
+    }
+
+    /**
+     * Annule le dernier coup joué par {@link #makeMove(int)}.
+     *
+     * <p>La position, les droits de roque, la case en passant, les compteurs et le trait
+     * sont restaurés tels qu'ils étaient avant le coup.
+     *
+     * @throws IllegalStateException si aucun coup n'est à annuler
+     */
+    public void unmakeMove() {
+
+        if (undoSize == 0) {
+            throw new IllegalStateException("Aucun coup à annuler.");
         }
+        undoSize--;
+        long undoState = undoStates[undoSize];
+        int move = (int) (undoState & 0xFFFF);
+        int from = Move.getFrom(move);
+        int to = Move.getTo(move);
+        int flags = Move.getFlags(move);
 
-        Board.getCell(col, line)
-                .ifPresent(boardCell -> enPassantPawn = (Pawn) getPiece(boardCell));
-        if(enPassantPawn == null) {
-            throw new InvalidCellException("La case %s n'est pas valide pour la prise en passant.",enPassant);
+        resetExportPostions();
+        if (turnColor == Color.WHITE) {
+            turnColor = Color.BLACK;
+            currentMove--;
+        } else if (turnColor == Color.BLACK) {
+            turnColor = Color.WHITE;
         }
-        setEnPassantCell(cell);
+        plyNo--;
+
+        if (Move.isPromotion(move)) {
+            if (flyweight) {
+                int promCode = bitBoard.removePiece(to);
+                bitBoard.setPiece(BitBoard.pieceCode(BitBoard.colorOf(promCode), BitBoard.PAWN), from);
+            } else {
+                Piece promPiece = boardMap[to];
+                removePiece(promPiece);
+                releasePiece(promPiece);
+                setPiece(undoPromoted[undoSize], BoardCell.fromIdx(from));
+                undoPromoted[undoSize] = null;
+            }
+        } else {
+            relocatePiece(to, from);
+            if (flags == Move.KING_CASTLE) {
+                relocatePiece(to - 1, to + 1);
+            } else if (flags == Move.QUEEN_CASTLE) {
+                relocatePiece(to + 1, to - 2);
+            }
+        }
+
+        int capturedCode = (int) ((undoState >>> 27) & 0xF) - 1;
+        if (capturedCode != BitBoard.EMPTY) {
+            int capturedIdx = to;
+            if (flags == Move.EN_PASSANT) {
+                capturedIdx = turnColor == Color.WHITE ? to - 8 : to + 8;
+            }
+            if (flyweight) {
+                bitBoard.setPiece(capturedCode, capturedIdx);
+            } else {
+                setPiece(undoCaptured[undoSize], BoardCell.fromIdx(capturedIdx));
+                undoCaptured[undoSize] = null;
+            }
+        }
+
+        setCastleRights((int) (undoState >>> 16) & 0xF);
+        int epIdx = (int) (undoState >>> 20) & 0x7F;
+        if (epIdx == 64) {
+            enPassantCell = null;
+            enPassantPawn = null;
+        } else {
+            enPassantCell = BoardCell.fromIdx(epIdx);
+            enPassantPawn = flyweight ? null : (Pawn) boardMap[epIdx < 32 ? epIdx + 8 : epIdx - 8];
+        }
+        plyNoSincePawn = (int) (undoState >>> 31);
+        historyCount--;
+
+    }
+
+    /**
+     * Retourne le nombre de coups pouvant être annulés par {@link #unmakeMove()}.
+     *
+     * @return la profondeur de la pile d'annulation
+     */
+    public int getUndoDepth() {
+        return undoSize;
     }
 
-    void setCastleInfo(final String castleInfos) {
+    private Piece obtainPiece(int code) {
+        if (poolCounts[code] > 0) {
+            int i = --poolCounts[code];
+            Piece piece = piecePool[code][i];
+            piecePool[code][i] = null;
+            return piece;
+        }
+        Piece piece = newPiece(BitBoard.typeOf(code));
+        piece.setColor(BitBoard.toColor(BitBoard.colorOf(code)));
+        return piece;
+    }
 
-        Matcher m = Castle960Pattern.matcher(castleInfos);
-        if (m.find()) {
-            this.chess960 = true;
+    private void releasePiece(Piece piece) {
+        piece.setCell(null);
+        int code = piece.getCode();
+        if (poolCounts[code] < POOL_SIZE) {
+            piecePool[code][poolCounts[code]++] = piece;
+        }
+    }
+
+    /**
+     * Copie une position dans cet échiquier.
+     *
+     * <p>Les pièces de cet échiquier sont recyclées pour représenter celles de la source :
+     * une fois l'échiquier cible utilisé, une copie n'alloue plus aucune pièce. En mode
+     * poids-mouche, seuls les bitboards et l'état sont copiés. La source peut être d'un
+     * mode différent de la cible. L'état complet
+     * est repris (trait, droits de roque, prise en passant, compteurs, historique utile à la
+     * détection des répétitions) ; la pile d'annulation est vidée, les coups joués sur la
+     * source ne peuvent donc pas être annulés sur la copie.
+     *
+     * @param other l'échiquier source
+     */
+    public void copyFrom(GameBoard other) {
+
+        if (other == this) {
+            return;
+        }
+        for (int i = 0; i < 64; i++) {
+            if (boardMap[i] != null) {
+                releasePiece(boardMap[i]);
+                boardMap[i] = null;
+            }
+        }
+        clearUndo();
+
+        bitBoard.copyFrom(other.bitBoard);
+        long cells = flyweight ? 0L : bitBoard.getOccupancy();
+        while (cells != 0) {
+            int idx = Long.numberOfTrailingZeros(cells);
+            Piece p = obtainPiece(bitBoard.getPieceCode(idx));
+            p.setCurrentBoard(this);
+            p.setCell(BoardCell.fromIdx(idx));
+            boardMap[idx] = p;
+            cells &= cells - 1;
+        }
+
+        chess960 = other.chess960;
+        whiteCanCastleKingSide = other.whiteCanCastleKingSide;
+        whiteCanCastleQueenSide = other.whiteCanCastleQueenSide;
+        blackCanCastleKingSide = other.blackCanCastleKingSide;
+        blackCanCastleQueenSide = other.blackCanCastleQueenSide;
+        turnColor = other.turnColor;
+        enPassantCell = other.enPassantCell;
+        enPassantPawn = null;
+        if (!flyweight && enPassantCell != null) {
+            int epIdx = enPassantCell.getIdx();
+            enPassantPawn = (Pawn) boardMap[epIdx < 32 ? epIdx + 8 : epIdx - 8];
+        }
+        plyNo = other.plyNo;
+        currentMove = other.currentMove;
+        plyNoSincePawn = other.plyNoSincePawn;
+
+        // Seules les positions depuis le dernier coup irréversible sont utiles
+        int window = Math.min(other.historyCount, Math.min(other.plyNoSincePawn, HISTORY_SIZE));
+        for (int i = other.historyCount - window; i < other.historyCount; i++) {
+            keyHistory[i & (HISTORY_SIZE - 1)] = other.keyHistory[i & (HISTORY_SIZE - 1)];
+        }
+        historyCount = other.historyCount;
+
+        resetExportPostions();
+        fen = other.fen;
+        llp = other.llp;
+
+    }
+
+    /**
+     * Retourne une copie de cet échiquier.
+     *
+     * @return un nouvel échiquier dans la même position et le même mode, avec ou sans cartes d'attaque
+     * @see #copyFrom(GameBoard)
+     */
+    public GameBoard copy() {
+        GameBoard copy = new GameBoard(flyweight);
+        copy.setAttackMapEnabled(bitBoard.getAttackMap() != null);
+        copy.setPositionCache(positionCache);
+        copy.copyFrom(this);
+        return copy;
+    }
+
+    private void pushHistory(long positionKey) {
+        keyHistory[historyCount & (HISTORY_SIZE - 1)] = positionKey;
+        historyCount++;
+    }
+
+    /**
+     * Indique si la position courante est apparue au moins {@code n} fois.
+     *
+     * <p>Seules les positions depuis le dernier coup irréversible (coup de pion ou prise)
+     * sont examinées, une sur deux (même trait) : le coût est proportionnel au nombre de
+     * demi-coups depuis ce coup, et aucune chaîne n'est construite.
+     *
+     * @param n le nombre d'occurrences recherché, position courante comprise (3 pour la triple répétition)
+     * @return {@code true} si la position courante est apparue au moins {@code n} fois
+     */
+    public boolean isRepetition(int n) {
+        long key = getPositionKey();
+        int count = 1;
+        int limit = Math.max(0, historyCount - Math.min(plyNoSincePawn, HISTORY_SIZE));
+        for (int i = historyCount - 2; i >= limit && count < n; i -= 2) {
+            if (keyHistory[i & (HISTORY_SIZE - 1)] == key) {
+                count++;
+            }
+        }
+        return count >= n;
+    }
+
+    /**
+     * Indique si la règle des 50 coups s'applique : 100 demi-coups sans coup de pion ni prise,
+     * sauf si le dernier coup a donné mat.
+     *
+     * @return {@code true} si la nulle peut être réclamée
+     */
+    public boolean isFiftyMoveDraw() {
+        return plyNoSincePawn >= 100 && !isCheckMate();
+    }
+
+    /**
+     * Indique si la règle des 75 coups s'applique : 150 demi-coups sans coup de pion ni prise,
+     * sauf si le dernier coup a donné mat. La nulle est alors automatique.
+     *
+     * @return {@code true} si la partie est nulle
+     */
+    public boolean isSeventyFiveMoveDraw() {
+        return plyNoSincePawn >= 150 && !isCheckMate();
+    }
+
+    /**
+     * Retourne le nombre de demi-coups joués depuis le dernier coup de pion ou la dernière prise.
+     *
+     * @return le compteur de demi-coups de la règle des 50 coups
+     */
+    public int getPlyNoSincePawn() {
+        return plyNoSincePawn;
+    }
+
+    void setPlyNoSincePawn(int plyNoSincePawn) {
+        this.plyNoSincePawn = plyNoSincePawn;
+    }
+
+    private void relocatePiece(int fromIdx, int toIdx) {
+        if (!flyweight) {
+            Piece piece = boardMap[fromIdx];
+            boardMap[fromIdx] = null;
+            boardMap[toIdx] = piece;
+            piece.setCell(BoardCell.fromIdx(toIdx));
+        }
+        bitBoard.movePiece(fromIdx, toIdx);
+    }
+
+    int getCastleRights() {
+        return (whiteCanCastleKingSide ? WHITE_KING_SIDE : 0)
+                | (whiteCanCastleQueenSide ? WHITE_QUEEN_SIDE : 0)
+                | (blackCanCastleKingSide ? BLACK_KING_SIDE : 0)
+                | (blackCanCastleQueenSide ? BLACK_QUEEN_SIDE : 0);
+    }
+
+    void setCastleRights(int castleRights) {
+        whiteCanCastleKingSide = (castleRights & WHITE_KING_SIDE) != 0;
+        whiteCanCastleQueenSide = (castleRights & WHITE_QUEEN_SIDE) != 0;
+        blackCanCastleKingSide = (castleRights & BLACK_KING_SIDE) != 0;
+        blackCanCastleQueenSide = (castleRights & BLACK_QUEEN_SIDE) != 0;
+    }
+
+    private void verifyCheckAndMate(Ply ply, int opponent) {
+        // Recherche d'echecs et de Mat
+        if (bitBoard.getPieces(opponent, BitBoard.KING) == 0) {
+            return;
+        }
+
+        if (positionCache != null) {
+            // la position d'arrivée est consultée avant tout calcul : échec et mat viennent du cache
+            PositionCache.Entry entry = lookupPosition(opponent);
+            if (entry.isCheck()) {
+                ply.setCheck(true);
+                ply.setMate(entry.isMate());
+            }
+        } else if (isInCheck(opponent)) {
+            ply.setCheck(true);
+            ply.setMate(getLegalMoveCount(opponent) == 0);
+        }
+    }
+
+    private int getLegalMoveCount(int color) {
+        if (legalMoves != null && legalMovesGeneration == generation && legalMovesColor == color) {
+            moveCacheHits++;
+            return legalMoveCount;
+        }
+        if (positionCache != null) {
+            return lookupPosition(color).getMoveCount();
+        }
+        moveCacheMisses++;
+        if (legalMoves == null) {
+            legalMoves = new int[MoveList.MAX_MOVES];
+        }
+        legalMoveCount = MoveGenerator.generateLegalMoves(this, color, legalMoves, 0);
+        legalMovesColor = color;
+        legalMovesGeneration = generation;
+        return legalMoveCount;
+    }
 
+    /**
+     * Recherche la position courante dans le cache partagé, avec le joueur donné au trait.
+     * En cas d'absence, les coups légaux sont générés (ou repris du cache local) et l'entrée
+     * est enregistrée. Le cache local des coups légaux est renseigné dans tous les cas.
+     */
+    private PositionCache.Entry lookupPosition(int color) {
+        long key = bitBoard.getKey()
+                ^ Zobrist.stateKey(bitBoard, BitBoard.toColor(color), getCastleRights(), enPassantCell);
+        PositionCache.Entry entry = positionCache.get(key);
+        boolean localHit = legalMoves != null && legalMovesGeneration == generation && legalMovesColor == color;
+        if (localHit) {
+            moveCacheHits++;
         } else {
-            this.chess960 = false;
-            whiteCanCastleKingSide = castleInfos.contains("K");
-            whiteCanCastleQueenSide = castleInfos.contains("Q");
-            blackCanCastleKingSide = castleInfos.contains("k");
-            blackCanCastleQueenSide = castleInfos.contains("q");
+            moveCacheMisses++;
+            if (legalMoves == null) {
+                legalMoves = new int[MoveList.MAX_MOVES];
+            }
+        }
+        if (entry == null) {
+            if (!localHit) {
+                legalMoveCount = MoveGenerator.generateLegalMoves(this, color, legalMoves, 0);
+            }
+            entry = positionCache.put(key, legalMoves, legalMoveCount, isInCheck(color));
+        } else if (!localHit) {
+            legalMoveCount = entry.copyMoves(legalMoves);
+        }
+        legalMovesColor = color;
+        legalMovesGeneration = generation;
+        return entry;
+    }
+
+    /**
+     * Retourne les cases de destination de la pièce posée sur une case, comme
+     * {@link Piece#getMoveCells()}.
+     *
+     * <p>Le résultat est conservé jusqu'au prochain changement de position : les appels
+     * répétés entre deux coups (résolution de la notation, mat, affichage) ne le recalculent pas.
+     *
+     * @param cellIdx l'indice de la case (0-63)
+     * @return le bitboard des cases de destination, 0 si la case est vide
+     */
+    public long getMoveTargets(int cellIdx) {
+        if (moveTargetsGeneration[cellIdx] == generation) {
+            moveCacheHits++;
+            return moveTargets[cellIdx];
+        }
+        moveCacheMisses++;
+        PieceKind kind = PieceKind.of(bitBoard.getPieceCode(cellIdx));
+        long targets = kind == null ? 0L : kind.getMoveTargets(this, cellIdx);
+        moveTargets[cellIdx] = targets;
+        moveTargetsGeneration[cellIdx] = generation;
+        return targets;
+    }
+
+    /**
+     * Retourne les cases de destination de la pièce posée sur une case.
+     *
+     * @param cell la case
+     * @return une nouvelle collection des cases de destination, vide si la case est vide
+     * @see #getMoveTargets(int)
+     */
+    public Collection<BoardCell> getMoveCells(BoardCell cell) {
+        return PieceKind.toCells(getMoveTargets(cell.getIdx()));
+    }
+
+    /**
+     * Associe un cache de positions à cet échiquier.
+     *
+     * <p>Avant de générer les coups légaux d'une position absente du cache local, l'échiquier
+     * consulte ce cache par clé de Zobrist, et l'alimente en cas d'absence. Après chaque coup
+     * joué par {@link #move(Ply)}, la position d'arrivée y est recherchée : l'échec et le mat
+     * du coup sont lus dans l'entrée au lieu d'être recalculés. Le même cache peut
+     * être partagé par plusieurs échiquiers, y compris dans des threads différents : les
+     * ouvertures communes à un lot de parties ne sont alors générées qu'une fois.
+     *
+     * @param positionCache le cache partagé, ou {@code null} pour générer systématiquement
+     */
+    public void setPositionCache(PositionCache positionCache) {
+        this.positionCache = positionCache;
+    }
+
+    /**
+     * Retourne le cache de positions associé à cet échiquier.
+     *
+     * @return le cache partagé, ou {@code null}
+     * @see #setPositionCache(PositionCache)
+     */
+    public PositionCache getPositionCache() {
+        return positionCache;
+    }
+
+    /**
+     * Retourne le nombre de consultations du cache des déplacements (cases de destination
+     * et coups légaux) servies sans recalcul.
+     *
+     * @return le nombre de succès du cache
+     */
+    public long getMoveCacheHits() {
+        return moveCacheHits;
+    }
+
+    /**
+     * Retourne le nombre de consultations du cache des déplacements ayant nécessité un calcul.
+     *
+     * @return le nombre d'échecs du cache
+     */
+    public long getMoveCacheMisses() {
+        return moveCacheMisses;
+    }
+
+    /**
+     * Génère les coups légaux du joueur au trait.
+     *
+     * <p>Les coups sont conservés jusqu'au prochain changement de position, et partagés avec
+     * {@link #isCheckMate()}, {@link #isStaleMate()} et la recherche de mat après un coup.
+     *
+     * @param moves la liste à remplir (vidée au préalable)
+     * @return le nombre de coups légaux
+     * @see MoveGenerator#generateLegalMoves(GameBoard, MoveList)
+     */
+    public int generateLegalMoves(MoveList moves) {
+        int count = turnColor == null ? 0 : getLegalMoveCount(BitBoard.colorIndex(turnColor));
+        if (count > 0) {
+            System.arraycopy(legalMoves, 0, moves.getMoves(), 0, count);
+        }
+        moves.setSize(count);
+        return count;
+    }
+
+    /**
+     * Indique si le joueur au trait est mat : il est en échec et n'a aucun coup légal.
+     *
+     * @return {@code true} si le joueur au trait est mat
+     */
+    public boolean isCheckMate() {
+        return turnColor != null && isInCheck(turnColor)
+                && getLegalMoveCount(BitBoard.colorIndex(turnColor)) == 0;
+    }
+
+    /**
+     * Indique si le joueur au trait est pat : il n'est pas en échec et n'a aucun coup légal.
+     *
+     * @return {@code true} si le joueur au trait est pat
+     */
+    public boolean isStaleMate() {
+        return turnColor != null && !isInCheck(turnColor)
+                && getLegalMoveCount(BitBoard.colorIndex(turnColor)) == 0;
+    }
+
+    /**
+     * Indique si le roi d'un camp est en échec.
+     *
+     * <p>La recherche s'arrête au premier attaquant trouvé et ne crée aucun objet ; si les
+     * cartes d'attaque sont maintenues, l'échec y est lu directement.
+     *
+     * @param color la couleur du roi à vérifier
+     * @return {@code true} si le roi de ce camp est attaqué
+     */
+    public boolean isInCheck(Color color) {
+        return isInCheck(BitBoard.colorIndex(color));
+    }
+
+    private boolean isInCheck(int color) {
+        AttackMap attackMap = bitBoard.getAttackMap();
+        if (attackMap == null) {
+            return Attacks.isInCheck(bitBoard, color);
         }
+        int kingIdx = bitBoard.getKingIdx(color);
+        return kingIdx < 64 && attackMap.isAttacked(kingIdx, color ^ 1);
+    }
+
+    /**
+     * Active ou désactive la maintenance incrémentale des cartes d'attaque des deux camps.
+     *
+     * <p>Une fois activées, les cartes sont mises à jour à chaque coup joué ou annulé, et
+     * la détection d'échec et les déplacements du roi les consultent au lieu de rechercher
+     * les attaquants.
+     *
+     * @param enabled {@code true} pour maintenir les cartes
+     * @see #getAttackMap()
+     */
+    public void setAttackMapEnabled(boolean enabled) {
+        if (enabled != (bitBoard.getAttackMap() != null)) {
+            bitBoard.setAttackMap(enabled ? new AttackMap() : null);
+        }
+    }
+
+    /**
+     * Retourne les cartes d'attaque des deux camps, à lire seulement.
+     *
+     * @return les cartes d'attaque, ou {@code null} si elles ne sont pas maintenues
+     * @see #setAttackMapEnabled(boolean)
+     */
+    public AttackMap getAttackMap() {
+        return bitBoard.getAttackMap();
+    }
+
+    /**
+     * Indique si les blancs peuvent encore roquer côté roi.
+     *
+     * @return {@code true} si le petit roque blanc est possible
+     */
+    public boolean isWhiteCanCastleKingSide() {
+        return whiteCanCastleKingSide;
+    }
+
+    /**
+     * Indique si les blancs peuvent encore roquer côté dame.
+     *
+     * @return {@code true} si le grand roque blanc est possible
+     */
+    public boolean isWhiteCanCastleQueenSide() {
+        return whiteCanCastleQueenSide;
+    }
+
+    /**
+     * Indique si les noirs peuvent encore roquer côté roi.
+     *
+     * @return {@code true} si le petit roque noir est possible
+     */
+    public boolean isBlackCanCastleKingSide() {
+        return blackCanCastleKingSide;
+    }
+
+    /**
+     * Indique si les noirs peuvent encore roquer côté dame.
+     *
+     * @return {@code true} si le grand roque noir est possible
+     */
+    public boolean isBlackCanCastleQueenSide() {
+        return blackCanCastleQueenSide;
+    }
+
+    /**
+     * Définit la couleur du joueur ayant le trait.
+     *
+     * @param turnColor la couleur du joueur qui doit jouer
+     */
+    public void setTurnColor(Color turnColor) {
+        this.turnColor = turnColor;
         clearExportPosition();
+    }
 
+    /**
+     * Retourne la représentation par bitboards de la position.
+     *
+     * <p>L'objet retourné est maintenu à jour par l'échiquier à chaque coup :
+     * ses méthodes de modification ne sont pas accessibles hors du paquetage.
+     *
+     * @return les bitboards de la position courante
+     */
+    public BitBoard getBitBoard() {
+        return bitBoard;
     }
 
-    void setNextTurnColor(final String color) throws InvalidPieceColorException {
+    /**
+     * Retourne la clé de Zobrist de la position : pièces, trait, droits de roque
+     * et colonne de prise en passant.
+     *
+     * <p>La part « pièces » est maintenue à chaque pose, retrait ou déplacement de pièce
+     * (voir {@link BitBoard#getKey()}) ; le reste est combiné en temps constant.
+     *
+     * @return la clé 64 bits de la position
+     */
+    public long getPositionKey() {
+        return bitBoard.getKey() ^ Zobrist.stateKey(bitBoard, turnColor, getCastleRights(), enPassantCell);
+    }
 
-        if (color.equals("w")) {
-            this.turnColor = Color.WHITE;
-        } else if (color.equals("b")) {
-            this.turnColor = Color.BLACK;
-        } else {
-            throw new InvalidPieceColorException("Couleur de trait invalide (%s).", color);
+    /**
+     * Retourne la couleur du joueur ayant le trait.
+     *
+     * @return la couleur du joueur qui doit jouer
+     */
+    public Color getTurnColor() {
+        return turnColor;
+    }
+
+    /**
+     * Retourne le numéro du demi-coup actuel.
+     *
+     * @return le numéro de demi-coup (ply)
+     */
+    public int getPlyNo() {
+        return plyNo;
+    }
+
+    /**
+     * Retourne le numéro du coup actuel.
+     *
+     * @return le numéro de coup (incrémenté après chaque coup noir)
+     */
+    protected int getCurrentMove() {
+        return currentMove;
+    }
+
+    /**
+     * Retourne la case de prise en passant actuelle.
+     *
+     * @return la case de prise en passant, ou {@code null} si aucune prise en passant n'est possible
+     */
+    public BoardCell getEnPassantCell() {
+        return enPassantCell;
+    }
+
+    private void setEnPassantCell(BoardCell enPassantCell) {
+        this.enPassantCell = enPassantCell;
+        generation++;
+        clearExportPosition();
+    }
+
+    private Pawn getEnPassantPawn() {
+        return enPassantPawn;
+    }
+
+    private void setEnPassantPawn(Pawn enPassantPawn) {
+
+        this.enPassantPawn = enPassantPawn;
+        clearExportPosition();
+
+    }
+
+    /**
+     * Indique si la partie utilise les règles du Chess960 (Fischer Random Chess).
+     *
+     * @return {@code true} si la partie est en mode Chess960
+     */
+    public boolean isChess960() {
+        return chess960;
+    }
+
+    /**
+     * Définit la case de prise en passant à partir de sa notation algébrique.
+     *
+     * @param enPassant la notation algébrique de la case (ex: "e3")
+     * @throws InvalidCellException si la notation est invalide ou si la case n'est pas valide pour la prise en passant
+     */
+    public void setEnPassantCell(final String enPassant) throws InvalidCellException {
+
+        enPassantCell = null;
+        enPassantPawn = null;
+
+        if (enPassant == null || enPassant.length() < 2) {
+            throw new InvalidCellException("Case %s inconnue", enPassant);
+        }
+
+        setEnPassantIdx(Board.getCell(enPassant).getIdx());
+    }
+
+    /**
+     * Définit la case de prise en passant à partir de son indice.
+     *
+     * @param cellIdx l'indice de la case (0-63), sur la troisième ou la sixième rangée
+     * @throws InvalidCellException si aucun pion ne peut être pris en passant sur cette case
+     */
+    void setEnPassantIdx(int cellIdx) throws InvalidCellException {
+
+        enPassantCell = null;
+        enPassantPawn = null;
+
+        int line = cellIdx >>> 3;
+        int col = cellIdx & 7;
+        if (line == 5) {
+            line = 4;
+        }
+        if (line == 2) {
+            line = 3;
         }
+
+        BoardCell cell = BoardCell.fromIdx(cellIdx);
+        int pawnIdx = line * 8 + col;
+        int code = bitBoard.getPieceCode(pawnIdx);
+        if (pawnIdx == cellIdx || code == BitBoard.EMPTY || BitBoard.typeOf(code) != BitBoard.PAWN) {
+            throw new InvalidCellException("La case %s n'est pas valide pour la prise en passant.", cell.getAlgebricPos());
+        }
+        enPassantPawn = flyweight ? null : (Pawn) boardMap[pawnIdx];
+        setEnPassantCell(cell);
+    }
+
+    /**
+     * Définit les droits de roque lus dans une position.
+     *
+     * @param castleRights les droits de roque (K=1, Q=2, k=4, q=8)
+     * @param chess960 {@code true} si les droits sont exprimés par colonnes de tours (Chess960) :
+     *                 ils ne sont alors pas modifiés
+     */
+    void setCastleInfo(int castleRights, boolean chess960) {
+
+        this.chess960 = chess960;
+        if (!chess960) {
+            setCastleRights(castleRights);
+        }
+        generation++;
         clearExportPosition();
 
     }
 
     private void resetExportPostions() {
+        generation++;
         fen = null;
         llp = null;
         html = null;
         pos = null;
-        state = null;
     }
 
     /**
@@ -837,6 +1701,10 @@ public class GameBoard {
      *   <li>La case de prise en passant ou -</li>
      * </ul>
      *
+     * <p>Les objets pièces de la position précédente sont rendus à la réserve de l'échiquier
+     * et réutilisés pour la nouvelle position : les références obtenues auparavant ne
+     * désignent plus leur ancienne case (voir {@link #getPiece(BoardCell)}).
+     *
      * @param position la chaîne FEN représentant la position
      * @throws InvalidPositionException si la chaîne FEN est invalide
      */
@@ -847,6 +1715,40 @@ public class GameBoard {
 
     }
 
+    /**
+     * Importe une position FEN lue dans une portion de séquence de caractères, sans
+     * découpage en chaînes ni objet intermédiaire.
+     *
+     * @param position la séquence contenant la position
+     * @param start l'indice du premier caractère de la position
+     * @param end l'indice suivant le dernier caractère de la position
+     * @throws InvalidPositionException si la position FEN est invalide
+     * @see #importFEN(String)
+     */
+    public void importFEN(final CharSequence position, int start, int end) throws InvalidPositionException {
+
+        clearCells();
+        PositionExporter.importFEN(this, position, null, start, end);
+
+    }
+
+    /**
+     * Importe une position FEN lue dans une portion de tableau de caractères, sans
+     * découpage en chaînes ni objet intermédiaire.
+     *
+     * @param position le tableau contenant la position
+     * @param start l'indice du premier caractère de la position
+     * @param end l'indice suivant le dernier caractère de la position
+     * @throws InvalidPositionException si la position FEN est invalide
+     * @see #importFEN(String)
+     */
+    public void importFEN(final char[] position, int start, int end) throws InvalidPositionException {
+
+        clearCells();
+        PositionExporter.importFEN(this, null, position, start, end);
+
+    }
+
     /**
      * Exporte la position actuelle au format FEN (Forsyth-Edwards Notation).
      *
@@ -862,11 +1764,40 @@ public class GameBoard {
 
     }
 
+    /**
+     * Écrit la position actuelle au format FEN dans un {@link Appendable}, sans objet
+     * intermédiaire.
+     *
+     * @param out la destination
+     * @throws IOException si l'écriture échoue
+     * @see #exportFEN()
+     */
+    public void exportFEN(Appendable out) throws IOException {
+
+        PositionExporter.exportFEN(this, out);
+
+    }
+
+    /**
+     * Écrit la position actuelle au format FEN dans un tableau de caractères.
+     *
+     * @param dest le tableau à remplir (au plus {@value #MAX_FEN_LENGTH} caractères sont écrits)
+     * @param offset l'indice du premier caractère à écrire
+     * @return l'indice suivant le dernier caractère écrit
+     * @see #exportFEN()
+     */
+    public int exportFEN(char[] dest, int offset) {
+
+        return PositionExporter.exportFEN(this, dest, offset);
+
+    }
+
     /**
      * Importe une position à partir d'une chaîne au format LLP (Low Length Position).
      *
      * <p>Le format LLP est un format compressé propriétaire permettant de stocker
      * une position sur une chaîne plus courte que le format FEN.
+     * Comme pour {@link #importFEN(String)}, les références aux pièces précédentes ne sont plus valables.
      *
      * @param position la chaîne LLP représentant la position
      * @throws InvalidPositionException si la chaîne LLP est invalide
@@ -889,7 +1820,7 @@ public class GameBoard {
         if (llp != null) {
             return llp;
         }
-        llp = PositionExporter.exportLLP(this);
+        llp = PositionExporter.exportLLP(this, llpSlots, bitBoard.takeChangedCodes());
         return llp;
 
     }
@@ -911,19 +1842,74 @@ public class GameBoard {
         pos.setPosition(exportLLP());
         pos.setTurnColor(this.getTurnColor());
 
-        if (state == null) {
-            state = new BoardState();
-            state.setEpCell(this.enPassantCell == null ? null : enPassantCell.getAlgebricPos());
-            state.setWhiteCanCastleKingSide(this.whiteCanCastleKingSide);
-            state.setWhiteCanCastleQueenSide(this.whiteCanCastleQueenSide);
-            state.setBlackCanCastleKingSide(this.blackCanCastleKingSide);
-            state.setBlackCanCastleQueenSide(this.blackCanCastleQueenSide);
-        }
-        pos.setBoardState(state);
+        pos.setBoardState(BoardState.of(getCastleRights(), enPassantCell == null ? -1 : enPassantCell.getIdx()));
         return pos;
 
     }
 
+    /**
+     * Exporte la position actuelle sous forme d'objet {@link CompactPosition}, adossé au
+     * format binaire.
+     *
+     * @return une nouvelle position compacte
+     * @see #exportBinary()
+     */
+    public CompactPosition exportCompactPosition() {
+
+        byte[] data = new byte[BINARY_POSITION_SIZE];
+        PositionExporter.exportBinary(this, data, 0);
+        return new CompactPosition(data, 0);
+
+    }
+
+    /**
+     * Exporte la position actuelle au format binaire de taille fixe
+     * ({@value #BINARY_POSITION_SIZE} octets) : occupation, codes des pièces sur 4 bits,
+     * droits de roque, trait et case de prise en passant.
+     *
+     * @return un nouveau tableau de {@value #BINARY_POSITION_SIZE} octets
+     * @throws IllegalStateException si l'échiquier compte plus de 32 pièces
+     * @see PositionExporter
+     */
+    public byte[] exportBinary() {
+
+        byte[] data = new byte[BINARY_POSITION_SIZE];
+        PositionExporter.exportBinary(this, data, 0);
+        return data;
+
+    }
+
+    /**
+     * Exporte la position actuelle au format binaire dans un tableau existant.
+     *
+     * @param dest le tableau à remplir
+     * @param offset l'indice du premier octet à écrire ({@value #BINARY_POSITION_SIZE} octets sont écrits)
+     * @throws IllegalStateException si l'échiquier compte plus de 32 pièces
+     */
+    public void exportBinary(byte[] dest, int offset) {
+
+        PositionExporter.exportBinary(this, dest, offset);
+
+    }
+
+    /**
+     * Importe une position au format binaire.
+     *
+     * <p>Les compteurs de coups ne font pas partie du format : ils sont remis à zéro.
+     * Comme pour {@link #importFEN(String)}, les références aux pièces précédentes ne sont plus valables.
+     *
+     * @param src le tableau contenant la position
+     * @param offset l'indice du premier octet de la position
+     * @throws InvalidPositionException si les octets ne décrivent pas une position valide
+     * @see #exportBinary()
+     */
+    public void importBinary(final byte[] src, int offset) throws InvalidPositionException {
+
+        clearCells();
+        PositionExporter.importBinary(this, src, offset);
+
+    }
+
     /**
      * Exporte la position actuelle au format HTML sous forme de tableau.
      *
@@ -962,15 +1948,15 @@ public class GameBoard {
             throw new InvalidMoveException(e, "uci %1$s have invalid cells", uci);
         }
 
-        Piece pieceToMove = getPiece(orgCell);
+        PieceKind pieceToMove = getPieceKind(orgCell);
         if (pieceToMove == null) {
             throw new InvalidMoveException("uci %1$s invalid, no piece at %2$s", uci, orgCell.name());
         }
-        Piece destPiece = getPiece(destCell);
+        PieceKind destPiece = getPieceKind(destCell);
 
         Ply ply = new Ply();
 
-        if (pieceToMove instanceof King && orgCell.getCol() == 'e') {
+        if (pieceToMove.getType() == BitBoard.KING && orgCell.getCol() == 'e') {
             char destCol = destCell.getCol();
             if (destCol == 'g' || destCol == 'h') {
                 ply.setKingCastle(true);
@@ -1002,30 +1988,144 @@ public class GameBoard {
         move(ply);
     }
 
-    private Collection<BoardCell> listCellsBetween(BoardCell sourceCell, BoardCell destCell) {
-        Collection<BoardCell> result = new ArrayList<>();
-        int dCol = (destCell.getColIdx() - sourceCell.getColIdx());        
-        if (dCol != 0) {
-            dCol = dCol/Math.abs(dCol);
-        }
-        int dLine = (destCell.getLineIdx() - sourceCell.getLineIdx());
-        if (dLine != 0) {
-            dLine = dLine/Math.abs(dLine);
-        }
-        int i=1;
-        boolean end;
-        int col;
-        int line;
-        do {
-            col = sourceCell.getCol() + i*dCol;
-            line = sourceCell.getLine() + i*dLine;   
-            end = (col == destCell.getColIdx() && line == destCell.getLineIdx());            
-            if (!end) {
-                Board.getCell(col, line).ifPresent(result::add);                
+    /**
+     * Applique un coup au format UCI s'il est légal, sans lever d'exception.
+     *
+     * <p>Les cases sont lues directement dans la séquence de caractères et le coup est
+     * joué d'origine en destination, sans passer par un {@link Ply}. En cas de refus,
+     * l'échiquier n'est pas modifié.
+     *
+     * <p>Le coup n'est pas annulable : la pile d'annulation est vidée une fois le coup joué.
+     *
+     * @param uci le coup au format UCI (4 ou 5 caractères)
+     * @return {@link MoveStatus#OK} si le coup a été joué, la raison du refus sinon
+     * @see #applyUci(String)
+     */
+    public MoveStatus tryApplyUci(CharSequence uci) {
+
+        int move = Move.fromUci(this, uci);
+        if (move == Move.NONE) {
+            return MoveStatus.INVALID;
+        }
+        return tryMove(move);
+
+    }
+
+    /**
+     * Applique une suite de coups UCI séparés par des espaces (ex: "e2e4 e7e5 g1f3").
+     *
+     * <p>Les coups sont lus en place dans la séquence, sans sous-chaîne ni {@link Ply}, et
+     * joués directement d'origine en destination après vérification de leur légalité.
+     * L'application s'arrête au premier coup invalide ou illégal, qui n'est pas joué.
+     *
+     * <p>Les coups ne sont pas annulables : la pile d'annulation reste vide, quelle que soit
+     * la longueur de la suite.
+     *
+     * @param moves la suite de coups
+     * @return le nombre de coups joués
+     * @see #tryApplyUci(CharSequence)
+     */
+    public int applyUciSequence(CharSequence moves) {
+
+        int length = moves.length();
+        int applied = 0;
+        int i = 0;
+        while (true) {
+            while (i < length && Character.isWhitespace(moves.charAt(i))) {
+                i++;
+            }
+            int start = i;
+            while (i < length && !Character.isWhitespace(moves.charAt(i))) {
+                i++;
             }
-        } while(!end);
-        return result;
+            int size = i - start;
+            if (size < 4 || size > 5) {
+                return applied;
+            }
+            int move = Move.fromUci(this, moves, start, size == 5 ? moves.charAt(start + 4) : ' ');
+            if (move == Move.NONE || tryMove(move) != MoveStatus.OK) {
+                return applied;
+            }
+            applied++;
+        }
+
     }
 
-}
+    /**
+     * Applique une suite de coups encodés ({@link Move}).
+     *
+     * <p>Seules les cases et la pièce de promotion de chaque coup sont prises en compte :
+     * ses drapeaux sont recalculés d'après la position. L'application s'arrête au premier
+     * coup illégal, qui n'est pas joué. Comme pour {@link #applyUciSequence(CharSequence)},
+     * les coups ne sont pas annulables.
+     *
+     * @param moves le tableau de coups
+     * @param offset l'indice du premier coup
+     * @param count le nombre de coups à appliquer
+     * @return le nombre de coups joués
+     * @see #applyUciSequence(CharSequence)
+     */
+    public int applyMoveSequence(int[] moves, int offset, int count) {
+
+        for (int i = 0; i < count; i++) {
+            int move = Move.complete(this, moves[offset + i]);
+            if (move == Move.NONE || tryMove(move) != MoveStatus.OK) {
+                return i;
+            }
+        }
+        return count;
+
+    }
+
+    /**
+     * Joue un coup encodé après vérification de sa légalité, en avant seulement : l'entrée
+     * d'annulation n'est conservée que le temps de la vérification, et la pile d'annulation
+     * est vidée une fois le coup joué. Un rejeu de parties ne fait donc croître ni la pile
+     * ni les références aux pièces capturées.
+     */
+    private MoveStatus tryMove(int move) {
+
+        int from = Move.getFrom(move);
+        int to = Move.getTo(move);
+        int code = bitBoard.getPieceCode(from);
+        int us = BitBoard.colorOf(code);
+        if (turnColor != null && us != BitBoard.colorIndex(turnColor)) {
+            return MoveStatus.ILLEGAL;
+        }
+        if (Move.isCastle(move)) {
+            // le roque n'est pas dans les déplacements des pièces : recherche parmi les coups légaux
+            if (!isLegalMove(us, move)) {
+                return MoveStatus.ILLEGAL;
+            }
+            makeMove(move);
+            clearUndo();
+            return MoveStatus.OK;
+        }
+
+        boolean lastLine = BitBoard.typeOf(code) == BitBoard.PAWN && (to < 8 || to >= 56);
+        if ((getMoveTargets(from) & (1L << to)) == 0 || lastLine != Move.isPromotion(move)) {
+            return MoveStatus.ILLEGAL;
+        }
+        Color initialTurn = turnColor;
+        makeMove(move);
+        if (isInCheck(us)) {
+            unmakeMove();
+            turnColor = initialTurn;
+            return MoveStatus.ILLEGAL;
+        }
+        clearUndo();
+        return MoveStatus.OK;
+
+    }
 
+    private boolean isLegalMove(int us, int move) {
+        int count = getLegalMoveCount(us);
+        for (int i = 0; i < count; i++) {
+            if (legalMoves[i] == move) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+}
@@ -0,0 +1,369 @@
+package com.fgodard.chess.board;
+
+import com.fgodard.chess.beans.Ply;
+
+/**
+ * Encodage compact d'un coup sur 16 bits, stocké dans un {@code int}.
+ *
+ * <p>Organisation des bits :
+ * <pre>
+ *   bits  0-5  : indice de la case d'origine (0-63)
+ *   bits  6-11 : indice de la case de destination (0-63)
+ *   bits 12-15 : drapeaux (type de coup)
+ * </pre>
+ *
+ * <p>Les drapeaux distinguent : coup simple, double pas de pion, petit et grand roque,
+ * prise, prise en passant et les 4 promotions (avec ou sans prise).
+ * La valeur {@link #NONE} (0) ne correspond à aucun coup réel.
+ *
+ * <p>Cette classe ne contient que des méthodes statiques : les coups sont manipulés
+ * comme des entiers pour éviter toute allocation lors de la génération.
+ *
+ * @author crios
+ * @see MoveGenerator
+ * @see MoveList
+ */
+public class Move {
+
+    /** Absence de coup */
+    public static final int NONE = 0;
+
+    /** Résultat de {@link #matchPly} lorsque plusieurs coups correspondent */
+    static final int AMBIGUOUS = -1;
+
+    /** Coup simple */
+    public static final int QUIET = 0;
+    /** Double pas de pion */
+    public static final int DOUBLE_PAWN_PUSH = 1;
+    /** Petit roque (le coup est codé par le déplacement du roi) */
+    public static final int KING_CASTLE = 2;
+    /** Grand roque (le coup est codé par le déplacement du roi) */
+    public static final int QUEEN_CASTLE = 3;
+    /** Prise */
+    public static final int CAPTURE = 4;
+    /** Prise en passant */
+    public static final int EN_PASSANT = 5;
+    /** Bit de promotion */
+    public static final int PROMOTION = 8;
+    /** Promotion en cavalier */
+    public static final int KNIGHT_PROMOTION = 8;
+    /** Promotion en fou */
+    public static final int BISHOP_PROMOTION = 9;
+    /** Promotion en tour */
+    public static final int ROOK_PROMOTION = 10;
+    /** Promotion en dame */
+    public static final int QUEEN_PROMOTION = 11;
+
+    private static final String PROMOTION_SYMBOLS = "nbrq";
+
+    /**
+     * Private Constructor
+     */
+    private Move() {
+
+    }
+
+    /**
+     * Encode un coup.
+     *
+     * @param from l'indice de la case d'origine (0-63)
+     * @param to l'indice de la case de destination (0-63)
+     * @param flags les drapeaux du coup ({@link #QUIET}, {@link #CAPTURE}, ...)
+     * @return le coup encodé
+     */
+    public static int encode(int from, int to, int flags) {
+        return from | (to << 6) | (flags << 12);
+    }
+
+    /**
+     * Retourne l'indice de la case d'origine.
+     *
+     * @param move le coup encodé
+     * @return l'indice de la case d'origine (0-63)
+     */
+    public static int getFrom(int move) {
+        return move & 0x3F;
+    }
+
+    /**
+     * Retourne l'indice de la case de destination.
+     *
+     * @param move le coup encodé
+     * @return l'indice de la case de destination (0-63)
+     */
+    public static int getTo(int move) {
+        return (move >>> 6) & 0x3F;
+    }
+
+    /**
+     * Retourne les drapeaux du coup.
+     *
+     * @param move le coup encodé
+     * @return les drapeaux (0-15)
+     */
+    public static int getFlags(int move) {
+        return (move >>> 12) & 0xF;
+    }
+
+    /**
+     * Indique si le coup est une prise (y compris en passant et promotion avec prise).
+     *
+     * @param move le coup encodé
+     * @return {@code true} si une pièce est capturée
+     */
+    public static boolean isCapture(int move) {
+        return (getFlags(move) & CAPTURE) != 0;
+    }
+
+    /**
+     * Indique si le coup est une promotion.
+     *
+     * @param move le coup encodé
+     * @return {@code true} si le coup est une promotion
+     */
+    public static boolean isPromotion(int move) {
+        return (getFlags(move) & PROMOTION) != 0;
+    }
+
+    /**
+     * Indique si le coup est une prise en passant.
+     *
+     * @param move le coup encodé
+     * @return {@code true} si prise en passant
+     */
+    public static boolean isEnPassant(int move) {
+        return getFlags(move) == EN_PASSANT;
+    }
+
+    /**
+     * Indique si le coup est un roque.
+     *
+     * @param move le coup encodé
+     * @return {@code true} si petit ou grand roque
+     */
+    public static boolean isCastle(int move) {
+        int flags = getFlags(move);
+        return flags == KING_CASTLE || flags == QUEEN_CASTLE;
+    }
+
+    /**
+     * Retourne le type de la pièce de promotion.
+     *
+     * @param move le coup encodé
+     * @return le type {@link BitBoard} de la pièce promue, ou {@link BitBoard#EMPTY} si pas de promotion
+     */
+    public static int getPromotionType(int move) {
+        if (!isPromotion(move)) {
+            return BitBoard.EMPTY;
+        }
+        return BitBoard.KNIGHT + (getFlags(move) & 3);
+    }
+
+    /**
+     * Retourne le coup au format UCI (ex: "e2e4", "e7e8q").
+     *
+     * @param move le coup encodé
+     * @return la notation UCI du coup
+     */
+    public static String toUci(int move) {
+        int from = getFrom(move);
+        int to = getTo(move);
+        char[] uci = new char[isPromotion(move) ? 5 : 4];
+        uci[0] = (char) ('a' + (from & 7));
+        uci[1] = (char) ('1' + (from >>> 3));
+        uci[2] = (char) ('a' + (to & 7));
+        uci[3] = (char) ('1' + (to >>> 3));
+        if (uci.length == 5) {
+            uci[4] = PROMOTION_SYMBOLS.charAt(getFlags(move) & 3);
+        }
+        return String.valueOf(uci);
+    }
+
+    /**
+     * Convertit un coup UCI en coup encodé, en complétant ses drapeaux d'après la position.
+     *
+     * <p>Le roque est reconnu sous la forme standard (e1g1) comme sous la forme
+     * roi prend tour (e1h1), comme le fait {@link GameBoard#applyUci(String)}.
+     * Aucune vérification de légalité n'est effectuée.
+     *
+     * <p>La chaîne doit compter 4 caractères, ou 5 pour une promotion : un cinquième caractère
+     * n'est accepté que s'il désigne une pièce de promotion et que le coup amène un pion sur
+     * la dernière rangée.
+     *
+     * @param board l'échiquier dans la position avant le coup
+     * @param uci le coup au format UCI
+     * @return le coup encodé, ou {@link #NONE} si la chaîne est invalide ou si la case d'origine est vide
+     */
+    public static int fromUci(GameBoard board, CharSequence uci) {
+        if (uci == null || uci.length() < 4 || uci.length() > 5) {
+            return NONE;
+        }
+        return fromUci(board, uci, 0, uci.length() > 4 ? uci.charAt(4) : ' ');
+    }
+
+    /**
+     * Convertit un coup UCI lu dans une séquence de caractères.
+     *
+     * @param board l'échiquier dans la position avant le coup
+     * @param chars la séquence contenant le coup
+     * @param start l'indice du premier caractère du coup
+     * @param promotion le caractère de promotion, ou un espace s'il n'y en a pas
+     * @return le coup encodé, ou {@link #NONE} si invalide (y compris une promotion injustifiée)
+     */
+    static int fromUci(GameBoard board, CharSequence chars, int start, char promotion) {
+        int from = toIdx(chars.charAt(start), chars.charAt(start + 1));
+        int to = toIdx(chars.charAt(start + 2), chars.charAt(start + 3));
+        if (from < 0 || to < 0) {
+            return NONE;
+        }
+        return fromCells(board, from, to, promotion);
+    }
+
+    /**
+     * Reconstruit un coup encodé d'après la position : seuls ses cases et sa pièce de
+     * promotion sont conservés, ses drapeaux sont recalculés.
+     *
+     * @param board l'échiquier dans la position avant le coup
+     * @param move le coup encodé
+     * @return le coup encodé avec les drapeaux de la position, ou {@link #NONE} si la case d'origine est vide
+     */
+    static int complete(GameBoard board, int move) {
+        char promotion = isPromotion(move) ? PROMOTION_SYMBOLS.charAt(getFlags(move) & 3) : ' ';
+        return fromCells(board, getFrom(move), getTo(move), promotion);
+    }
+
+    private static int fromCells(GameBoard board, int from, int to, char promotion) {
+        BitBoard bb = board.getBitBoard();
+        int code = bb.getPieceCode(from);
+        if (code == BitBoard.EMPTY) {
+            return NONE;
+        }
+        int type = BitBoard.typeOf(code);
+        int color = BitBoard.colorOf(code);
+        int captured = bb.getPieceCode(to);
+        boolean capture = captured != BitBoard.EMPTY && BitBoard.colorOf(captured) != color;
+
+        if (promotion != ' ') {
+            int promotionIdx = PROMOTION_SYMBOLS.indexOf(Character.toLowerCase(promotion));
+            if (promotionIdx < 0 || type != BitBoard.PAWN || (to >= 8 && to < 56)) {
+                return NONE;
+            }
+            return encode(from, to, PROMOTION | promotionIdx | (capture ? CAPTURE : 0));
+        }
+
+        if (type == BitBoard.KING && (from == BoardCell.E1.getIdx() || from == BoardCell.E8.getIdx()) && (to >>> 3) == (from >>> 3)) {
+            int col = to & 7;
+            if (col == 6 || col == 7) {
+                return encode(from, from + 2, KING_CASTLE);
+            }
+            if (col == 2 || col == 0) {
+                return encode(from, from - 2, QUEEN_CASTLE);
+            }
+        }
+
+        if (type == BitBoard.PAWN) {
+            BoardCell epCell = board.getEnPassantCell();
+            if (epCell != null && epCell.getIdx() == to && (from & 7) != (to & 7)) {
+                return encode(from, to, EN_PASSANT);
+            }
+            if (to - from == 16 || from - to == 16) {
+                return encode(from, to, DOUBLE_PAWN_PUSH);
+            }
+        }
+        return encode(from, to, capture ? CAPTURE : QUIET);
+    }
+
+    private static int toIdx(char col, char line) {
+        if (col < 'a' || col > 'h' || line < '1' || line > '8') {
+            return -1;
+        }
+        return (col - 'a') + (line - '1') * 8;
+    }
+
+    /**
+     * Construit le demi-coup ({@link Ply}) correspondant à un coup encodé.
+     *
+     * @param board l'échiquier dans la position avant le coup
+     * @param move le coup encodé
+     * @return le demi-coup avec pièce, cases, couleur et indicateurs de prise, roque et promotion
+     */
+    public static Ply toPly(GameBoard board, int move) {
+        int code = board.getBitBoard().getPieceCode(getFrom(move));
+        Ply ply = new Ply();
+        if (code != BitBoard.EMPTY) {
+            ply.setColor(BitBoard.toColor(BitBoard.colorOf(code)));
+            ply.setPiece(BitBoard.symbolOf(BitBoard.typeOf(code)));
+        }
+        int flags = getFlags(move);
+        if (flags == KING_CASTLE) {
+            ply.setKingCastle(true);
+        } else if (flags == QUEEN_CASTLE) {
+            ply.setQueenCastle(true);
+        }
+        ply.setOrigCell(BoardCell.fromIdx(getFrom(move)).getAlgebricPos());
+        ply.setDestCell(BoardCell.fromIdx(getTo(move)).getAlgebricPos());
+        ply.setTake(isCapture(move));
+        ply.setEnPassant(flags == EN_PASSANT);
+        if (isPromotion(move)) {
+            ply.setPromotion(BitBoard.symbolOf(getPromotionType(move)));
+        }
+        return ply;
+    }
+
+    /**
+     * Retrouve le coup encodé correspondant à un demi-coup dans une position.
+     *
+     * <p>La case d'origine du demi-coup peut être complète ("e2"), partielle ("e", "2")
+     * ou absente : le coup est recherché parmi les coups légaux de la position, une pièce
+     * clouée ne rend donc pas le demi-coup ambigu.
+     *
+     * @param board l'échiquier dans la position avant le coup
+     * @param ply le demi-coup
+     * @return le coup encodé, ou {@link #NONE} si aucun coup (ou plusieurs) ne correspond
+     */
+    public static int fromPly(GameBoard board, Ply ply) {
+        int[] moves = new int[MoveList.MAX_MOVES];
+        int count = MoveGenerator.generateLegalMoves(board, moves, 0);
+        int move = matchPly(board.getBitBoard(), ply, moves, count);
+        return move == AMBIGUOUS ? NONE : move;
+    }
+
+    /**
+     * Recherche parmi des coups légaux celui qui correspond à un demi-coup.
+     *
+     * @param bb l'échiquier dans la position avant le coup
+     * @param ply le demi-coup
+     * @param moves les coups légaux de la position
+     * @param count le nombre de coups
+     * @return le coup encodé, {@link #NONE} si aucun coup ne correspond, {@link #AMBIGUOUS} s'il y en a plusieurs
+     */
+    static int matchPly(BitBoard bb, Ply ply, int[] moves, int count) {
+        String orig = ply.getOrigCell();
+        int result = NONE;
+        for (int i = 0; i < count; i++) {
+            int move = moves[i];
+            int flags = getFlags(move);
+            boolean match;
+            if (ply.isKingCastle() || ply.isQueenCastle()) {
+                match = flags == (ply.isKingCastle() ? KING_CASTLE : QUEEN_CASTLE);
+            } else {
+                BoardCell from = BoardCell.fromIdx(getFrom(move));
+                char promotion = ply.getPromotion() == null ? 0 : Character.toUpperCase(ply.getPromotion());
+                match = !isCastle(move)
+                        && BitBoard.symbolOf(BitBoard.typeOf(bb.getPieceCode(getFrom(move)))) == ply.getPiece()
+                        && BoardCell.fromIdx(getTo(move)).getAlgebricPos().equals(ply.getDestCell())
+                        && (promotion == 0 ? !isPromotion(move) : isPromotion(move) && BitBoard.symbolOf(getPromotionType(move)) == promotion)
+                        && (orig == null || orig.isEmpty() || from.getAlgebricPos().equals(orig)
+                            || (orig.length() == 1 && (orig.charAt(0) == from.getCol() || orig.charAt(0) == (char) ('0' + from.getLine()))));
+            }
+            if (match) {
+                if (result != NONE) {
+                    return AMBIGUOUS;
+                }
+                result = move;
+            }
+        }
+        return result;
+    }
+
+}
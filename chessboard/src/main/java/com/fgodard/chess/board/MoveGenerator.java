@@ -0,0 +1,402 @@
+package com.fgodard.chess.board;
+
+/**
+ * Génération des coups sous forme d'entiers encodés ({@link Move}).
+ *
+ * <p>Les coups sont écrits dans un tableau fourni par l'appelant : aucune allocation
+ * n'est effectuée pendant la génération. La génération s'appuie sur le {@link BitBoard}
+ * de l'échiquier et sur les tables d'attaque de {@link Attacks}.
+ *
+ * <p>Deux générations sont proposées :
+ * <ul>
+ *   <li>{@link #generatePseudoLegalMoves(GameBoard, int[], int)} : les coups respectent le
+ *   déplacement des pièces mais peuvent laisser le roi en échec</li>
+ *   <li>{@link #generateLegalMoves(GameBoard, int[], int)} : seuls les coups légaux sont produits,
+ *   en calculant une fois par position les pièces clouées et le masque de parade de l'échec</li>
+ * </ul>
+ * Les roques ne sont générés que si le roi n'est pas en échec et ne traverse pas de case
+ * attaquée (positions classiques uniquement).
+ *
+ * @author crios
+ * @see Move
+ * @see MoveList
+ */
+public class MoveGenerator {
+
+    private static final long RANK_1 = 0x00000000000000FFL;
+    private static final long RANK_3 = 0x0000000000FF0000L;
+    private static final long RANK_6 = 0x0000FF0000000000L;
+    private static final long RANK_8 = 0xFF00000000000000L;
+
+    private static final long WHITE_KING_SIDE_EMPTY = (1L << BoardCell.F1.getIdx()) | (1L << BoardCell.G1.getIdx());
+    private static final long WHITE_QUEEN_SIDE_EMPTY = (1L << BoardCell.B1.getIdx()) | (1L << BoardCell.C1.getIdx()) | (1L << BoardCell.D1.getIdx());
+    private static final long BLACK_KING_SIDE_EMPTY = WHITE_KING_SIDE_EMPTY << 56;
+    private static final long BLACK_QUEEN_SIDE_EMPTY = WHITE_QUEEN_SIDE_EMPTY << 56;
+
+    /**
+     * Private Constructor
+     */
+    private MoveGenerator() {
+
+    }
+
+    /**
+     * Génère les coups pseudo-légaux du joueur au trait dans une liste réutilisable.
+     *
+     * @param board l'échiquier
+     * @param moveList la liste à remplir (vidée au préalable)
+     * @return le nombre de coups générés
+     */
+    public static int generatePseudoLegalMoves(GameBoard board, MoveList moveList) {
+        int count = generatePseudoLegalMoves(board, moveList.getMoves(), 0);
+        moveList.setSize(count);
+        return count;
+    }
+
+    /**
+     * Génère les coups pseudo-légaux du joueur au trait dans un tableau fourni par l'appelant.
+     *
+     * @param board l'échiquier
+     * @param moves le tableau à remplir (au moins {@link MoveList#MAX_MOVES} places libres après {@code offset})
+     * @param offset l'indice du premier coup à écrire
+     * @return l'indice suivant le dernier coup écrit
+     */
+    public static int generatePseudoLegalMoves(GameBoard board, int[] moves, int offset) {
+        Color turnColor = board.getTurnColor();
+        if (turnColor == null) {
+            return offset;
+        }
+        BitBoard bb = board.getBitBoard();
+        int us = BitBoard.colorIndex(turnColor);
+        long targets = ~bb.getColorOccupancy(us);
+        int count = generatePawnMoves(board, us, bb.getPieces(us, BitBoard.PAWN), targets, moves, offset);
+        count = generatePieceMoves(bb, us, targets, moves, count);
+        count = generateKingMoves(bb, us, targets, moves, count);
+        return generateCastles(board, us, moves, count);
+    }
+
+    /**
+     * Génère les coups légaux du joueur au trait dans une liste réutilisable.
+     *
+     * @param board l'échiquier
+     * @param moveList la liste à remplir (vidée au préalable)
+     * @return le nombre de coups légaux ; 0 signifie mat ou pat
+     */
+    public static int generateLegalMoves(GameBoard board, MoveList moveList) {
+        int count = generateLegalMoves(board, moveList.getMoves(), 0);
+        moveList.setSize(count);
+        return count;
+    }
+
+    /**
+     * Génère les coups légaux du joueur au trait dans un tableau fourni par l'appelant.
+     *
+     * @param board l'échiquier
+     * @param moves le tableau à remplir (au moins {@link MoveList#MAX_MOVES} places libres après {@code offset})
+     * @param offset l'indice du premier coup à écrire
+     * @return l'indice suivant le dernier coup écrit
+     */
+    public static int generateLegalMoves(GameBoard board, int[] moves, int offset) {
+        Color turnColor = board.getTurnColor();
+        if (turnColor == null) {
+            return offset;
+        }
+        return generateLegalMoves(board, BitBoard.colorIndex(turnColor), moves, offset);
+    }
+
+    /**
+     * Génère les coups légaux d'un camp.
+     *
+     * <p>Le roi ne peut aller que sur une case non attaquée (calculée sans le roi dans
+     * l'occupation). En cas d'échec double seul le roi peut jouer ; en cas d'échec simple
+     * les autres pièces doivent prendre la pièce attaquante ou s'interposer. Une pièce clouée
+     * reste sur la ligne qui la relie à son roi. La prise en passant, qui retire deux pièces
+     * d'une même rangée, est vérifiée à part.
+     *
+     * @param board l'échiquier
+     * @param us l'indice de couleur du camp
+     * @param moves le tableau à remplir
+     * @param count l'indice du prochain coup à écrire
+     * @return l'indice suivant le dernier coup écrit
+     */
+    static int generateLegalMoves(GameBoard board, int us, int[] moves, int count) {
+        BitBoard bb = board.getBitBoard();
+        int them = us ^ 1;
+        long own = bb.getColorOccupancy(us);
+        long enemy = bb.getColorOccupancy(them);
+        long occupancy = bb.getOccupancy();
+        int kingIdx = bb.getKingIdx(us);
+        if (kingIdx == 64) {
+            count = generatePawnMoves(board, us, bb.getPieces(us, BitBoard.PAWN), ~own, moves, count);
+            return generatePieceMoves(bb, us, ~own, moves, count);
+        }
+
+        long kingTargets = Attacks.kingAttacks(kingIdx) & ~own;
+        long withoutKing = occupancy & ~(1L << kingIdx);
+        while (kingTargets != 0) {
+            int to = Long.numberOfTrailingZeros(kingTargets);
+            if (!Attacks.isAttacked(bb, to, them, withoutKing)) {
+                moves[count++] = Move.encode(kingIdx, to, (enemy & (1L << to)) != 0 ? Move.CAPTURE : Move.QUIET);
+            }
+            kingTargets &= kingTargets - 1;
+        }
+
+        long checkers = Attacks.attackersTo(bb, kingIdx, them, occupancy);
+        if ((checkers & (checkers - 1)) != 0) {
+            return count;
+        }
+        long targets = ~own;
+        if (checkers != 0) {
+            targets &= checkers | BoardGeometry.getBetween(kingIdx, Long.numberOfTrailingZeros(checkers));
+        }
+        long pinned = Attacks.pinnedPieces(bb, us);
+
+        int pawnStart = count;
+        long pawns = bb.getPieces(us, BitBoard.PAWN);
+        count = generatePawnMoves(board, us, pawns & ~pinned, targets, moves, count);
+        long pinnedPawns = pawns & pinned;
+        while (pinnedPawns != 0) {
+            int from = Long.numberOfTrailingZeros(pinnedPawns);
+            count = generatePawnMoves(board, us, 1L << from, targets & BoardGeometry.getLine(kingIdx, from), moves, count);
+            pinnedPawns &= pinnedPawns - 1;
+        }
+        count = removeIllegalEnPassant(bb, us, kingIdx, moves, pawnStart, count);
+
+        for (int type = BitBoard.KNIGHT; type <= BitBoard.QUEEN; type++) {
+            int code = BitBoard.pieceCode(us, type);
+            long pieces = bb.getPieces(code);
+            while (pieces != 0) {
+                int from = Long.numberOfTrailingZeros(pieces);
+                long destCells = Attacks.attacks(code, from, occupancy) & targets;
+                if ((pinned & (1L << from)) != 0) {
+                    destCells &= BoardGeometry.getLine(kingIdx, from);
+                }
+                count = addMoves(from, destCells, enemy, moves, count);
+                pieces &= pieces - 1;
+            }
+        }
+
+        if (checkers == 0) {
+            count = generateCastles(board, us, moves, count);
+        }
+        return count;
+    }
+
+    /**
+     * Retire les prises en passant qui découvrent le roi : après la prise, les cases
+     * d'origine et du pion pris sont libérées, ce qui peut ouvrir une ligne vers le roi.
+     */
+    private static int removeIllegalEnPassant(BitBoard bb, int us, int kingIdx, int[] moves, int start, int count) {
+        int i = start;
+        while (i < count) {
+            int move = moves[i];
+            if (Move.isEnPassant(move)) {
+                int from = Move.getFrom(move);
+                int to = Move.getTo(move);
+                int captured = us == BitBoard.WHITE ? to - 8 : to + 8;
+                long occupancy = (bb.getOccupancy() ^ (1L << from) ^ (1L << captured)) | (1L << to);
+                if (Attacks.sliderAttackersTo(bb, kingIdx, us ^ 1, occupancy) != 0) {
+                    moves[i] = moves[--count];
+                    continue;
+                }
+            }
+            i++;
+        }
+        return count;
+    }
+
+    /**
+     * Génère les coups de pion (poussées, prises, prise en passant, promotions).
+     *
+     * @param board l'échiquier
+     * @param us l'indice de couleur du joueur
+     * @param pawns le bitboard des pions à déplacer
+     * @param targets le masque des cases de destination autorisées
+     * @param moves le tableau à remplir
+     * @param count l'indice du prochain coup à écrire
+     * @return l'indice suivant le dernier coup écrit
+     */
+    static int generatePawnMoves(GameBoard board, int us, long pawns, long targets, int[] moves, int count) {
+        BitBoard bb = board.getBitBoard();
+        long empty = ~bb.getOccupancy();
+        long enemy = bb.getColorOccupancy(us ^ 1);
+        long single;
+        long twice;
+        int forward;
+        long lastRank;
+        if (us == BitBoard.WHITE) {
+            single = (pawns << 8) & empty;
+            twice = ((single & RANK_3) << 8) & empty;
+            forward = 8;
+            lastRank = RANK_8;
+        } else {
+            single = (pawns >>> 8) & empty;
+            twice = ((single & RANK_6) >>> 8) & empty;
+            forward = -8;
+            lastRank = RANK_1;
+        }
+        single &= targets;
+        twice &= targets;
+
+        long cells = single & ~lastRank;
+        while (cells != 0) {
+            int to = Long.numberOfTrailingZeros(cells);
+            moves[count++] = Move.encode(to - forward, to, Move.QUIET);
+            cells &= cells - 1;
+        }
+        cells = single & lastRank;
+        while (cells != 0) {
+            int to = Long.numberOfTrailingZeros(cells);
+            count = addPromotions(to - forward, to, Move.QUIET, moves, count);
+            cells &= cells - 1;
+        }
+        cells = twice;
+        while (cells != 0) {
+            int to = Long.numberOfTrailingZeros(cells);
+            moves[count++] = Move.encode(to - 2 * forward, to, Move.DOUBLE_PAWN_PUSH);
+            cells &= cells - 1;
+        }
+
+        long attackers = pawns;
+        while (attackers != 0) {
+            int from = Long.numberOfTrailingZeros(attackers);
+            long captures = Attacks.pawnAttacks(us, from) & enemy & targets;
+            while (captures != 0) {
+                int to = Long.numberOfTrailingZeros(captures);
+                if (((1L << to) & lastRank) != 0) {
+                    count = addPromotions(from, to, Move.CAPTURE, moves, count);
+                } else {
+                    moves[count++] = Move.encode(from, to, Move.CAPTURE);
+                }
+                captures &= captures - 1;
+            }
+            attackers &= attackers - 1;
+        }
+
+        BoardCell epCell = board.getEnPassantCell();
+        if (epCell != null && bb.getPieceCode(epCell.getIdx()) == BitBoard.EMPTY) {
+            int to = epCell.getIdx();
+            int captured = to - forward;
+            if ((targets & ((1L << to) | (1L << captured))) != 0
+                    && bb.getPieceCode(captured) == BitBoard.pieceCode(us ^ 1, BitBoard.PAWN)) {
+                long epAttackers = Attacks.pawnAttacks(us ^ 1, to) & pawns;
+                while (epAttackers != 0) {
+                    moves[count++] = Move.encode(Long.numberOfTrailingZeros(epAttackers), to, Move.EN_PASSANT);
+                    epAttackers &= epAttackers - 1;
+                }
+            }
+        }
+        return count;
+    }
+
+    private static int addPromotions(int from, int to, int flags, int[] moves, int count) {
+        moves[count++] = Move.encode(from, to, flags | Move.QUEEN_PROMOTION);
+        moves[count++] = Move.encode(from, to, flags | Move.ROOK_PROMOTION);
+        moves[count++] = Move.encode(from, to, flags | Move.BISHOP_PROMOTION);
+        moves[count++] = Move.encode(from, to, flags | Move.KNIGHT_PROMOTION);
+        return count;
+    }
+
+    /**
+     * Génère les coups des cavaliers, fous, tours et dames.
+     *
+     * @param bb le bitboard de l'échiquier
+     * @param us l'indice de couleur du joueur
+     * @param targets le masque des cases de destination autorisées
+     * @param moves le tableau à remplir
+     * @param count l'indice du prochain coup à écrire
+     * @return l'indice suivant le dernier coup écrit
+     */
+    static int generatePieceMoves(BitBoard bb, int us, long targets, int[] moves, int count) {
+        long occupancy = bb.getOccupancy();
+        long enemy = bb.getColorOccupancy(us ^ 1);
+        for (int type = BitBoard.KNIGHT; type <= BitBoard.QUEEN; type++) {
+            int code = BitBoard.pieceCode(us, type);
+            long pieces = bb.getPieces(code);
+            while (pieces != 0) {
+                int from = Long.numberOfTrailingZeros(pieces);
+                count = addMoves(from, Attacks.attacks(code, from, occupancy) & targets, enemy, moves, count);
+                pieces &= pieces - 1;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Génère les déplacements simples du roi (hors roque).
+     *
+     * @param bb le bitboard de l'échiquier
+     * @param us l'indice de couleur du joueur
+     * @param targets le masque des cases de destination autorisées
+     * @param moves le tableau à remplir
+     * @param count l'indice du prochain coup à écrire
+     * @return l'indice suivant le dernier coup écrit
+     */
+    static int generateKingMoves(BitBoard bb, int us, long targets, int[] moves, int count) {
+        int from = bb.getKingIdx(us);
+        if (from == 64) {
+            return count;
+        }
+        return addMoves(from, Attacks.kingAttacks(from) & targets, bb.getColorOccupancy(us ^ 1), moves, count);
+    }
+
+    private static int addMoves(int from, long destCells, long enemy, int[] moves, int count) {
+        while (destCells != 0) {
+            int to = Long.numberOfTrailingZeros(destCells);
+            moves[count++] = Move.encode(from, to, (enemy & (1L << to)) != 0 ? Move.CAPTURE : Move.QUIET);
+            destCells &= destCells - 1;
+        }
+        return count;
+    }
+
+    /**
+     * Génère les roques autorisés : droit de roque conservé, roi et tour en place,
+     * cases intermédiaires vides et cases traversées par le roi non attaquées.
+     *
+     * @param board l'échiquier
+     * @param us l'indice de couleur du joueur
+     * @param moves le tableau à remplir
+     * @param count l'indice du prochain coup à écrire
+     * @return l'indice suivant le dernier coup écrit
+     */
+    static int generateCastles(GameBoard board, int us, int[] moves, int count) {
+        BitBoard bb = board.getBitBoard();
+        boolean kingSide;
+        boolean queenSide;
+        long kingSideEmpty;
+        long queenSideEmpty;
+        if (us == BitBoard.WHITE) {
+            kingSide = board.isWhiteCanCastleKingSide();
+            queenSide = board.isWhiteCanCastleQueenSide();
+            kingSideEmpty = WHITE_KING_SIDE_EMPTY;
+            queenSideEmpty = WHITE_QUEEN_SIDE_EMPTY;
+        } else {
+            kingSide = board.isBlackCanCastleKingSide();
+            queenSide = board.isBlackCanCastleQueenSide();
+            kingSideEmpty = BLACK_KING_SIDE_EMPTY;
+            queenSideEmpty = BLACK_QUEEN_SIDE_EMPTY;
+        }
+        if (!kingSide && !queenSide) {
+            return count;
+        }
+        int kingIdx = us == BitBoard.WHITE ? BoardCell.E1.getIdx() : BoardCell.E8.getIdx();
+        if (bb.getPieceCode(kingIdx) != BitBoard.pieceCode(us, BitBoard.KING)
+                || Attacks.isAttacked(bb, kingIdx, us ^ 1, bb.getOccupancy())) {
+            return count;
+        }
+        int rook = BitBoard.pieceCode(us, BitBoard.ROOK);
+        long occupancy = bb.getOccupancy();
+        if (kingSide && (occupancy & kingSideEmpty) == 0 && bb.getPieceCode(kingIdx + 3) == rook
+                && !Attacks.isAttacked(bb, kingIdx + 1, us ^ 1, occupancy)
+                && !Attacks.isAttacked(bb, kingIdx + 2, us ^ 1, occupancy)) {
+            moves[count++] = Move.encode(kingIdx, kingIdx + 2, Move.KING_CASTLE);
+        }
+        if (queenSide && (occupancy & queenSideEmpty) == 0 && bb.getPieceCode(kingIdx - 4) == rook
+                && !Attacks.isAttacked(bb, kingIdx - 1, us ^ 1, occupancy)
+                && !Attacks.isAttacked(bb, kingIdx - 2, us ^ 1, occupancy)) {
+            moves[count++] = Move.encode(kingIdx, kingIdx - 2, Move.QUEEN_CASTLE);
+        }
+        return count;
+    }
+
+}
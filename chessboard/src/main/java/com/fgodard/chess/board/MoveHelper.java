@@ -3,9 +3,7 @@ package com.fgodard.chess.board;
 import com.fgodard.chess.board.pieces.King;
 
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.Collection;
-import java.util.Optional;
 
 /**
  * Classe utilitaire pour le calcul des coups et la détection des attaques.
@@ -14,7 +12,7 @@ import java.util.Optional;
  * <ul>
  *   <li>Ajouter des cases de destination possibles pour une pièce</li>
  *   <li>Parcourir l'échiquier dans une direction donnée</li>
- *   <li>Trouver les pièces qui attaquent une case donnée</li>
+ *   <li>Trouver les pièces qui attaquent une case donnée (via les tables {@link Attacks})</li>
  *   <li>Détecter les échecs au roi</li>
  * </ul>
  *
@@ -24,30 +22,6 @@ import java.util.Optional;
  */
 public class MoveHelper {
 
-    /**
-     * Fusionne plusieurs tableaux de pièces en un seul tableau.
-     *
-     * @param piecesArray les tableaux de pièces à fusionner
-     * @return un tableau contenant toutes les pièces
-     */
-    private static Piece[] mergePiecesArrays(Piece[]... piecesArray) {
-
-        int count = 0;
-        for (Piece[] pieces : piecesArray) {
-            count += pieces.length;
-        }
-
-        Piece[] result = new Piece[count];
-        count = 0;
-        for (Piece[] pieces : piecesArray) {
-            System.arraycopy(pieces, 0, result, count, pieces.length);
-            count += pieces.length;
-        }
-
-        return result;
-    }
-
-
     /**
      * Ajoute un élement (cellule vide ou Piece adverse en prise) aux listes destCells et targetPieces
      * Selon ce qui est trouvé sur la case relative à la case d'origine.
@@ -67,18 +41,38 @@ public class MoveHelper {
                                               Collection<BoardCell> destCells,
                                               Collection<Piece> targetPieces) {
 
-        Optional<BoardCell> nextCell = Board.getCell(orgCell, colIncrement, lineIncrement);
-        if (nextCell.isPresent()) {
-            Piece piece = board.getPiece(nextCell.get());
+        int nextIdx = BoardGeometry.getRelativeIdx(orgCell.getIdx(), colIncrement, lineIncrement);
+        return addElement(board, nextIdx, playerColor, destCells, targetPieces);
+    }
+
+    /**
+     * Ajoute un élement (cellule vide ou Piece adverse en prise) aux listes destCells et targetPieces
+     * Selon ce qui est trouvé sur la case d'indice donné.
+     * @param board : l'echiquier en étude
+     * @param cellIdx : indice de la case, ou BoardGeometry.NO_CELL si hors échiquier
+     * @param playerColor : couleur du joueur
+     * @param destCells : liste des cases de destination possibles
+     * @param targetPieces : liste des piéces prenables
+     * @return true si un élément blocant est trouvé (piece ou sortie d'échiquier)
+     */
+    private static boolean addElement(GameBoard board,
+                                      int cellIdx,
+                                      Color playerColor,
+                                      Collection<BoardCell> destCells,
+                                      Collection<Piece> targetPieces) {
+
+        if (cellIdx != BoardGeometry.NO_CELL) {
+            BoardCell nextCell = BoardCell.fromIdx(cellIdx);
+            Piece piece = board.getPiece(nextCell);
             if (piece == null) {
                 if (destCells != null) {
-                    destCells.add(nextCell.get());
+                    destCells.add(nextCell);
                 }
                 return false;
             } else {
                 if (piece.getColor() != playerColor) {
                     if (destCells != null) {
-                        destCells.add(nextCell.get());
+                        destCells.add(nextCell);
                     }
                     if (targetPieces != null) {
                         targetPieces.add(piece);
@@ -108,11 +102,21 @@ public class MoveHelper {
                                                 int colIncrement, int lineIncrement,
                                                 Collection<BoardCell> destCells,
                                                 Collection<Piece> targetPieces) {
-        for (int i = 1; i < 8; i++) {
-            if (addRelativeElement(board,orgCell,playerColor,colIncrement * i, lineIncrement * i, destCells, targetPieces)) {
-                break;
+        int direction = BoardGeometry.getDirection(colIncrement, lineIncrement);
+        int cellIdx = orgCell.getIdx();
+        if (direction < 0) {
+            // incréments non unitaires : parcours case par case par coordonnées
+            for (int i = 1; i < 8; i++) {
+                int nextIdx = BoardGeometry.getRelativeIdx(cellIdx, colIncrement * i, lineIncrement * i);
+                if (addElement(board, nextIdx, playerColor, destCells, targetPieces)) {
+                    break;
+                }
             }
+            return;
         }
+        do {
+            cellIdx = BoardGeometry.getNeighbour(cellIdx, direction);
+        } while (!addElement(board, cellIdx, playerColor, destCells, targetPieces));
     }
 
     /**
@@ -153,75 +157,93 @@ public class MoveHelper {
 
     }
 
+    /**
+     * Retourne le masque des types de pièces (un bit par type {@link BitBoard}) décrit par un filtre.
+     * @param filter les symboles des pièces recherchées (exemple : "RBQ"), ou null pour toutes les pièces
+     * @return le masque des types retenus
+     */
+    private static int getTypeMask(final String filter) {
+        if (filter == null) {
+            return 0x3F;
+        }
+        int mask = 0;
+        for (int i = 0; i < filter.length(); i++) {
+            int type = BitBoard.pieceType(filter.charAt(i));
+            if (type != BitBoard.EMPTY) {
+                mask |= 1 << type;
+            }
+        }
+        return mask;
+    }
+
+    /**
+     * Recherche les pièces d'un camp qui attaquent une case de l'échiquier.
+     *
+     * <p>Le calcul utilise les tables d'attaque précalculées ({@link Attacks}) et ne crée aucun objet.
+     * @param board l'echiquier en cours
+     * @param orgCell la case a étudier
+     * @param attackerColor la couleur des pièces attaquantes
+     * @return le bitboard des cases occupées par les pièces attaquantes
+     */
+    public static long getAttackers(GameBoard board, BoardCell orgCell, Color attackerColor) {
+        return Attacks.attackersTo(board.getBitBoard(), orgCell.getIdx(), BitBoard.colorIndex(attackerColor));
+    }
+
+    /**
+     * Indique si une case de l'échiquier est attaquée par un camp.
+     *
+     * <p>Contrairement à {@link #findAttackingPieces(GameBoard, BoardCell, Color, String)},
+     * la recherche s'arrête au premier attaquant et ne crée aucun objet.
+     * @param board l'echiquier en cours
+     * @param cell la case a étudier
+     * @param attackerColor la couleur des pièces attaquantes
+     * @return true si au moins une pièce de ce camp attaque la case
+     */
+    public static boolean isSquareAttacked(GameBoard board, BoardCell cell, Color attackerColor) {
+        BitBoard bb = board.getBitBoard();
+        return Attacks.isAttacked(bb, cell.getIdx(), BitBoard.colorIndex(attackerColor), bb.getOccupancy());
+    }
+
     /**
      * Recherche les pieces qui controlent une case de l'échiquier contre le joueur
      * @param board l'echiquier en cours
      * @param orgCell la case a étudier
      * @param playerColor la couleur du joueur
-     * @param filter filtre les pieces attaquantes potentielles (optimise la recherche) (exemple : "RBQ")
+     * @param filter filtre les pieces attaquantes potentielles (optimise la recherche) (exemple : "RBQ"), null pour toutes
      * @return la liste des pieces
      */
     public static Collection<Piece> findAttackingPieces(GameBoard board, BoardCell orgCell, Color playerColor, final String filter) {
 
-        ArrayList<Piece> result = new ArrayList<>();
-        if (filter.contains("B") || filter.contains("Q")) {
-            addElementsFromDirection(board, orgCell, playerColor, -1, 0, null, result);
-            addElementsFromDirection(board, orgCell, playerColor, 0, -1, null, result);
-            addElementsFromDirection(board, orgCell, playerColor, 0, 1, null, result);
-            addElementsFromDirection(board, orgCell, playerColor, 1, 0, null, result);
-        }
-        Piece[] rookOrQueen = result.stream()
-                .filter(p -> ("RQ".indexOf(p.getSymbol())>=0) && (filter.indexOf(p.getSymbol())>=0)).toArray(Piece[]::new);
-
-        result.clear();
-        if (filter.contains("B") || filter.contains("Q")) {
-            addElementsFromDirection(board, orgCell, playerColor, -1, -1, null, result);
-            addElementsFromDirection(board, orgCell, playerColor, -1, 1, null, result);
-            addElementsFromDirection(board, orgCell, playerColor, 1, -1, null, result);
-            addElementsFromDirection(board, orgCell, playerColor, 1, 1, null, result);
-        }
-        Piece[] bishopOrQueen = result.stream()
-                .filter(p -> ("BQ".indexOf(p.getSymbol()) >= 0) && (filter.indexOf(p.getSymbol())>=0)).toArray(Piece[]::new);
+        BitBoard bb = board.getBitBoard();
+        int sq = orgCell.getIdx();
+        int enemy = BitBoard.colorIndex(playerColor) ^ 1;
+        int types = getTypeMask(filter);
+        long occupancy = bb.getOccupancy();
+        long queens = (types & (1 << BitBoard.QUEEN)) != 0 ? bb.getPieces(enemy, BitBoard.QUEEN) : 0L;
+        long rooks = (types & (1 << BitBoard.ROOK)) != 0 ? bb.getPieces(enemy, BitBoard.ROOK) : 0L;
+        long bishops = (types & (1 << BitBoard.BISHOP)) != 0 ? bb.getPieces(enemy, BitBoard.BISHOP) : 0L;
 
-        result.clear();
-        if (filter.contains("N")) {
-            addRelativeElement(board, orgCell, playerColor, 1, 2, null, result);
-            addRelativeElement(board, orgCell, playerColor, 2, 1, null, result);
-            addRelativeElement(board, orgCell, playerColor, 2, -1, null, result);
-            addRelativeElement(board, orgCell, playerColor, 1, -2, null, result);
-            addRelativeElement(board, orgCell, playerColor, -1, -2, null, result);
-            addRelativeElement(board, orgCell, playerColor, -2, -1, null, result);
-            addRelativeElement(board, orgCell, playerColor, -2, 1, null, result);
-            addRelativeElement(board, orgCell, playerColor, -1, 2, null, result);
-        }
-        Piece[] knights = result.stream().filter(p -> p.getSymbol() == 'N').toArray(Piece[]::new);
+        // ordre conservé : tours/dames, fous/dames, cavaliers, pions, roi
+        long rookOrQueen = (rooks | queens) == 0 ? 0L : Attacks.rookAttacks(sq, occupancy) & (rooks | queens);
+        long bishopOrQueen = (bishops | queens) == 0 ? 0L : Attacks.bishopAttacks(sq, occupancy) & (bishops | queens);
+        long knights = (types & (1 << BitBoard.KNIGHT)) != 0 ? Attacks.knightAttacks(sq) & bb.getPieces(enemy, BitBoard.KNIGHT) : 0L;
+        long pawns = (types & (1 << BitBoard.PAWN)) != 0 ? Attacks.pawnAttacks(enemy ^ 1, sq) & bb.getPieces(enemy, BitBoard.PAWN) : 0L;
+        long king = (types & (1 << BitBoard.KING)) != 0 ? Attacks.kingAttacks(sq) & bb.getPieces(enemy, BitBoard.KING) : 0L;
 
-        result.clear();
-        if (filter.contains("P")) {
-            if (playerColor.equals(Color.WHITE)) {
-                addRelativeElement(board, orgCell, playerColor, -1, 1, null, result);
-                addRelativeElement(board, orgCell, playerColor, 1, 1, null, result);
-            } else {
-                addRelativeElement(board, orgCell, playerColor, -1, -1, null, result);
-                addRelativeElement(board, orgCell, playerColor, 1, -1, null, result);
-            }
-        }
-        Piece[] pawns = result.stream().filter(p -> p.getSymbol() == 'P').toArray(Piece[]::new);
+        ArrayList<Piece> result = new ArrayList<>(Long.bitCount(rookOrQueen | bishopOrQueen | knights | pawns | king));
+        addPieces(board, rookOrQueen, result);
+        addPieces(board, bishopOrQueen, result);
+        addPieces(board, knights, result);
+        addPieces(board, pawns, result);
+        addPieces(board, king, result);
+        return result;
+    }
 
-        result.clear();
-        if (filter.contains("K")) {
-            addRelativeElement(board, orgCell, playerColor,-1, -1, null, result);
-            addRelativeElement(board, orgCell, playerColor,-1, 0, null, result);
-            addRelativeElement(board, orgCell, playerColor,-1, 1, null, result);
-            addRelativeElement(board, orgCell, playerColor,0, -1, null, result);
-            addRelativeElement(board, orgCell, playerColor,0, 1, null, result);
-            addRelativeElement(board, orgCell, playerColor,1, -1, null, result);
-            addRelativeElement(board, orgCell, playerColor,1, 0, null, result);
-            addRelativeElement(board, orgCell, playerColor,1, 1, null, result);
+    private static void addPieces(GameBoard board, long cells, Collection<Piece> result) {
+        while (cells != 0) {
+            result.add(board.getPiece(BoardCell.fromIdx(Long.numberOfTrailingZeros(cells))));
+            cells &= cells - 1;
         }
-        Piece[] king = result.stream().filter(p -> p.getSymbol() == 'K').toArray(Piece[]::new);
-
-        return Arrays.asList(mergePiecesArrays(rookOrQueen, bishopOrQueen, knights, pawns, king));
     }
 
     /**
@@ -0,0 +1,89 @@
+package com.fgodard.chess.board;
+
+/**
+ * Liste de coups encodés ({@link Move}) réutilisable.
+ *
+ * <p>La liste s'appuie sur un tableau d'entiers de taille fixe, alloué une seule fois :
+ * il suffit d'appeler {@link #clear()} avant chaque nouvelle génération.
+ *
+ * @author crios
+ * @see MoveGenerator
+ */
+public class MoveList {
+
+    /** Nombre maximal de coups dans une position (218 en pratique) */
+    public static final int MAX_MOVES = 256;
+
+    private final int[] moves = new int[MAX_MOVES];
+
+    private int size;
+
+    /**
+     * Vide la liste.
+     */
+    public void clear() {
+        size = 0;
+    }
+
+    /**
+     * Ajoute un coup à la liste.
+     *
+     * @param move le coup encodé
+     */
+    public void add(int move) {
+        moves[size++] = move;
+    }
+
+    /**
+     * Retourne un coup de la liste.
+     *
+     * @param i l'indice du coup
+     * @return le coup encodé
+     */
+    public int get(int i) {
+        return moves[i];
+    }
+
+    /**
+     * Retourne le nombre de coups de la liste.
+     *
+     * @return le nombre de coups
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Indique si la liste contient un coup.
+     *
+     * @param move le coup encodé
+     * @return {@code true} si le coup est présent
+     */
+    public boolean contains(int move) {
+        for (int i = 0; i < size; i++) {
+            if (moves[i] == move) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Retourne le tableau sous-jacent, dont seuls les {@link #size()} premiers éléments sont significatifs.
+     *
+     * @return le tableau des coups (partagé)
+     */
+    int[] getMoves() {
+        return moves;
+    }
+
+    /**
+     * Fixe le nombre de coups significatifs du tableau sous-jacent.
+     *
+     * @param size le nombre de coups
+     */
+    void setSize(int size) {
+        this.size = size;
+    }
+
+}
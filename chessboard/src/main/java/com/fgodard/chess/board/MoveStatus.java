@@ -0,0 +1,33 @@
+package com.fgodard.chess.board;
+
+/**
+ * Résultat de la validation d'un coup par {@link GameBoard#tryMove(com.fgodard.chess.beans.Ply)}
+ * ou {@link GameBoard#tryApplyUci(CharSequence)}.
+ *
+ * <p>Contrairement à {@link com.fgodard.chess.exception.InvalidMoveException}, un refus ne
+ * construit ni message ni pile d'appels : les imports de parties douteuses peuvent écarter
+ * un coup invalide au prix d'une simple comparaison.
+ *
+ * @author crios
+ */
+public enum MoveStatus {
+    /** Coup joué */
+    OK,
+    /** Trait inconnu : la couleur du joueur ne peut pas être déterminée */
+    NO_TURN,
+    /** Coup mal formé : case invalide ou case d'origine vide */
+    INVALID,
+    /** Aucun coup légal ne correspond */
+    ILLEGAL,
+    /** Plusieurs coups légaux correspondent à la notation */
+    AMBIGUOUS;
+
+    /**
+     * Indique si le coup a été joué.
+     *
+     * @return {@code true} pour {@link #OK}
+     */
+    public boolean isOk() {
+        return this == OK;
+    }
+}
@@ -1,6 +1,7 @@
 package com.fgodard.chess.board;
 
 import com.fgodard.chess.beans.Game;
+import com.fgodard.chess.beans.GamePositions;
 import com.fgodard.chess.beans.Ply;
 import com.fgodard.chess.beans.Position;
 import com.fgodard.chess.exception.InvalidMoveException;
@@ -223,7 +224,7 @@ public class PGNHelper {
         return false;
     }
 
-    private static void appendMoves(Game game, final String pgnHeader, final String pgnMoves) throws InvalidPgnException {
+    private static void appendMoves(Game game, final String pgnHeader, final String pgnMoves, boolean lazyPositions, PositionCache positionCache) throws InvalidPgnException {
 
         try {
 
@@ -231,6 +232,7 @@ public class PGNHelper {
             game.setPgnBody(pgnMoves);
 
             GameBoard board = new GameBoard();
+            board.setPositionCache(positionCache);
             try {
                 board.importFEN(game.getStartFENPosition());
             } catch (InvalidPositionException ex) {
@@ -255,7 +257,15 @@ public class PGNHelper {
 
             String[] plyArray = body.split("\n");
             Ply ply;
-            Position position = board.exportPosition();
+            GamePositions positions = null;
+            Position position = null;
+            if (lazyPositions) {
+                positions = new GamePositions();
+                positions.add(board);
+                game.setPositions(positions);
+            } else {
+                position = board.exportPosition();
+            }
             for (String plyStr : plyArray) {
                 if (plyStr != null && ! plyStr.isEmpty() && !"*".equals(plyStr)) {
                     if ("Z0".equals(plyStr) || "--".equals(plyStr)) {
@@ -268,10 +278,16 @@ public class PGNHelper {
                         break;
                     } else {
                         ply = buildPly(plyStr);
-                        ply.setInitialPosition(position);
-                        board.move(ply);
-                        position = board.exportPosition();
-                        ply.setFinalPosition(position);
+                        if (lazyPositions) {
+                            ply.setPositions(positions, positions.size() - 1);
+                            board.move(ply);
+                            positions.add(board);
+                        } else {
+                            ply.setInitialPosition(position);
+                            board.move(ply);
+                            position = board.exportPosition();
+                            ply.setFinalPosition(position);
+                        }
                         if (ply.getColor() == Color.WHITE) {
                             ply.setEloRange(game.getWhiteEloRange());
                         } else if (ply.getColor() == Color.BLACK) {
@@ -288,7 +304,7 @@ public class PGNHelper {
         }
     }
 
-    private static void importPGN(BufferedReader reader, GameExporter exporter) throws IOException, InvalidPgnException {
+    private static void importPGN(BufferedReader reader, GameExporter exporter, boolean lazyPositions, PositionCache positionCache) throws IOException, InvalidPgnException {
 
         Game game = new Game();
         StringBuilder sbPgn = new StringBuilder();
@@ -315,7 +331,7 @@ public class PGNHelper {
                     if (hasContent) {
                         // on a un jeu en cours d'extraction mais on découvre un nouveau header : il s'agit d'une nouvelle partie.
                         // on sauvegarde la précédente.
-                        appendMoves(game, sbPgn.toString(), sbMoves.toString());
+                        appendMoves(game, sbPgn.toString(), sbMoves.toString(), lazyPositions, positionCache);
                         exporter.exportGame(game);
                         //réinit du jeu à importer.
                         hasContent = false;
@@ -347,7 +363,7 @@ public class PGNHelper {
         } while (!line.isEmpty());
 
         if (hasContent) {
-            appendMoves(game, sbPgn.toString(), sbMoves.toString());
+            appendMoves(game, sbPgn.toString(), sbMoves.toString(), lazyPositions, positionCache);
             exporter.exportGame(game);
         }
     }
@@ -365,13 +381,54 @@ public class PGNHelper {
      * @throws InvalidPgnException si le contenu PGN est invalide
      */
     public static void readPgnFile(File inputFile, GameExporter exporter) throws IOException, InvalidPgnException {
+        readPgnFile(inputFile, exporter, false);
+    }
+
+    /**
+     * Lit un fichier PGN et exporte chaque partie via l'exporteur fourni, en choisissant
+     * la construction des positions.
+     * <p>
+     * En mode différé, les positions de chaque partie sont seulement enregistrées au format
+     * binaire ({@link Game#getPositions()}) : les objets {@link Position} des coups et la
+     * liste LLP de la partie ne sont construits qu'à leur première lecture. Les exporteurs
+     * qui n'utilisent que les en-têtes et les coups n'en paient pas le prix.
+     * </p>
+     *
+     * @param inputFile     le fichier PGN à lire
+     * @param exporter      l'exporteur appelé pour chaque partie extraite
+     * @param lazyPositions {@code true} pour construire les positions à la demande
+     * @throws IOException         si le fichier est inaccessible ou en cas d'erreur de lecture
+     * @throws InvalidPgnException si le contenu PGN est invalide
+     */
+    public static void readPgnFile(File inputFile, GameExporter exporter, boolean lazyPositions) throws IOException, InvalidPgnException {
+        readPgnFile(inputFile, exporter, lazyPositions, null);
+    }
+
+    /**
+     * Lit un fichier PGN et exporte chaque partie via l'exporteur fourni, en partageant un
+     * cache de positions entre les parties.
+     * <p>
+     * Chaque partie est rejouée sur un échiquier associé au cache
+     * ({@link GameBoard#setPositionCache(PositionCache)}) : les positions d'ouverture
+     * communes à plusieurs parties ne sont analysées (coups légaux, échec, mat) qu'une fois.
+     * Le même cache peut être passé à plusieurs lectures, y compris en parallèle.
+     * </p>
+     *
+     * @param inputFile     le fichier PGN à lire
+     * @param exporter      l'exporteur appelé pour chaque partie extraite
+     * @param lazyPositions {@code true} pour construire les positions à la demande
+     * @param positionCache le cache partagé, ou {@code null} pour analyser chaque position
+     * @throws IOException         si le fichier est inaccessible ou en cas d'erreur de lecture
+     * @throws InvalidPgnException si le contenu PGN est invalide
+     */
+    public static void readPgnFile(File inputFile, GameExporter exporter, boolean lazyPositions, PositionCache positionCache) throws IOException, InvalidPgnException {
 
         if (inputFile == null || !inputFile.exists() || !inputFile.canRead() ) {
             throw new InvalidPgnException("Fichier pgn inaccessible (%s).", inputFile);
         }
 
         try (BufferedReader reader = new BufferedReader(new FileReader(inputFile));) {
-            importPGN(reader, exporter);
+            importPGN(reader, exporter, lazyPositions, positionCache);
 
         }
     }
@@ -0,0 +1,238 @@
+package com.fgodard.chess.board;
+
+import com.fgodard.chess.beans.PerftResult;
+import com.fgodard.chess.exception.InvalidPositionException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Comptage perft (performance test) : nombre de feuilles de l'arbre des coups légaux
+ * à une profondeur donnée.
+ *
+ * <p>Le perft sert à la fois à valider le générateur de coups (les résultats des
+ * positions de {@link PerftPosition} sont connus) et à mesurer son débit.
+ * Le parcours utilise {@link GameBoard#makeMove(int)} et {@link GameBoard#unmakeMove()}
+ * avec un tampon de coups par niveau, alloué une seule fois ; au dernier niveau,
+ * les coups légaux sont comptés sans être joués.
+ *
+ * <p>Le comptage peut être réparti sur un {@link ForkJoinPool} : les sous-arbres des
+ * premiers niveaux sont confiés à des tâches disposant chacune de leur copie de
+ * l'échiquier. Une {@link PerftHashTable} partagée évite de recompter les positions
+ * atteintes par des ordres de coups différents.
+ *
+ * @author crios
+ * @see MoveGenerator
+ * @see PerftPosition
+ */
+public class Perft {
+
+    /**
+     * Private Constructor
+     */
+    private Perft() {
+
+    }
+
+    /**
+     * Compte les feuilles à une profondeur donnée.
+     *
+     * <p>La position de l'échiquier est restaurée à la fin du comptage.
+     *
+     * @param board l'échiquier
+     * @param depth la profondeur en demi-coups
+     * @return le nombre de feuilles
+     */
+    public static long perft(GameBoard board, int depth) {
+        return perft(board, depth, null);
+    }
+
+    /**
+     * Compte les feuilles à une profondeur donnée en s'appuyant sur une table de hachage.
+     *
+     * @param board l'échiquier
+     * @param depth la profondeur en demi-coups
+     * @param table la table des comptages déjà effectués, ou {@code null}
+     * @return le nombre de feuilles
+     */
+    public static long perft(GameBoard board, int depth, PerftHashTable table) {
+        if (depth <= 0) {
+            return 1;
+        }
+        return perft(board, depth, new int[depth][MoveList.MAX_MOVES], table);
+    }
+
+    private static long perft(GameBoard board, int depth, int[][] buffers, PerftHashTable table) {
+        int[] moves = buffers[depth - 1];
+        int count = MoveGenerator.generateLegalMoves(board, moves, 0);
+        if (depth == 1) {
+            return count;
+        }
+        long key = 0L;
+        if (table != null) {
+            key = board.getPositionKey();
+            long nodes = table.get(key, depth);
+            if (nodes >= 0) {
+                return nodes;
+            }
+        }
+        long nodes = 0;
+        for (int i = 0; i < count; i++) {
+            board.makeMove(moves[i]);
+            nodes += perft(board, depth - 1, buffers, table);
+            board.unmakeMove();
+        }
+        if (table != null) {
+            table.put(key, depth, nodes);
+        }
+        return nodes;
+    }
+
+    /**
+     * Compte les feuilles à une profondeur donnée et mesure la durée du comptage.
+     *
+     * @param board l'échiquier
+     * @param depth la profondeur en demi-coups
+     * @return le résultat (feuilles, durée, noeuds par seconde)
+     */
+    public static PerftResult run(GameBoard board, int depth) {
+        PerftResult result = new PerftResult();
+        result.setDepth(depth);
+        long start = System.nanoTime();
+        result.setNodes(perft(board, depth));
+        result.setDurationNanos(System.nanoTime() - start);
+        return result;
+    }
+
+    /**
+     * Compte les feuilles à une profondeur donnée en détaillant le résultat par coup racine.
+     *
+     * <p>Le détail permet de localiser une erreur du générateur en comparant coup par coup
+     * avec un moteur de référence.
+     *
+     * @param board l'échiquier
+     * @param depth la profondeur en demi-coups (au moins 1)
+     * @return le résultat, avec le détail par coup UCI
+     */
+    public static PerftResult divide(GameBoard board, int depth) {
+        PerftResult result = new PerftResult();
+        result.setDepth(depth);
+        long start = System.nanoTime();
+        int[][] buffers = new int[depth][MoveList.MAX_MOVES];
+        int[] moves = buffers[depth - 1];
+        int count = MoveGenerator.generateLegalMoves(board, moves, 0);
+        long nodes = 0;
+        for (int i = 0; i < count; i++) {
+            long moveNodes = 1;
+            if (depth > 1) {
+                board.makeMove(moves[i]);
+                moveNodes = perft(board, depth - 1, buffers, null);
+                board.unmakeMove();
+            }
+            result.getDivide().put(Move.toUci(moves[i]), moveNodes);
+            nodes += moveNodes;
+        }
+        result.setNodes(nodes);
+        result.setDurationNanos(System.nanoTime() - start);
+        return result;
+    }
+
+    /**
+     * Compte les feuilles d'une position FEN à une profondeur donnée.
+     *
+     * @param fen la position au format FEN
+     * @param depth la profondeur en demi-coups
+     * @return le résultat (feuilles, durée, noeuds par seconde)
+     * @throws InvalidPositionException si la chaîne FEN est invalide
+     */
+    public static PerftResult run(String fen, int depth) throws InvalidPositionException {
+        GameBoard board = new GameBoard();
+        board.importFEN(fen);
+        return run(board, depth);
+    }
+
+    /**
+     * Compte les feuilles à une profondeur donnée en répartissant le travail sur un pool.
+     *
+     * <p>Chaque coup des {@code splitDepth} premiers niveaux donne lieu à une tâche
+     * qui travaille sur sa propre copie de l'échiquier ; l'échiquier passé en paramètre
+     * n'est pas modifié.
+     *
+     * @param board l'échiquier
+     * @param depth la profondeur en demi-coups
+     * @param splitDepth le nombre de niveaux découpés en tâches (1 = coups racine seulement)
+     * @param pool le pool d'exécution
+     * @param table la table partagée des comptages déjà effectués, ou {@code null}
+     * @return le nombre de feuilles
+     */
+    public static long parallelPerft(GameBoard board, int depth, int splitDepth, ForkJoinPool pool, PerftHashTable table) {
+        if (depth <= 0) {
+            return 1;
+        }
+        return pool.invoke(new PerftTask(board.copy(), depth, splitDepth, table));
+    }
+
+    /**
+     * Compte en parallèle les feuilles à une profondeur donnée et mesure la durée du comptage.
+     *
+     * @param board l'échiquier
+     * @param depth la profondeur en demi-coups
+     * @param pool le pool d'exécution
+     * @param table la table partagée des comptages déjà effectués, ou {@code null}
+     * @return le résultat (feuilles, durée, noeuds par seconde)
+     */
+    public static PerftResult runParallel(GameBoard board, int depth, ForkJoinPool pool, PerftHashTable table) {
+        PerftResult result = new PerftResult();
+        result.setDepth(depth);
+        long start = System.nanoTime();
+        // Découper deux niveaux donne assez de tâches (~400 à ~2000) pour occuper de nombreux coeurs
+        result.setNodes(parallelPerft(board, depth, Math.min(2, depth - 1), pool, table));
+        result.setDurationNanos(System.nanoTime() - start);
+        return result;
+    }
+
+    /**
+     * Tâche de comptage d'un sous-arbre, sur une copie de l'échiquier propre à la tâche.
+     */
+    private static final class PerftTask extends RecursiveTask<Long> {
+
+        private final GameBoard board;
+
+        private final int depth;
+
+        private final int splitDepth;
+
+        private final PerftHashTable table;
+
+        private PerftTask(GameBoard board, int depth, int splitDepth, PerftHashTable table) {
+            this.board = board;
+            this.depth = depth;
+            this.splitDepth = splitDepth;
+            this.table = table;
+        }
+
+        @Override
+        protected Long compute() {
+            if (depth <= 1 || splitDepth <= 0) {
+                return perft(board, depth, table);
+            }
+            int[] moves = new int[MoveList.MAX_MOVES];
+            int count = MoveGenerator.generateLegalMoves(board, moves, 0);
+            List<PerftTask> tasks = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                board.makeMove(moves[i]);
+                tasks.add(new PerftTask(board.copy(), depth - 1, splitDepth - 1, table));
+                board.unmakeMove();
+            }
+            long nodes = 0;
+            for (PerftTask task : invokeAll(tasks)) {
+                nodes += task.join();
+            }
+            return nodes;
+        }
+
+    }
+
+}
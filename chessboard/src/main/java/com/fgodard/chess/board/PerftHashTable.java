@@ -0,0 +1,75 @@
+package com.fgodard.chess.board;
+
+/**
+ * Table de hachage des comptages perft, partageable entre plusieurs threads.
+ *
+ * <p>Chaque entrée mémorise le nombre de feuilles d'une position (clé de {@link Zobrist})
+ * à une profondeur donnée. La table est sans verrou : la clé est stockée combinée par
+ * ou exclusif avec la donnée, si bien qu'une entrée écrite simultanément par deux threads
+ * ne peut pas être relue avec une donnée qui ne lui correspond pas ; elle est simplement
+ * ignorée. Une nouvelle entrée remplace toujours l'ancienne.
+ *
+ * @author crios
+ * @see Perft
+ */
+public class PerftHashTable {
+
+    private final long[] keys;
+
+    private final long[] data;
+
+    private final int mask;
+
+    /**
+     * Construit une table d'une taille donnée.
+     *
+     * @param sizeInMb la taille approximative en mégaoctets (16 octets par entrée)
+     */
+    public PerftHashTable(int sizeInMb) {
+        long entries = Math.max(1L, (long) sizeInMb * 1024 * 1024 / 16);
+        int size = Integer.highestOneBit((int) Math.min(entries, 1 << 30));
+        keys = new long[size];
+        data = new long[size];
+        mask = size - 1;
+    }
+
+    /**
+     * Recherche le nombre de feuilles d'une position.
+     *
+     * @param key la clé de la position
+     * @param depth la profondeur
+     * @return le nombre de feuilles, ou -1 si la position n'est pas dans la table à cette profondeur
+     */
+    public long get(long key, int depth) {
+        int idx = (int) key & mask;
+        long entry = data[idx];
+        if ((keys[idx] ^ entry) == key && (entry & 0xFF) == depth) {
+            return entry >>> 8;
+        }
+        return -1;
+    }
+
+    /**
+     * Enregistre le nombre de feuilles d'une position.
+     *
+     * @param key la clé de la position
+     * @param depth la profondeur (inférieure à 256)
+     * @param nodes le nombre de feuilles
+     */
+    public void put(long key, int depth, long nodes) {
+        int idx = (int) key & mask;
+        long entry = (nodes << 8) | depth;
+        keys[idx] = key ^ entry;
+        data[idx] = entry;
+    }
+
+    /**
+     * Retourne le nombre d'entrées de la table.
+     *
+     * @return le nombre d'entrées
+     */
+    public int size() {
+        return keys.length;
+    }
+
+}
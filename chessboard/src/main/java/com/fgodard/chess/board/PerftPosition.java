@@ -0,0 +1,80 @@
+package com.fgodard.chess.board;
+
+/**
+ * Positions de référence pour le perft, avec le nombre de feuilles attendu par profondeur.
+ *
+ * <p>Ces positions sont les positions de test usuelles des générateurs de coups :
+ * elles couvrent le roque, la prise en passant (y compris découvrant un échec),
+ * les promotions, les pièces clouées et les échecs doubles.
+ *
+ * @author crios
+ * @see Perft
+ */
+public enum PerftPosition {
+
+    /** Position initiale */
+    STARTING("rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w KQkq -",
+            20L, 400L, 8902L, 197281L, 4865609L, 119060324L),
+
+    /** "Kiwipete" : roques, prises en passant et promotions dès les premiers demi-coups */
+    KIWIPETE("r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq -",
+            48L, 2039L, 97862L, 4085603L, 193690690L),
+
+    /** Finale : prises en passant découvrant le roi sur la rangée, clouages */
+    EN_PASSANT_PINS("8/2p5/3p4/KP5r/1R3p1k/8/4P1P1/8 w - -",
+            14L, 191L, 2812L, 43238L, 674624L, 11030083L),
+
+    /** Promotions avec prise, roque noir sous attaque, échecs à la découverte */
+    PROMOTIONS_CASTLES("r3k2r/Pppp1ppp/1b3nbN/nP6/BBP1P3/q4N2/Pp1P2PP/R2Q1RK1 w kq -",
+            6L, 264L, 9467L, 422333L, 15833292L),
+
+    /** Promotion immédiate avec prise en d8 */
+    PROMOTION_CAPTURE("rnbq1k1r/pp1Pbppp/2p5/8/2B5/8/PPP1NnPP/RNBQK2R w KQ -",
+            44L, 1486L, 62379L, 2103487L, 89941194L),
+
+    /** Milieu de partie symétrique */
+    MIDDLE_GAME("r4rk1/1pp1qppp/p1np1n2/2b1p1B1/2B1P1b1/P1NP1N2/1PP1QPPP/R4RK1 w - -",
+            46L, 2079L, 89890L, 3894594L, 164075551L),
+
+    /** Promotions multiples des deux camps, sous-promotions */
+    UNDER_PROMOTIONS("n1n5/PPPk4/8/8/8/8/4Kppp/5N1N b - -",
+            24L, 496L, 9483L, 182838L, 3605103L, 71179139L);
+
+    private final String fen;
+
+    private final long[] expectedNodes;
+
+    PerftPosition(String fen, long... expectedNodes) {
+        this.fen = fen;
+        this.expectedNodes = expectedNodes;
+    }
+
+    /**
+     * Retourne la position au format FEN.
+     *
+     * @return la chaîne FEN
+     */
+    public String getFen() {
+        return fen;
+    }
+
+    /**
+     * Retourne la profondeur maximale pour laquelle le résultat attendu est connu.
+     *
+     * @return la profondeur maximale
+     */
+    public int getMaxDepth() {
+        return expectedNodes.length;
+    }
+
+    /**
+     * Retourne le nombre de feuilles attendu à une profondeur.
+     *
+     * @param depth la profondeur (1 à {@link #getMaxDepth()})
+     * @return le nombre de feuilles attendu
+     */
+    public long getExpectedNodes(int depth) {
+        return expectedNodes[depth - 1];
+    }
+
+}
@@ -34,6 +34,8 @@ public abstract class Piece {
 
     private char posSymbol;
 
+    private int code = BitBoard.EMPTY;
+
     /**
      * Définit l'échiquier sur lequel se trouve cette pièce.
      *
@@ -58,6 +60,7 @@ public abstract class Piece {
         } else if (color == Color.BLACK) {
             posSymbol = (char) ((int) this.getSymbol() + 32);
         }
+        code = BitBoard.pieceCode(posSymbol);
     }
 
     /**
@@ -108,6 +111,24 @@ public abstract class Piece {
         return posSymbol;
     }
 
+    /**
+     * Retourne le code de la pièce dans la représentation {@link BitBoard}.
+     *
+     * @return le code de la pièce (0-11)
+     */
+    int getCode() {
+        return code;
+    }
+
+    /**
+     * Retourne la pièce « poids-mouche » partagée de même type et de même couleur.
+     *
+     * @return la pièce partagée, ou {@code null} si la couleur n'est pas définie
+     */
+    public PieceKind getKind() {
+        return PieceKind.of(code);
+    }
+
     /**
      * Calcule et retourne les cases où cette pièce peut se déplacer.
      *
@@ -0,0 +1,210 @@
+package com.fgodard.chess.board;
+
+import java.util.ArrayList;
+import java.util.Collection;
+
+/**
+ * Pièce « poids-mouche » : un type et une couleur, sans case ni échiquier.
+ *
+ * <p>Les 12 instances sont partagées par tous les échiquiers : la position d'une pièce
+ * n'existe que dans les tableaux de l'échiquier ({@link BitBoard}). Le calcul des cases
+ * de destination prend donc l'échiquier et la case en paramètres, et donne le même
+ * résultat que {@link Piece#getMoveCells()}.
+ *
+ * <p>L'ordre des constantes suit les codes de pièce de {@link BitBoard}.
+ *
+ * @author crios
+ * @see GameBoard#getPieceKind(BoardCell)
+ */
+public enum PieceKind {
+    /** Pion blanc */
+    WHITE_PAWN,
+    /** Cavalier blanc */
+    WHITE_KNIGHT,
+    /** Fou blanc */
+    WHITE_BISHOP,
+    /** Tour blanche */
+    WHITE_ROOK,
+    /** Dame blanche */
+    WHITE_QUEEN,
+    /** Roi blanc */
+    WHITE_KING,
+    /** Pion noir */
+    BLACK_PAWN,
+    /** Cavalier noir */
+    BLACK_KNIGHT,
+    /** Fou noir */
+    BLACK_BISHOP,
+    /** Tour noire */
+    BLACK_ROOK,
+    /** Dame noire */
+    BLACK_QUEEN,
+    /** Roi noir */
+    BLACK_KING;
+
+    private static final PieceKind[] KINDS = values();
+
+    private final int code = ordinal();
+
+    private final int colorIdx = BitBoard.colorOf(ordinal());
+
+    private final int type = BitBoard.typeOf(ordinal());
+
+    /**
+     * Retourne la pièce correspondant à un code de pièce.
+     *
+     * @param code le code de la pièce (voir {@link BitBoard})
+     * @return la pièce, ou {@code null} pour {@link BitBoard#EMPTY}
+     */
+    public static PieceKind of(int code) {
+        return code == BitBoard.EMPTY ? null : KINDS[code];
+    }
+
+    /**
+     * Retourne la pièce correspondant à un symbole de position.
+     *
+     * @param posSymbol le symbole (majuscule pour les blancs, minuscule pour les noirs)
+     * @return la pièce, ou {@code null} si le symbole est inconnu
+     */
+    public static PieceKind of(char posSymbol) {
+        return of(BitBoard.pieceCode(posSymbol));
+    }
+
+    /**
+     * Retourne le code de la pièce dans la représentation {@link BitBoard}.
+     *
+     * @return le code de la pièce (0-11)
+     */
+    public int getCode() {
+        return code;
+    }
+
+    /**
+     * Retourne le type de la pièce.
+     *
+     * @return le type ({@link BitBoard#PAWN} à {@link BitBoard#KING})
+     */
+    public int getType() {
+        return type;
+    }
+
+    /**
+     * Retourne la couleur de la pièce.
+     *
+     * @return la couleur (blanc ou noir)
+     */
+    public Color getColor() {
+        return BitBoard.toColor(colorIdx);
+    }
+
+    /**
+     * Retourne le symbole de la pièce en notation algébrique (toujours en majuscule).
+     *
+     * @return le symbole de la pièce
+     */
+    public char getSymbol() {
+        return BitBoard.symbolOf(type);
+    }
+
+    /**
+     * Retourne le symbole de position : majuscule pour les blancs, minuscule pour les noirs.
+     *
+     * @return le symbole de position
+     */
+    public char getPosSymbol() {
+        return BitBoard.symbolOf(code);
+    }
+
+    /**
+     * Calcule les cases où cette pièce, posée sur une case de l'échiquier, peut se déplacer.
+     *
+     * <p>Les règles sont celles de {@link Piece#getMoveCells()} : les pièces amies bloquent,
+     * les pièces adverses peuvent être prises, le pion peut prendre en passant et le roi
+     * ne peut pas aller sur une case attaquée. Le roque n'est pas inclus.
+     *
+     * @param board l'échiquier
+     * @param cellIdx l'indice de la case de la pièce (0-63)
+     * @return le bitboard des cases de destination
+     */
+    public long getMoveTargets(GameBoard board, int cellIdx) {
+        BitBoard bb = board.getBitBoard();
+        long occupancy = bb.getOccupancy();
+        switch (type) {
+            case BitBoard.PAWN:
+                return getPawnTargets(board, bb, cellIdx, occupancy);
+            case BitBoard.KING:
+                return getKingTargets(bb, cellIdx, occupancy);
+            default:
+                return Attacks.attacks(code, cellIdx, occupancy) & ~bb.getColorOccupancy(colorIdx);
+        }
+    }
+
+    /**
+     * Calcule les cases où cette pièce, posée sur une case de l'échiquier, peut se déplacer.
+     *
+     * @param board l'échiquier
+     * @param cell la case de la pièce
+     * @return la collection des cases de destination possibles
+     * @see #getMoveTargets(GameBoard, int)
+     */
+    public Collection<BoardCell> getMoveCells(GameBoard board, BoardCell cell) {
+        return toCells(getMoveTargets(board, cell.getIdx()));
+    }
+
+    static Collection<BoardCell> toCells(long targets) {
+        Collection<BoardCell> result = new ArrayList<>(Long.bitCount(targets));
+        while (targets != 0) {
+            result.add(BoardCell.fromIdx(Long.numberOfTrailingZeros(targets)));
+            targets &= targets - 1;
+        }
+        return result;
+    }
+
+    private long getPawnTargets(GameBoard board, BitBoard bb, int cellIdx, long occupancy) {
+        int forward = colorIdx == BitBoard.WHITE ? 8 : -8;
+        long targets = 0L;
+        int next = cellIdx + forward;
+        if (next >= 0 && next < 64 && (occupancy & (1L << next)) == 0) {
+            targets |= 1L << next;
+            // double pas depuis la deuxième rangée du camp
+            int startLine = colorIdx == BitBoard.WHITE ? 1 : 6;
+            if ((cellIdx >>> 3) == startLine && (occupancy & (1L << (next + forward))) == 0) {
+                targets |= 1L << (next + forward);
+            }
+        }
+        long captures = Attacks.pawnAttacks(colorIdx, cellIdx);
+        targets |= captures & bb.getColorOccupancy(colorIdx ^ 1);
+        BoardCell enPassantCell = board.getEnPassantCell();
+        if (enPassantCell != null) {
+            targets |= captures & (1L << enPassantCell.getIdx());
+        }
+        return targets;
+    }
+
+    private long getKingTargets(BitBoard bb, int cellIdx, long occupancy) {
+        long candidates = Attacks.kingAttacks(cellIdx) & ~bb.getColorOccupancy(colorIdx);
+        // le roi est retiré de l'occupation : il ne protège pas les cases situées derrière lui
+        long kingLess = occupancy & ~(1L << cellIdx);
+        AttackMap attackMap = bb.getAttackMap();
+        if (attackMap != null) {
+            long targets = candidates & ~attackMap.getAttacked(colorIdx ^ 1);
+            long sliders = Attacks.sliderAttackersTo(bb, cellIdx, colorIdx ^ 1, occupancy);
+            while (sliders != 0) {
+                int sq = Long.numberOfTrailingZeros(sliders);
+                targets &= ~Attacks.attacks(bb.getPieceCode(sq), sq, kingLess);
+                sliders &= sliders - 1;
+            }
+            return targets;
+        }
+        long targets = 0L;
+        while (candidates != 0) {
+            int sq = Long.numberOfTrailingZeros(candidates);
+            if (!Attacks.isAttacked(bb, sq, colorIdx ^ 1, kingLess)) {
+                targets |= 1L << sq;
+            }
+            candidates &= candidates - 1;
+        }
+        return targets;
+    }
+
+}
@@ -0,0 +1,218 @@
+package com.fgodard.chess.board;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Cache borné des coups légaux et de l'état d'échec des positions, partageable entre
+ * plusieurs échiquiers et plusieurs threads.
+ *
+ * <p>Les positions sont identifiées par leur clé de {@link Zobrist} (trait, roques et
+ * prise en passant compris). Le cache est découpé en segments verrouillés séparément ;
+ * chaque segment conserve au plus sa part du budget d'entrées et évince la position la
+ * moins récemment utilisée (LRU). Les positions d'ouverture, communes à la plupart des
+ * parties, y restent donc pendant un import.
+ *
+ * @author crios
+ * @see GameBoard#setPositionCache(PositionCache)
+ */
+public class PositionCache {
+
+    private static final int SEGMENTS = 16;
+
+    private final Segment[] segments = new Segment[SEGMENTS];
+
+    /**
+     * Construit un cache pour un nombre d'entrées donné.
+     *
+     * @param maxEntries le nombre maximum de positions conservées
+     */
+    public PositionCache(int maxEntries) {
+        int segmentEntries = Math.max(1, maxEntries / SEGMENTS);
+        for (int i = 0; i < SEGMENTS; i++) {
+            segments[i] = new Segment(segmentEntries);
+        }
+    }
+
+    private Segment segment(long key) {
+        return segments[(int) (key ^ (key >>> 32)) & (SEGMENTS - 1)];
+    }
+
+    /**
+     * Recherche une position.
+     *
+     * @param key la clé de la position
+     * @return l'entrée de la position, ou {@code null} si elle n'est pas dans le cache
+     */
+    public Entry get(long key) {
+        Segment segment = segment(key);
+        synchronized (segment) {
+            Entry entry = segment.get(key);
+            if (entry == null) {
+                segment.misses++;
+            } else {
+                segment.hits++;
+            }
+            return entry;
+        }
+    }
+
+    /**
+     * Enregistre les coups légaux et l'état d'échec d'une position.
+     *
+     * @param key la clé de la position
+     * @param moves les coups légaux encodés ({@link Move})
+     * @param count le nombre de coups
+     * @param check {@code true} si le joueur au trait est en échec
+     * @return l'entrée enregistrée
+     */
+    public Entry put(long key, int[] moves, int count, boolean check) {
+        Entry entry = new Entry(moves, count, check);
+        Segment segment = segment(key);
+        synchronized (segment) {
+            segment.put(key, entry);
+        }
+        return entry;
+    }
+
+    /**
+     * Retourne le nombre de positions présentes dans le cache.
+     *
+     * @return le nombre d'entrées
+     */
+    public int size() {
+        int size = 0;
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                size += segment.size();
+            }
+        }
+        return size;
+    }
+
+    /**
+     * Retourne le nombre de recherches ayant trouvé la position.
+     *
+     * @return le nombre de succès
+     */
+    public long getHits() {
+        long hits = 0;
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                hits += segment.hits;
+            }
+        }
+        return hits;
+    }
+
+    /**
+     * Retourne le nombre de recherches n'ayant pas trouvé la position.
+     *
+     * @return le nombre d'échecs
+     */
+    public long getMisses() {
+        long misses = 0;
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                misses += segment.misses;
+            }
+        }
+        return misses;
+    }
+
+    /**
+     * Vide le cache.
+     */
+    public void clear() {
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                segment.clear();
+            }
+        }
+    }
+
+    /**
+     * Coups légaux et état d'échec d'une position. Une entrée n'est jamais modifiée.
+     */
+    public static final class Entry {
+
+        private final int[] moves;
+
+        private final boolean check;
+
+        private Entry(int[] moves, int count, boolean check) {
+            this.moves = new int[count];
+            System.arraycopy(moves, 0, this.moves, 0, count);
+            this.check = check;
+        }
+
+        /**
+         * Retourne le nombre de coups légaux.
+         *
+         * @return le nombre de coups
+         */
+        public int getMoveCount() {
+            return moves.length;
+        }
+
+        /**
+         * Copie les coups légaux dans un tableau.
+         *
+         * @param dest le tableau à remplir (au moins {@link #getMoveCount()} places)
+         * @return le nombre de coups copiés
+         */
+        public int copyMoves(int[] dest) {
+            System.arraycopy(moves, 0, dest, 0, moves.length);
+            return moves.length;
+        }
+
+        /**
+         * Indique si le joueur au trait est en échec.
+         *
+         * @return {@code true} en cas d'échec
+         */
+        public boolean isCheck() {
+            return check;
+        }
+
+        /**
+         * Indique si le joueur au trait est mat.
+         *
+         * @return {@code true} en cas de mat
+         */
+        public boolean isMate() {
+            return check && moves.length == 0;
+        }
+
+        /**
+         * Indique si le joueur au trait est pat.
+         *
+         * @return {@code true} en cas de pat
+         */
+        public boolean isStaleMate() {
+            return !check && moves.length == 0;
+        }
+    }
+
+    private static final class Segment extends LinkedHashMap<Long, Entry> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final int maxEntries;
+
+        private long hits = 0;
+
+        private long misses = 0;
+
+        private Segment(int maxEntries) {
+            super(16, 0.75f, true);
+            this.maxEntries = maxEntries;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, Entry> eldest) {
+            return size() > maxEntries;
+        }
+    }
+
+}
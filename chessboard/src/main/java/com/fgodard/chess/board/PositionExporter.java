@@ -1,10 +1,10 @@
 package com.fgodard.chess.board;
 
 import com.fgodard.chess.exception.InvalidCellException;
-import com.fgodard.chess.exception.InvalidPieceColorException;
 import com.fgodard.chess.exception.InvalidPieceException;
 import com.fgodard.chess.exception.InvalidPositionException;
 
+import java.io.IOException;
 import java.util.Arrays;
 import java.util.Optional;
 
@@ -16,6 +16,7 @@ import java.util.Optional;
  *   <li><b>FEN</b> (Forsyth-Edwards Notation) : format standard lisible</li>
  *   <li><b>LLP</b> (Low Length Position) : format compressé propriétaire</li>
  *   <li><b>HTML</b> : représentation visuelle sous forme de tableau</li>
+ *   <li><b>Binaire</b> : {@value GameBoard#BINARY_POSITION_SIZE} octets de taille fixe</li>
  * </ul>
  *
  * <h3>Format LLP</h3>
@@ -39,6 +40,16 @@ import java.util.Optional;
  *   <li>Positions des 8 pièces noires (kqrrbbnn) + promotions</li>
  * </ol>
  *
+ * <h3>Format binaire</h3>
+ * <ol>
+ *   <li>octets 0 à 7 : occupation de l'échiquier (bit i = case i, a1 = 0), poids faible en tête</li>
+ *   <li>octets 8 à 23 : codes des pièces ({@link BitBoard}) des cases occupées dans l'ordre
+ *       croissant des cases, sur 4 bits (quartet de poids faible en premier), au plus 32 pièces</li>
+ *   <li>octet 24 : droits de roque (bits 0 à 3 : K, Q, k, q) et trait (bits 4-5 : 0 inconnu, 1 blancs, 2 noirs)</li>
+ *   <li>octet 25 : indice de la case de prise en passant, 64 si aucune</li>
+ * </ol>
+ * <p>Les quartets inutilisés valent 0 : une même position donne toujours les mêmes octets.
+ *
  * @author crios
  * @see GameBoard
  */
@@ -66,43 +77,28 @@ class PositionExporter {
      */
     private static final String PIECES = PAWN_POS + PIECES_POS;
 
+    /**
+     * Premier emplacement LLP de chaque code de pièce ({@link BitBoard}).
+     */
+    private static final int[] LLP_SLOT_START = {0, 22, 20, 18, 17, 16, 8, 30, 28, 26, 25, 24};
 
-    private PositionExporter() {
-
-    }
-
-    private static void appendFENPosition(StringBuilder sb, GameBoard g) {
+    /**
+     * Nombre d'emplacements LLP de chaque code de pièce.
+     */
+    private static final int[] LLP_SLOT_COUNT = {8, 2, 2, 2, 1, 1, 8, 2, 2, 2, 1, 1};
 
-        Optional<BoardCell> cell;
-        int emptyCellCount = 0;
-        for (int row = 7; row >= 0; row--) {
-            for (int col = 0; col < 8; col++) {                
-                Piece p = null;                
-                cell = Board.getCell(col, row);
-                if (cell.isPresent()) {
-                    p = g.getPiece(cell.get());
-                }                
-                if (p == null) {
-                    emptyCellCount++;
-                } else {
-                    if (emptyCellCount > 0) {
-                        sb.append(String.valueOf(emptyCellCount));
-                        emptyCellCount = 0;
-                    }
-                    sb.append(p.getPosSymbol());
-                }
-            }
+    /**
+     * Symboles des droits de roque, dans l'ordre de leurs bits.
+     */
+    private static final String CASTLE_SYMBOLS = "KQkq";
 
-            if (emptyCellCount > 0) {
-                sb.append(String.valueOf(emptyCellCount));
-                emptyCellCount = 0;
-            }
+    /**
+     * Longueur maximale d'une position FEN exportée.
+     */
+    static final int MAX_FEN_LENGTH = 90;
 
-            if (row > 0) {
-                sb.append("/");
-            }
 
-        }
+    private PositionExporter() {
 
     }
 
@@ -128,11 +124,11 @@ class PositionExporter {
             for (int col = 7; col >= 0; col--) {
                 // on est jamais en dehors de l'échiquier ici.
                 sb.append("\t\t<td");
-                Piece p = null;
+                PieceKind p = null;
                 Optional<BoardCell> cell = Board.getCell(col, row);
                 if (cell.isPresent()) {
                     //toujours vrai
-                    p = g.getPiece(cell.get());
+                    p = g.getPieceKind(cell.get());
                     appendMlAttribute(sb, "id", "board_cell_", cell.get().getAlgebricPos());
                     appendMlAttribute(sb, "class", "board_cell--", cell.get().getColor().name().toLowerCase());
                 }
@@ -162,10 +158,10 @@ class PositionExporter {
             for (int col = 0; col < 8; col++) {
                 sb.append("\t\t<td");
                 // pas de test Optional on est toujours dans l'échiquier.
-                Piece p = null;
+                PieceKind p = null;
                 Optional<BoardCell> cell = Board.getCell(col, row);
                 if (cell.isPresent()) {
-                    p = g.getPiece(cell.get());
+                    p = g.getPieceKind(cell.get());
                     appendMlAttribute(sb, "id", "board_cell_", cell.get().getAlgebricPos());
                     appendMlAttribute(sb, "class", "board_cell--", cell.get().getColor().name().toLowerCase());
                 }
@@ -216,7 +212,7 @@ class PositionExporter {
         sb.append("</td>\n");
     }
 
-    private static String getHtmlCode(Piece p) {
+    private static String getHtmlCode(PieceKind p) {
         if (p.getColor() == Color.WHITE) {
             switch (p.getSymbol()) {
                 case 'P':
@@ -252,128 +248,95 @@ class PositionExporter {
         return "";
     }
 
-    private static void appendLLPBoard(GameBoard g, StringBuilder sb) {
-        BoardCell cell;
-        char[] pieces = PIECES.toCharArray();
-        // tableau a remplir des positions de pieces
-        char[] result = new char[32];
-        Arrays.fill(result, '.');
-
-        //partie variable pour le stockage des pieces supplémentaire dûes à promotion
-        String blackExtraPieces = "";
-        String whiteExtraPieces = "";
-
-        BoardCell[] cells = BoardCell.values();
-        int cellIdx;
-        for (int col = 0; col < 8; col++) {
-            for (int row = 7; row >= 0; row--) {
-                cellIdx = row * 8 + col;
-                cell = cells[cellIdx];
-                char cellPos = CELLS.charAt(cellIdx);
-                Piece piece = g.getPiece(cell);
-
-                if (piece != null) {
-                    char c = piece.getPosSymbol();
-                    int i = indexOf(pieces, c);
-
-                    if (i >= 0) {
-                        pieces[i] = ' ';
-                        result[i] = cellPos;
-
-                    } else {
-                        // piece supplémentaire (promotion)
-                        // prom = valeur indiquant le type de piece obtenue par promotion
-                        //int prom = indexOf(PROMOTION_PIECES, c);
-                        if (piece.getColor() == Color.BLACK) {
-                            blackExtraPieces += c + cellPos;
-
-                        } else {
-                            whiteExtraPieces += c + cellPos;
-
-                        }
-                    }
-                }
+    /**
+     * Met à jour les emplacements LLP des pièces dont le code a changé, puis construit la
+     * chaîne LLP.
+     *
+     * <p>Chaque code de pièce occupe une plage fixe des 32 emplacements (8 pions, 1 roi,
+     * 1 dame, 2 tours...), remplie dans l'ordre de parcours de l'échiquier (colonne a à h,
+     * rangée 8 à 1). Seules les plages des codes modifiés sont recalculées ; les pièces en
+     * surnombre (promotions) sont ajoutées en fin de section sous la forme symbole + case.
+     *
+     * @param g l'échiquier à exporter
+     * @param slots les 32 emplacements conservés depuis l'export précédent
+     * @param changedCodes le masque des codes de pièce modifiés depuis l'export précédent
+     * @return la position au format LLP
+     */
+    static String exportLLP(GameBoard g, char[] slots, int changedCodes) {
+        BitBoard bb = g.getBitBoard();
+        while (changedCodes != 0) {
+            int code = Integer.numberOfTrailingZeros(changedCodes);
+            int slot = LLP_SLOT_START[code];
+            int end = slot + LLP_SLOT_COUNT[code];
+            long cells = toScanOrder(bb.getPieces(code));
+            while (cells != 0 && slot < end) {
+                slots[slot++] = CELLS.charAt(fromScanOrder(Long.numberOfTrailingZeros(cells)));
+                cells &= cells - 1;
             }
-        }
-        String sResult = String.valueOf(result);
-        //pions blancs
-        sb.append(String.valueOf(sResult.substring(0, 8)));
-        sb.append("-");
-        //pions noirs
-        sb.append(String.valueOf(sResult.substring(8, 16)));
-        sb.append("-");
-        // pieces blanches
-        sb.append(String.valueOf(sResult.substring(16, 24)));
-        sb.append(whiteExtraPieces);
-        sb.append("-");
-        // pieces noires
-        sb.append(String.valueOf(sResult.substring(24, 32)));
-        sb.append(blackExtraPieces);
-    }
-
-    private static int indexOf(char[] value, char ch) {
-        for (int i = 0; i < value.length; i++) {
-            if (value[i] == ch) {
-                return i;
+            while (slot < end) {
+                slots[slot++] = '.';
             }
+            changedCodes &= changedCodes - 1;
         }
-        return -1;
+
+        long whiteExtra = extraPieces(bb, BitBoard.WHITE);
+        long blackExtra = extraPieces(bb, BitBoard.BLACK);
+        char[] llp = new char[35 + 2 * (Long.bitCount(whiteExtra) + Long.bitCount(blackExtra))];
+        System.arraycopy(slots, 0, llp, 0, 8);
+        llp[8] = '-';
+        System.arraycopy(slots, 8, llp, 9, 8);
+        llp[17] = '-';
+        System.arraycopy(slots, 16, llp, 18, 8);
+        int i = appendExtraPieces(bb, whiteExtra, llp, 26);
+        llp[i++] = '-';
+        System.arraycopy(slots, 24, llp, i, 8);
+        appendExtraPieces(bb, blackExtra, llp, i + 8);
+        return new String(llp);
     }
 
-    private static int lastIndexOf(char[] value, char ch, int start) {
-        for (int i = start; i > 0; i--) {
-            if (value[i] == ch) {
-                return i;
+    /**
+     * Retourne, dans l'ordre de parcours LLP, les pièces d'un camp qui n'ont pas
+     * d'emplacement fixe.
+     */
+    private static long extraPieces(BitBoard bb, int color) {
+        long extra = 0L;
+        for (int code = BitBoard.pieceCode(color, BitBoard.PAWN); code <= BitBoard.pieceCode(color, BitBoard.KING); code++) {
+            long cells = toScanOrder(bb.getPieces(code));
+            for (int n = LLP_SLOT_COUNT[code]; n > 0 && cells != 0; n--) {
+                cells &= cells - 1;
             }
+            extra |= cells;
         }
-        return -1;
+        return extra;
     }
 
-    private static void appendTurnColor(StringBuilder sb, GameBoard g) {
-        if (g.getTurnColor() == Color.BLACK) {
-            sb.append("b");
-        } else {
-            sb.append("w");
+    private static int appendExtraPieces(BitBoard bb, long extra, char[] llp, int i) {
+        while (extra != 0) {
+            int cellIdx = fromScanOrder(Long.numberOfTrailingZeros(extra));
+            llp[i++] = BitBoard.symbolOf(bb.getPieceCode(cellIdx));
+            llp[i++] = CELLS.charAt(cellIdx);
+            extra &= extra - 1;
         }
+        return i;
     }
 
-    private static void appendCastleInfo(StringBuilder sb, GameBoard g) {
-
-        boolean castle = false;
-
-        if (g.isWhiteCanCastleKingSide()) {
-            sb.append("K");
-            castle = true;
-        }
-
-        if (g.isWhiteCanCastleQueenSide()) {
-            sb.append("Q");
-            castle = true;
-        }
-
-        if (g.isBlackCanCastleKingSide()) {
-            sb.append("k");
-            castle = true;
-        }
-
-        if (g.isBlackCanCastleQueenSide()) {
-            sb.append("q");
-            castle = true;
-        }
-
-        if (!castle) {
-            sb.append("-");
-        }
-
+    /**
+     * Réordonne un bitboard dans l'ordre de parcours LLP : le bit {@code col * 8 + (7 - ligne)}
+     * correspond à la case (col, ligne). Symétrie verticale puis transposition.
+     */
+    private static long toScanOrder(long cells) {
+        long x = Long.reverseBytes(cells);
+        long t = 0x0F0F0F0F00000000L & (x ^ (x << 28));
+        x ^= t ^ (t >>> 28);
+        t = 0x3333000033330000L & (x ^ (x << 14));
+        x ^= t ^ (t >>> 14);
+        t = 0x5500550055005500L & (x ^ (x << 7));
+        x ^= t ^ (t >>> 7);
+        return x;
     }
 
-    private static void appendEnPassantInfo(StringBuilder sb, GameBoard g) {
-        BoardCell enPassantCell = g.getEnPassantCell();
-        if (enPassantCell == null) {
-            sb.append("-");
-        } else {
-            sb.append(enPassantCell.getAlgebricPos());
-        }
+    private static int fromScanOrder(int scanIdx) {
+        return (7 - (scanIdx & 7)) * 8 + (scanIdx >>> 3);
     }
 
     private static void importLLPBoard(GameBoard board, final String boardPosition) throws InvalidPositionException {
@@ -415,30 +378,6 @@ class PositionExporter {
         }
     }
 
-    private static void importFenBoard(GameBoard board, final String boardPosition) throws InvalidPositionException {
-        try {
-            String[] lines = boardPosition.split("/");
-            int lineNum = 7;
-            for (String line : lines) {
-                int col = 0;
-                int p = 0;
-                while (col < 8) {
-                    Character c = line.charAt(p);
-                    if (c > '0' && c < '9') {
-                        col += Integer.parseInt(String.valueOf(c));
-                    } else {
-                        board.addPiece(c, col, lineNum);
-                        col++;
-                    }
-                    p++;
-                }
-                lineNum--;
-            }
-        } catch (InvalidPieceException | InvalidCellException e) {
-            throw new InvalidPositionException(e, "Position FEN %s invalide");
-        }
-    }
-
     /**
      * Importe une position au format LLP dans l'échiquier.
      *
@@ -466,17 +405,133 @@ class PositionExporter {
      * @throws InvalidPositionException si la position FEN est invalide
      */
     public static void importFEN(final GameBoard board, final String fenPosition) throws InvalidPositionException {
-        try {
-            String[] gameData = fenPosition.split(" ");
-            importFenBoard(board, gameData[0]);
-            board.setNextTurnColor(gameData[1]);
-            board.setCastleInfo(gameData[2]);
-            if (!"-".equals(gameData[3])) {
-                board.setEnPassantCell(gameData[3]);
+        importFEN(board, fenPosition, null, 0, fenPosition.length());
+    }
+
+    /**
+     * Importe une position au format FEN lue dans une séquence ou un tableau de caractères.
+     *
+     * <p>Les caractères sont lus en place : ni découpage en chaînes, ni expression régulière,
+     * ni objet intermédiaire. Le compteur de demi-coups est facultatif ; le numéro de coup
+     * est ignoré.
+     *
+     * @param board l'échiquier à remplir
+     * @param seq la séquence contenant la position, ou {@code null} pour lire {@code chars}
+     * @param chars le tableau contenant la position, lu si {@code seq} est {@code null}
+     * @param start l'indice du premier caractère de la position
+     * @param end l'indice suivant le dernier caractère de la position
+     * @throws InvalidPositionException si la position FEN est invalide
+     */
+    static void importFEN(final GameBoard board, CharSequence seq, char[] chars, int start, int end)
+            throws InvalidPositionException {
+        int i = start;
+        int line = 7;
+        int col = 0;
+        // position des pièces
+        while (i < end) {
+            char c = charAt(seq, chars, i);
+            if (c == ' ') {
+                break;
+            }
+            if (c == '/') {
+                line--;
+                col = 0;
+            } else if (c > '0' && c < '9') {
+                col += c - '0';
+            } else {
+                int code = BitBoard.pieceCode(c);
+                if (code == BitBoard.EMPTY || col > 7 || line < 0) {
+                    throw invalidFEN(seq, chars, start, end);
+                }
+                board.addPiece(code, line * 8 + col);
+                col++;
+            }
+            i++;
+        }
+
+        // trait
+        i = skipSpaces(seq, chars, i, end);
+        char turn = i < end ? charAt(seq, chars, i) : ' ';
+        if (turn != 'w' && turn != 'b') {
+            throw invalidFEN(seq, chars, start, end);
+        }
+        board.setTurnColor(turn == 'w' ? Color.WHITE : Color.BLACK);
+        i = skipSpaces(seq, chars, i + 1, end);
+
+        // droits de roque, éventuellement par colonnes de tours (Chess960)
+        int castleRights = 0;
+        boolean chess960 = false;
+        while (i < end && charAt(seq, chars, i) != ' ') {
+            char c = charAt(seq, chars, i++);
+            switch (c) {
+                case 'K':
+                    castleRights |= 1;
+                    break;
+                case 'Q':
+                    castleRights |= 2;
+                    break;
+                case 'k':
+                    castleRights |= 4;
+                    break;
+                case 'q':
+                    castleRights |= 8;
+                    break;
+                default:
+                    chess960 |= (c >= 'a' && c <= 'h') || (c >= 'A' && c <= 'H');
+            }
+        }
+        board.setCastleInfo(castleRights, chess960);
+        i = skipSpaces(seq, chars, i, end);
+
+        // case de prise en passant
+        if (i + 1 < end && charAt(seq, chars, i) != '-') {
+            int file = charAt(seq, chars, i) - 'a';
+            int rank = charAt(seq, chars, i + 1) - '1';
+            if (file < 0 || file > 7 || rank < 0 || rank > 7) {
+                throw invalidFEN(seq, chars, start, end);
+            }
+            try {
+                board.setEnPassantIdx(rank * 8 + file);
+            } catch (InvalidCellException e) {
+                throw new InvalidPositionException(e, "Position FEN %s invalide", toString(seq, chars, start, end));
             }
-        } catch (InvalidPieceColorException | InvalidCellException e) {
-            throw new InvalidPositionException(e, "Position FEN %s invalide", fenPosition);
+            i += 2;
+        } else {
+            i++;
+        }
+        i = skipSpaces(seq, chars, i, end);
+
+        // compteur de demi-coups depuis la dernière prise ou le dernier coup de pion
+        if (i < end) {
+            int plyNoSincePawn = 0;
+            while (i < end && charAt(seq, chars, i) != ' ') {
+                int digit = charAt(seq, chars, i++) - '0';
+                if (digit < 0 || digit > 9) {
+                    throw invalidFEN(seq, chars, start, end);
+                }
+                plyNoSincePawn = plyNoSincePawn * 10 + digit;
+            }
+            board.setPlyNoSincePawn(plyNoSincePawn);
+        }
+    }
+
+    private static char charAt(CharSequence seq, char[] chars, int i) {
+        return seq != null ? seq.charAt(i) : chars[i];
+    }
+
+    private static int skipSpaces(CharSequence seq, char[] chars, int i, int end) {
+        while (i < end && charAt(seq, chars, i) == ' ') {
+            i++;
         }
+        return i;
+    }
+
+    private static String toString(CharSequence seq, char[] chars, int start, int end) {
+        return seq != null ? seq.subSequence(start, end).toString() : new String(chars, start, end - start);
+    }
+
+    private static InvalidPositionException invalidFEN(CharSequence seq, char[] chars, int start, int end) {
+        return new InvalidPositionException("Position FEN %s invalide", toString(seq, chars, start, end));
     }
 
     /**
@@ -503,15 +558,93 @@ class PositionExporter {
      * @return la position au format FEN
      */
     public static String exportFEN(GameBoard g) {
-        StringBuilder sb = new StringBuilder(100);
-        appendFENPosition(sb, g);
-        sb.append(" ");
-        appendTurnColor(sb, g);
-        sb.append(" ");
-        appendCastleInfo(sb, g);
-        sb.append(" ");
-        appendEnPassantInfo(sb, g);
-        return sb.toString();
+        char[] fen = new char[MAX_FEN_LENGTH];
+        return new String(fen, 0, exportFEN(g, fen, 0));
+    }
+
+    /**
+     * Écrit la position de l'échiquier au format FEN dans un tableau de caractères.
+     *
+     * @param g l'échiquier à exporter
+     * @param dest le tableau à remplir (au plus {@value #MAX_FEN_LENGTH} caractères sont écrits)
+     * @param offset l'indice du premier caractère à écrire
+     * @return l'indice suivant le dernier caractère écrit
+     */
+    static int exportFEN(GameBoard g, char[] dest, int offset) {
+        try {
+            return writeFEN(g, null, dest, offset);
+        } catch (IOException e) {
+            // aucune écriture hors du tableau
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Écrit la position de l'échiquier au format FEN dans un {@link Appendable}.
+     *
+     * @param g l'échiquier à exporter
+     * @param out la destination
+     * @throws IOException si l'écriture échoue
+     */
+    static void exportFEN(GameBoard g, Appendable out) throws IOException {
+        writeFEN(g, out, null, 0);
+    }
+
+    private static int writeFEN(GameBoard g, Appendable out, char[] dest, int offset) throws IOException {
+        BitBoard bb = g.getBitBoard();
+        int i = offset;
+        for (int row = 7; row >= 0; row--) {
+            int emptyCellCount = 0;
+            for (int col = 0; col < 8; col++) {
+                int code = bb.getPieceCode(row * 8 + col);
+                if (code == BitBoard.EMPTY) {
+                    emptyCellCount++;
+                } else {
+                    if (emptyCellCount > 0) {
+                        i = put(out, dest, i, (char) ('0' + emptyCellCount));
+                        emptyCellCount = 0;
+                    }
+                    i = put(out, dest, i, BitBoard.symbolOf(code));
+                }
+            }
+            if (emptyCellCount > 0) {
+                i = put(out, dest, i, (char) ('0' + emptyCellCount));
+            }
+            if (row > 0) {
+                i = put(out, dest, i, '/');
+            }
+        }
+
+        i = put(out, dest, i, ' ');
+        i = put(out, dest, i, g.getTurnColor() == Color.BLACK ? 'b' : 'w');
+        i = put(out, dest, i, ' ');
+        int castleRights = g.getCastleRights();
+        if (castleRights == 0) {
+            i = put(out, dest, i, '-');
+        }
+        for (int right = 0; right < 4; right++) {
+            if ((castleRights & (1 << right)) != 0) {
+                i = put(out, dest, i, CASTLE_SYMBOLS.charAt(right));
+            }
+        }
+        i = put(out, dest, i, ' ');
+        BoardCell enPassantCell = g.getEnPassantCell();
+        if (enPassantCell == null) {
+            i = put(out, dest, i, '-');
+        } else {
+            i = put(out, dest, i, enPassantCell.getCol());
+            i = put(out, dest, i, (char) ('0' + enPassantCell.getLine()));
+        }
+        return i;
+    }
+
+    private static int put(Appendable out, char[] dest, int i, char c) throws IOException {
+        if (out != null) {
+            out.append(c);
+        } else {
+            dest[i] = c;
+        }
+        return i + 1;
     }
 
     /**
@@ -521,9 +654,81 @@ class PositionExporter {
      * @return la position au format LLP
      */
     public static String exportLLP(GameBoard g) {
-        StringBuilder sb = new StringBuilder();
-        appendLLPBoard(g, sb);
-        return sb.toString();
+        return exportLLP(g, new char[32], (1 << BitBoard.PIECE_CODES) - 1);
+    }
+
+    /**
+     * Exporte la position de l'échiquier au format binaire.
+     *
+     * @param g l'échiquier à exporter
+     * @param dest le tableau à remplir
+     * @param offset l'indice du premier octet à écrire
+     * @throws IllegalStateException si l'échiquier compte plus de 32 pièces
+     */
+    static void exportBinary(GameBoard g, byte[] dest, int offset) {
+        BitBoard bb = g.getBitBoard();
+        long occupancy = bb.getOccupancy();
+        if (Long.bitCount(occupancy) > 32) {
+            throw new IllegalStateException("Plus de 32 pièces sur l'échiquier.");
+        }
+        for (int i = 0; i < 8; i++) {
+            dest[offset + i] = (byte) (occupancy >>> (i * 8));
+        }
+        Arrays.fill(dest, offset + 8, offset + 24, (byte) 0);
+        int n = 0;
+        long cells = occupancy;
+        while (cells != 0) {
+            int code = bb.getPieceCode(Long.numberOfTrailingZeros(cells));
+            dest[offset + 8 + (n >>> 1)] |= (byte) (code << ((n & 1) * 4));
+            n++;
+            cells &= cells - 1;
+        }
+        Color turn = g.getTurnColor();
+        int turnBits = turn == null ? 0 : (turn == Color.WHITE ? 1 : 2);
+        dest[offset + 24] = (byte) (g.getCastleRights() | (turnBits << 4));
+        BoardCell ep = g.getEnPassantCell();
+        dest[offset + 25] = (byte) (ep == null ? 64 : ep.getIdx());
+    }
+
+    /**
+     * Importe une position au format binaire dans un échiquier vide.
+     *
+     * @param board l'échiquier à remplir
+     * @param src le tableau contenant la position
+     * @param offset l'indice du premier octet de la position
+     * @throws InvalidPositionException si les octets ne décrivent pas une position valide
+     */
+    static void importBinary(final GameBoard board, final byte[] src, int offset) throws InvalidPositionException {
+        long occupancy = 0L;
+        for (int i = 0; i < 8; i++) {
+            occupancy |= (src[offset + i] & 0xFFL) << (i * 8);
+        }
+        if (Long.bitCount(occupancy) > 32) {
+            throw new InvalidPositionException("Position binaire invalide : %s pièces", Long.bitCount(occupancy));
+        }
+        int n = 0;
+        long cells = occupancy;
+        while (cells != 0) {
+            int code = (src[offset + 8 + (n >>> 1)] >>> ((n & 1) * 4)) & 0xF;
+            if (code >= BitBoard.PIECE_CODES) {
+                throw new InvalidPositionException("Position binaire invalide : code de pièce %s", code);
+            }
+            board.addPiece(code, Long.numberOfTrailingZeros(cells));
+            n++;
+            cells &= cells - 1;
+        }
+        int state = src[offset + 24] & 0xFF;
+        int turnBits = state >>> 4;
+        board.setTurnColor(turnBits == 1 ? Color.WHITE : (turnBits == 2 ? Color.BLACK : null));
+        board.setCastleRights(state & 0xF);
+        int epIdx = src[offset + 25] & 0xFF;
+        if (epIdx < 64) {
+            try {
+                board.setEnPassantCell(BoardCell.fromIdx(epIdx).getAlgebricPos());
+            } catch (InvalidCellException e) {
+                throw new InvalidPositionException(e, "Position binaire invalide : case en passant %s", epIdx);
+            }
+        }
     }
 
 }
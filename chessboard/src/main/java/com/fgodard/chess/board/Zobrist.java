@@ -0,0 +1,144 @@
+package com.fgodard.chess.board;
+
+import java.util.Random;
+
+/**
+ * Clés de Zobrist : empreinte 64 bits d'une position.
+ *
+ * <p>La clé d'une position est le ou exclusif des valeurs aléatoires associées :
+ * <ul>
+ *   <li>à chaque pièce sur sa case (12 codes de pièce x 64 cases)</li>
+ *   <li>au trait aux noirs</li>
+ *   <li>aux droits de roque (16 combinaisons)</li>
+ *   <li>à la colonne de la case de prise en passant</li>
+ * </ul>
+ *
+ * <p>Les valeurs sont tirées avec une graine fixe : les clés sont donc identiques
+ * d'une exécution à l'autre.
+ *
+ * @author crios
+ * @see GameBoard
+ */
+public class Zobrist {
+
+    private static final long[][] PIECES = new long[BitBoard.PIECE_CODES][64];
+    private static final long BLACK_TO_MOVE;
+    private static final long[] CASTLE_RIGHTS = new long[16];
+    private static final long[] EN_PASSANT_FILES = new long[8];
+
+    static {
+        Random rnd = new Random(0x5EED_C0DEL);
+        for (long[] cells : PIECES) {
+            for (int idx = 0; idx < 64; idx++) {
+                cells[idx] = rnd.nextLong();
+            }
+        }
+        BLACK_TO_MOVE = rnd.nextLong();
+        for (int i = 1; i < 16; i++) {
+            CASTLE_RIGHTS[i] = rnd.nextLong();
+        }
+        for (int col = 0; col < 8; col++) {
+            EN_PASSANT_FILES[col] = rnd.nextLong();
+        }
+    }
+
+    /**
+     * Private Constructor
+     */
+    private Zobrist() {
+
+    }
+
+    /**
+     * Retourne la valeur associée à une pièce sur une case.
+     *
+     * @param code le code de la pièce
+     * @param cellIdx l'indice de la case (0-63)
+     * @return la valeur aléatoire
+     */
+    public static long piece(int code, int cellIdx) {
+        return PIECES[code][cellIdx];
+    }
+
+    /**
+     * Retourne la valeur associée au trait aux noirs.
+     *
+     * @return la valeur aléatoire
+     */
+    public static long blackToMove() {
+        return BLACK_TO_MOVE;
+    }
+
+    /**
+     * Retourne la valeur associée à une combinaison de droits de roque.
+     *
+     * @param castleRights les droits de roque (bits : 1 = K, 2 = Q, 4 = k, 8 = q)
+     * @return la valeur aléatoire, 0 si aucun droit
+     */
+    public static long castleRights(int castleRights) {
+        return CASTLE_RIGHTS[castleRights];
+    }
+
+    /**
+     * Retourne la valeur associée à la colonne de la case de prise en passant.
+     *
+     * @param col l'indice de colonne (0-7)
+     * @return la valeur aléatoire
+     */
+    public static long enPassantFile(int col) {
+        return EN_PASSANT_FILES[col];
+    }
+
+    /**
+     * Calcule la part « état » de la clé : trait, droits de roque et prise en passant.
+     *
+     * <p>La colonne de prise en passant n'est prise en compte que si un pion du joueur au
+     * trait peut effectivement prendre : deux positions ne différant que par une case
+     * de prise en passant inutilisable ont ainsi la même clé.
+     *
+     * @param bb les bitboards de la position
+     * @param turnColor la couleur du joueur au trait
+     * @param castleRights les droits de roque (bits : 1 = K, 2 = Q, 4 = k, 8 = q)
+     * @param enPassantCell la case de prise en passant, ou {@code null}
+     * @return la part « état » de la clé
+     */
+    static long stateKey(BitBoard bb, Color turnColor, int castleRights, BoardCell enPassantCell) {
+        long key = CASTLE_RIGHTS[castleRights];
+        if (turnColor == Color.BLACK) {
+            key ^= BLACK_TO_MOVE;
+        }
+        if (enPassantCell != null) {
+            int us = BitBoard.colorIndex(turnColor);
+            if ((Attacks.pawnAttacks(us ^ 1, enPassantCell.getIdx()) & bb.getPieces(us, BitBoard.PAWN)) != 0) {
+                key ^= EN_PASSANT_FILES[enPassantCell.getColIdx()];
+            }
+        }
+        return key;
+    }
+
+    /**
+     * Calcule entièrement la clé de la position d'un échiquier.
+     *
+     * <p>Le résultat est égal à {@link GameBoard#getPositionKey()}, qui est maintenue
+     * incrémentalement : ce calcul complet sert de référence.
+     *
+     * @param board l'échiquier
+     * @return la clé de Zobrist de la position
+     */
+    public static long computeKey(GameBoard board) {
+        BitBoard bb = board.getBitBoard();
+        long key = 0L;
+        long cells = bb.getOccupancy();
+        while (cells != 0) {
+            int idx = Long.numberOfTrailingZeros(cells);
+            key ^= PIECES[bb.getPieceCode(idx)][idx];
+            cells &= cells - 1;
+        }
+        int castleRights = (board.isWhiteCanCastleKingSide() ? 1 : 0)
+                | (board.isWhiteCanCastleQueenSide() ? 2 : 0)
+                | (board.isBlackCanCastleKingSide() ? 4 : 0)
+                | (board.isBlackCanCastleQueenSide() ? 8 : 0);
+        return key ^ stateKey(bb, board.getTurnColor(), castleRights, board.getEnPassantCell());
+    }
+
+}
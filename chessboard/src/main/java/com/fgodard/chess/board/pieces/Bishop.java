@@ -1,14 +1,10 @@
 package com.fgodard.chess.board.pieces;
 
 import com.fgodard.chess.board.BoardCell;
-import com.fgodard.chess.board.MoveHelper;
 import com.fgodard.chess.board.Piece;
 
-import java.util.ArrayList;
 import java.util.Collection;
 
-import static com.fgodard.chess.board.MoveHelper.addElementsFromDirection;
-
 /**
  * Représente le fou aux échecs.
  *
@@ -25,12 +21,7 @@ public class Bishop extends Piece {
      */
     @Override
     public Collection<BoardCell> getMoveCells() {
-        Collection<BoardCell> result = new ArrayList<>();
-        MoveHelper.addElementsFromDirection(this, -1, -1, result,null);
-        MoveHelper.addElementsFromDirection(this,-1, 1, result,null);
-        MoveHelper.addElementsFromDirection(this,1, -1, result,null);
-        MoveHelper.addElementsFromDirection(this,1, 1, result,null);
-        return result;
+        return getCurrentBoard().getMoveCells(getCell());
     }
 
     /**
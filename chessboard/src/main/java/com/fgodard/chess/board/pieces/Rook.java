@@ -1,14 +1,10 @@
 package com.fgodard.chess.board.pieces;
 
 import com.fgodard.chess.board.BoardCell;
-import com.fgodard.chess.board.MoveHelper;
 import com.fgodard.chess.board.Piece;
 
-import java.util.ArrayList;
 import java.util.Collection;
 
-import static com.fgodard.chess.board.MoveHelper.addElementsFromDirection;
-
 /**
  * Représente la tour aux échecs.
  *
@@ -27,12 +23,7 @@ public class Rook extends Piece {
      */
     @Override
     public Collection<BoardCell> getMoveCells() {
-        Collection<BoardCell> result = new ArrayList<>();
-        addElementsFromDirection(this, -1, 0, result, null);
-        addElementsFromDirection(this, 0, -1, result, null);
-        addElementsFromDirection(this, 0, 1, result, null);
-        addElementsFromDirection(this, 1, 0, result, null);
-        return result;
+        return getCurrentBoard().getMoveCells(getCell());
     }
 
     /**
@@ -0,0 +1,100 @@
+package com.fgodard.chess;
+
+import com.fgodard.chess.beans.Ply;
+import com.fgodard.chess.board.*;
+import com.fgodard.chess.exception.InvalidMoveException;
+import com.fgodard.chess.exception.InvalidPositionException;
+
+import org.junit.Test;
+
+import java.util.HashSet;
+
+import static org.junit.Assert.*;
+
+public class AttackMapTest {
+
+    private void assertMapMatches(GameBoard board) {
+        BitBoard bb = board.getBitBoard();
+        AttackMap map = board.getAttackMap();
+        for (int color = BitBoard.WHITE; color <= BitBoard.BLACK; color++) {
+            for (int sq = 0; sq < 64; sq++) {
+                int expected = Long.bitCount(Attacks.attackersTo(bb, sq, color));
+                assertEquals(board.exportFEN() + " " + sq, expected, map.getAttackerCount(sq, color));
+                assertEquals(expected > 0, map.isAttacked(sq, color));
+            }
+        }
+    }
+
+    private void walk(GameBoard board, int depth) {
+        assertMapMatches(board);
+        if (depth == 0) {
+            return;
+        }
+        MoveList moves = new MoveList();
+        board.generateLegalMoves(moves);
+        for (int i = 0; i < moves.size(); i++) {
+            board.makeMove(moves.get(i));
+            walk(board, depth - 1);
+            board.unmakeMove();
+        }
+    }
+
+    @Test
+    public void testIncrementalMapMatchesAttackers() throws InvalidPositionException {
+        for (PerftPosition position : PerftPosition.values()) {
+            GameBoard board = new GameBoard();
+            board.setAttackMapEnabled(true);
+            board.importFEN(position.getFen());
+            walk(board, 2);
+        }
+    }
+
+    @Test
+    public void testKingMovesWithMap() throws InvalidPositionException {
+        for (PerftPosition position : PerftPosition.values()) {
+            GameBoard plain = new GameBoard();
+            plain.importFEN(position.getFen());
+            GameBoard mapped = plain.copy();
+            mapped.setAttackMapEnabled(true);
+            for (BoardCell cell : BoardCell.values()) {
+                Piece p = plain.getPiece(cell);
+                if (p != null && p.getKind().getType() == BitBoard.KING) {
+                    assertEquals(position.name(), new HashSet<>(p.getMoveCells()),
+                            new HashSet<>(mapped.getPiece(cell).getMoveCells()));
+                }
+            }
+        }
+
+        // le roi ne peut pas reculer sur la ligne de la tour qui le met en échec
+        GameBoard board = new GameBoard();
+        board.setAttackMapEnabled(true);
+        board.importFEN("4k3/8/8/8/4K2r/8/8/8 w - -");
+        assertFalse(board.getPiece(BoardCell.E4).getMoveCells().contains(BoardCell.D4));
+        assertTrue(board.isInCheck(Color.WHITE));
+    }
+
+    @Test
+    public void testMapFollowsPlies() throws InvalidPositionException, InvalidMoveException {
+        GameBoard board = new GameBoard();
+        board.importFEN(PerftPosition.STARTING.getFen());
+        board.setAttackMapEnabled(true);
+        for (String uci : new String[]{"e2e4", "e7e5", "f1c4", "b8c6", "d1h5", "g8f6"}) {
+            board.applyUci(uci);
+            assertMapMatches(board);
+        }
+        Ply mate = new Ply();
+        mate.setPiece('Q');
+        mate.setDestCell("f7");
+        board.move(mate);
+        assertMapMatches(board);
+        assertTrue(mate.isMate());
+        assertEquals(1, board.getAttackMap().getAttackerCount(BoardCell.F7.getIdx(), BitBoard.WHITE));
+        assertTrue(board.getAttackMap().isAttacked(BoardCell.E8.getIdx(), BitBoard.WHITE));
+
+        GameBoard copy = board.copy();
+        assertNotNull(copy.getAttackMap());
+        assertMapMatches(copy);
+        board.setAttackMapEnabled(false);
+        assertNull(board.getAttackMap());
+    }
+}
@@ -0,0 +1,96 @@
+package com.fgodard.chess;
+
+import com.fgodard.chess.board.*;
+import com.fgodard.chess.exception.InvalidPositionException;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class AttacksTest {
+
+    private static long slowAttacks(int sq, long occupancy, int[][] directions) {
+        long result = 0L;
+        for (int[] dir : directions) {
+            int c = (sq & 7) + dir[0];
+            int l = (sq >>> 3) + dir[1];
+            while (c >= 0 && c < 8 && l >= 0 && l < 8) {
+                long bit = 1L << (l * 8 + c);
+                result |= bit;
+                if ((occupancy & bit) != 0) {
+                    break;
+                }
+                c += dir[0];
+                l += dir[1];
+            }
+        }
+        return result;
+    }
+
+    @Test
+    public void testSlidingAttacksMatchRayWalk() {
+        int[][] rook = {{1, 0}, {-1, 0}, {0, 1}, {0, -1}};
+        int[][] bishop = {{1, 1}, {1, -1}, {-1, 1}, {-1, -1}};
+        Random rnd = new Random(42);
+        for (int i = 0; i < 2000; i++) {
+            long occupancy = rnd.nextLong() & rnd.nextLong();
+            for (int sq = 0; sq < 64; sq++) {
+                assertEquals(slowAttacks(sq, occupancy, rook), Attacks.rookAttacks(sq, occupancy));
+                assertEquals(slowAttacks(sq, occupancy, bishop), Attacks.bishopAttacks(sq, occupancy));
+            }
+        }
+    }
+
+    @Test
+    public void testLeaperAttacks() {
+        assertEquals(2, Long.bitCount(Attacks.knightAttacks(BoardCell.A1.getIdx())));
+        assertEquals(8, Long.bitCount(Attacks.knightAttacks(BoardCell.E4.getIdx())));
+        assertEquals(3, Long.bitCount(Attacks.kingAttacks(BoardCell.H8.getIdx())));
+        assertEquals(1L << BoardCell.B3.getIdx(), Attacks.pawnAttacks(BitBoard.WHITE, BoardCell.A2.getIdx()));
+        assertEquals((1L << BoardCell.D6.getIdx()) | (1L << BoardCell.F6.getIdx()),
+                Attacks.pawnAttacks(BitBoard.BLACK, BoardCell.E7.getIdx()));
+    }
+
+    @Test
+    public void testAttackersMask() throws InvalidPositionException {
+        GameBoard board = new GameBoard();
+        board.importFEN("4r3/8/3n4/8/4K3/5p2/8/4k3 w - -");
+
+        long attackers = MoveHelper.getAttackers(board, BoardCell.E4, Color.BLACK);
+        assertEquals((1L << BoardCell.E8.getIdx()) | (1L << BoardCell.D6.getIdx()), attackers);
+
+        attackers = MoveHelper.getAttackers(board, BoardCell.E2, Color.BLACK);
+        assertEquals((1L << BoardCell.F3.getIdx()) | (1L << BoardCell.E1.getIdx()), attackers);
+    }
+
+    @Test
+    public void testFindAttackingPiecesFilter() throws InvalidPositionException {
+        GameBoard board = new GameBoard();
+        board.importFEN("4r3/8/3n4/8/4K3/8/8/4k3 w - -");
+
+        assertEquals(1, MoveHelper.findAttackingPieces(board, BoardCell.E4, Color.WHITE, "N").size());
+        assertEquals(1, MoveHelper.findAttackingPieces(board, BoardCell.E4, Color.WHITE, "R").size());
+        assertEquals(2, MoveHelper.findAttackingPieces(board, BoardCell.E4, Color.WHITE, null).size());
+    }
+
+    @Test
+    public void testAddElementsFromNonUnitDirection() throws InvalidPositionException {
+        GameBoard board = new GameBoard();
+        board.importFEN("4k3/8/8/8/6p1/8/8/2N1K3 w - -");
+
+        List<BoardCell> cells = new ArrayList<>();
+        List<Piece> targets = new ArrayList<>();
+        MoveHelper.addElementsFromDirection(board.getPiece(BoardCell.C1), 2, 1, cells, targets);
+        assertEquals(Arrays.asList(BoardCell.E2, BoardCell.G3), cells);
+        assertTrue(targets.isEmpty());
+
+        cells.clear();
+        MoveHelper.addElementsFromDirection(board.getPiece(BoardCell.C1), 0, 0, cells, targets);
+        assertTrue(cells.isEmpty());
+    }
+}
@@ -0,0 +1,88 @@
+package com.fgodard.chess;
+
+import com.fgodard.chess.beans.CompactPosition;
+import com.fgodard.chess.beans.Position;
+import com.fgodard.chess.board.*;
+import com.fgodard.chess.exception.InvalidMoveException;
+import com.fgodard.chess.exception.InvalidPositionException;
+
+import org.junit.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.Assert.*;
+
+public class BinaryPositionTest {
+
+    @Test
+    public void testRoundTrip() throws InvalidPositionException {
+        for (PerftPosition position : PerftPosition.values()) {
+            for (boolean flyweight : new boolean[]{false, true}) {
+                GameBoard board = new GameBoard(flyweight);
+                board.importFEN(position.getFen());
+                byte[] data = board.exportBinary();
+                assertEquals(GameBoard.BINARY_POSITION_SIZE, data.length);
+
+                GameBoard decoded = new GameBoard(flyweight);
+                decoded.importBinary(data, 0);
+                assertEquals(position.name(), board.exportFEN(), decoded.exportFEN());
+                assertEquals(board.getPositionKey(), decoded.getPositionKey());
+                assertArrayEquals(data, decoded.exportBinary());
+            }
+        }
+    }
+
+    @Test
+    public void testEnPassantAndOffset() throws InvalidPositionException {
+        GameBoard board = new GameBoard();
+        board.importFEN("4k3/8/8/3pP3/8/8/8/4K3 w - d6");
+        byte[] buffer = new byte[2 * GameBoard.BINARY_POSITION_SIZE];
+        board.exportBinary(buffer, GameBoard.BINARY_POSITION_SIZE);
+
+        GameBoard decoded = new GameBoard();
+        decoded.importBinary(buffer, GameBoard.BINARY_POSITION_SIZE);
+        assertEquals(BoardCell.D6, decoded.getEnPassantCell());
+        assertTrue(decoded.getPiece(BoardCell.E5).getMoveCells().contains(BoardCell.D6));
+    }
+
+    @Test(expected = InvalidPositionException.class)
+    public void testInvalidPieceCode() throws InvalidPositionException {
+        byte[] data = new byte[GameBoard.BINARY_POSITION_SIZE];
+        data[0] = 1;
+        data[8] = 0xC;
+        data[25] = 64;
+        new GameBoard().importBinary(data, 0);
+    }
+
+    @Test
+    public void testCompactPosition() throws InvalidPositionException, InvalidMoveException {
+        GameBoard board = new GameBoard();
+        board.importFEN(PerftPosition.STARTING.getFen());
+        CompactPosition start = board.exportCompactPosition();
+        Position full = board.exportPosition();
+        assertEquals(full.getPosition(), start.getPosition());
+        assertEquals(Color.WHITE, start.getTurnColor());
+        assertTrue(start.getBoardState().getWhiteCanCastleKingSide());
+        assertTrue(start.getBoardState().getBlackCanCastleQueenSide());
+        assertNull(start.getBoardState().getEpCell());
+
+        Set<CompactPosition> seen = new HashSet<>();
+        seen.add(start);
+        for (String uci : new String[]{"g1f3", "g8f6", "f3g1", "f6g8"}) {
+            board.applyUci(uci);
+            assertEquals(uci.equals("f6g8"), !seen.add(board.exportCompactPosition()));
+        }
+        assertEquals(start, board.exportCompactPosition());
+        assertEquals(start.hashCode(), board.exportCompactPosition().hashCode());
+
+        GameBoard restored = new GameBoard();
+        start.applyTo(restored);
+        assertEquals(board.exportFEN(), restored.exportFEN());
+
+        Position bean = start.toPosition();
+        assertEquals(full, bean);
+        bean.setTurnColor(Color.BLACK);
+        assertEquals(Color.WHITE, start.getTurnColor());
+    }
+}
@@ -0,0 +1,99 @@
+package com.fgodard.chess;
+
+import com.fgodard.chess.board.*;
+import com.fgodard.chess.exception.InvalidMoveException;
+import com.fgodard.chess.exception.InvalidPositionException;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class BitBoardTest {
+
+    private static final String STARTING_FEN = "rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w KQkq -";
+
+    private void assertInSync(GameBoard board) {
+        BitBoard bb = board.getBitBoard();
+        long white = 0L;
+        long black = 0L;
+        for (BoardCell cell : BoardCell.values()) {
+            Piece p = board.getPiece(cell);
+            int code = bb.getPieceCode(cell.getIdx());
+            if (p == null) {
+                assertEquals(BitBoard.EMPTY, code);
+            } else {
+                assertEquals(p.getPosSymbol(), BitBoard.symbolOf(code));
+                assertTrue((bb.getPieces(code) & (1L << cell.getIdx())) != 0);
+                if (p.getColor() == Color.WHITE) {
+                    white |= 1L << cell.getIdx();
+                } else {
+                    black |= 1L << cell.getIdx();
+                }
+            }
+        }
+        assertEquals(white, bb.getColorOccupancy(BitBoard.WHITE));
+        assertEquals(black, bb.getColorOccupancy(BitBoard.BLACK));
+        assertEquals(white | black, bb.getOccupancy());
+    }
+
+    @Test
+    public void testStartingPosition() throws InvalidPositionException {
+        GameBoard board = new GameBoard();
+        board.importFEN(STARTING_FEN);
+
+        BitBoard bb = board.getBitBoard();
+        assertEquals(0x000000000000FF00L, bb.getPieces(BitBoard.WHITE, BitBoard.PAWN));
+        assertEquals(0x00FF000000000000L, bb.getPieces(BitBoard.BLACK, BitBoard.PAWN));
+        assertEquals(0xFFFF00000000FFFFL, bb.getOccupancy());
+        assertEquals(BoardCell.E1.getIdx(), bb.getKingIdx(BitBoard.WHITE));
+        assertEquals(BoardCell.E8.getIdx(), bb.getKingIdx(BitBoard.BLACK));
+        assertInSync(board);
+    }
+
+    @Test
+    public void testPieceCodes() {
+        assertEquals(BitBoard.pieceCode(BitBoard.WHITE, BitBoard.KNIGHT), BitBoard.pieceCode('N'));
+        assertEquals(BitBoard.pieceCode(BitBoard.BLACK, BitBoard.QUEEN), BitBoard.pieceCode('q'));
+        assertEquals(BitBoard.EMPTY, BitBoard.pieceCode('x'));
+        assertEquals('k', BitBoard.symbolOf(BitBoard.pieceCode(BitBoard.BLACK, BitBoard.KING)));
+    }
+
+    @Test
+    public void testSyncAfterMoves() throws InvalidPositionException, InvalidMoveException {
+        GameBoard board = new GameBoard();
+        board.importFEN(STARTING_FEN);
+
+        String[] moves = {"e2e4", "d7d5", "e4d5", "g8f6", "g1f3", "f6d5", "f1c4", "c7c5", "e1g1", "b8c6", "c4d5", "d8d5"};
+        for (String uci : moves) {
+            board.applyUci(uci);
+            assertInSync(board);
+        }
+    }
+
+    @Test
+    public void testSyncAfterEnPassantAndPromotion() throws InvalidPositionException, InvalidMoveException {
+        GameBoard board = new GameBoard();
+        board.importFEN("4k3/1P6/8/3pP3/8/8/8/4K3 w - d6");
+
+        board.applyUci("e5d6");
+        assertInSync(board);
+        assertNull(board.getPiece(BoardCell.D5));
+
+        board.applyUci("e8f7");
+        board.applyUci("b7b8q");
+        assertInSync(board);
+        assertEquals('Q', BitBoard.symbolOf(board.getBitBoard().getPieceCode(BoardCell.B8.getIdx())));
+    }
+
+    @Test
+    public void testLLPExportFromBitBoard() throws InvalidPositionException {
+        GameBoard board = new GameBoard();
+        board.importFEN(STARTING_FEN);
+        String llp = board.exportLLP();
+
+        GameBoard other = new GameBoard();
+        other.importLLP(llp);
+        assertInSync(other);
+        assertEquals(board.getBitBoard().getOccupancy(), other.getBitBoard().getOccupancy());
+    }
+}
@@ -3,6 +3,7 @@ package com.fgodard.chess;
 import com.fgodard.chess.board.Board;
 import com.fgodard.chess.board.BoardCell;
 import com.fgodard.chess.board.BoardColor;
+import com.fgodard.chess.board.BoardGeometry;
 import com.fgodard.chess.exception.InvalidCellException;
 
 import org.junit.Test;
@@ -146,4 +147,42 @@ public class BoardCellTest {
             seen[idx] = true;
         }
     }
+
+    @Test
+    public void testFromIdx() {
+        for (BoardCell cell : BoardCell.values()) {
+            assertSame(cell, BoardCell.fromIdx(cell.getIdx()));
+        }
+    }
+
+    @Test
+    public void testGeometryRelativeCell() {
+        assertEquals(BoardCell.F6, BoardGeometry.getRelativeCell(BoardCell.E4, 1, 2));
+        assertNull(BoardGeometry.getRelativeCell(BoardCell.H8, 1, 0));
+        assertEquals(BoardGeometry.NO_CELL, BoardGeometry.getRelativeIdx(BoardCell.A1.getIdx(), -1, 0));
+        assertEquals(BoardCell.B2.getIdx(), BoardGeometry.getNeighbour(BoardCell.A1.getIdx(), BoardGeometry.NORTH_EAST));
+        assertEquals(BoardGeometry.NO_CELL, BoardGeometry.getNeighbour(BoardCell.A1.getIdx(), BoardGeometry.WEST));
+    }
+
+    @Test
+    public void testGeometryJumps() {
+        assertEquals(2, BoardGeometry.getKnightJumps(BoardCell.A1.getIdx()).length);
+        assertEquals(8, BoardGeometry.getKnightJumps(BoardCell.D4.getIdx()).length);
+        assertEquals(3, BoardGeometry.getKingJumps(BoardCell.A8.getIdx()).length);
+        assertEquals(8, BoardGeometry.getKingJumps(BoardCell.E4.getIdx()).length);
+    }
+
+    @Test
+    public void testGeometryBetweenAndLine() {
+        long between = BoardGeometry.getBetween(BoardCell.A1.getIdx(), BoardCell.D4.getIdx());
+        assertEquals((1L << BoardCell.B2.getIdx()) | (1L << BoardCell.C3.getIdx()), between);
+        assertEquals(between, BoardGeometry.getBetween(BoardCell.D4.getIdx(), BoardCell.A1.getIdx()));
+        assertEquals(0L, BoardGeometry.getBetween(BoardCell.A1.getIdx(), BoardCell.B3.getIdx()));
+        assertEquals(0L, BoardGeometry.getBetween(BoardCell.E4.getIdx(), BoardCell.E5.getIdx()));
+
+        assertEquals(0x8040201008040201L, BoardGeometry.getLine(BoardCell.C3.getIdx(), BoardCell.F6.getIdx()));
+        assertEquals(0x00000000000000FFL, BoardGeometry.getLine(BoardCell.B1.getIdx(), BoardCell.G1.getIdx()));
+        assertEquals(0L, BoardGeometry.getLine(BoardCell.A1.getIdx(), BoardCell.B3.getIdx()));
+        assertEquals(0x0101010101010100L, BoardGeometry.getRay(BoardGeometry.NORTH, BoardCell.A1.getIdx()));
+    }
 }
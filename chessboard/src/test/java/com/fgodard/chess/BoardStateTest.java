@@ -0,0 +1,69 @@
+package com.fgodard.chess;
+
+import com.fgodard.chess.beans.BoardState;
+import com.fgodard.chess.beans.Position;
+import com.fgodard.chess.board.GameBoard;
+import com.fgodard.chess.board.PerftPosition;
+import com.fgodard.chess.exception.InvalidMoveException;
+import com.fgodard.chess.exception.InvalidPositionException;
+
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+
+import static org.junit.Assert.*;
+
+public class BoardStateTest {
+
+    @Test
+    public void testCanonicalInstances() {
+        BoardState state = BoardState.of(true, false, false, true, "e3");
+        assertSame(state, BoardState.of(1 | 8, 20));
+        assertSame(state, BoardState.valueOf(state.getPacked()));
+        assertEquals("e3", state.getEpCell());
+        assertTrue(state.getWhiteCanCastleKingSide());
+        assertFalse(state.getWhiteCanCastleQueenSide());
+        assertFalse(state.getBlackCanCastleKingSide());
+        assertTrue(state.getBlackCanCastleQueenSide());
+        assertEquals(9, state.getCastleRights());
+
+        assertNull(BoardState.of(15, -1).getEpCell());
+        assertSame(BoardState.of(15, -1), BoardState.of(15, 64));
+        assertEquals("h6", BoardState.of(0, 47).getEpCell());
+        assertNotEquals(BoardState.of(0, 47), BoardState.of(0, 23));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidEpCell() {
+        BoardState.of(0, 28);
+    }
+
+    @Test
+    public void testExportedPositionsShareState() throws InvalidPositionException, InvalidMoveException, IOException, ClassNotFoundException {
+        GameBoard board = new GameBoard();
+        board.importFEN(PerftPosition.STARTING.getFen());
+        Position start = board.exportPosition();
+        for (String uci : new String[]{"g1f3", "g8f6", "f3g1", "f6g8"}) {
+            board.applyUci(uci);
+        }
+        Position again = board.exportPosition();
+        assertSame(start.getBoardState().get(), again.getBoardState().get());
+        assertEquals(start, again);
+
+        board.importFEN("4k3/8/8/8/5p2/8/4P3/4K3 w - -");
+        board.applyUci("e2e4");
+        assertSame(BoardState.of(0, 20), board.exportPosition().getBoardState().get());
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(start.getBoardState().get());
+        }
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            assertSame(start.getBoardState().get(), in.readObject());
+        }
+    }
+}
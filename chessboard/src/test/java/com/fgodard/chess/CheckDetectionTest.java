@@ -220,4 +220,65 @@ public class CheckDetectionTest {
         assertTrue(ply.isCheck());
         assertFalse(ply.isMate());
     }
+
+    @Test
+    public void testIsSquareAttacked() throws InvalidPositionException {
+        GameBoard board = new GameBoard();
+        board.importFEN("4r3/8/3n4/8/4K3/8/8/4k3 w - -");
+
+        assertTrue(MoveHelper.isSquareAttacked(board, BoardCell.E4, Color.BLACK));
+        assertTrue(MoveHelper.isSquareAttacked(board, BoardCell.C4, Color.BLACK));
+        assertFalse(MoveHelper.isSquareAttacked(board, BoardCell.A1, Color.BLACK));
+        assertTrue(MoveHelper.isSquareAttacked(board, BoardCell.D5, Color.WHITE));
+    }
+
+    @Test
+    public void testIsInCheck() throws InvalidPositionException {
+        GameBoard board = new GameBoard();
+        board.importFEN("4r3/8/8/8/4K3/8/8/k7 w - -");
+        assertTrue(board.isInCheck(Color.WHITE));
+        assertFalse(board.isInCheck(Color.BLACK));
+
+        board.importFEN("4r3/4P3/8/8/4K3/8/8/k7 w - -");
+        assertFalse(board.isInCheck(Color.WHITE));
+    }
+
+    @Test
+    public void testKingCannotRetreatAlongCheckRay() throws InvalidPositionException {
+        GameBoard board = new GameBoard();
+        board.importFEN("8/8/8/8/r3K3/8/8/k7 w - -");
+
+        King king = (King) board.getPiece(BoardCell.E4);
+        Collection<BoardCell> moves = king.getMoveCells();
+        assertFalse(moves.contains(BoardCell.F4));
+        assertTrue(moves.contains(BoardCell.F5));
+    }
+
+    @Test
+    public void testBackRankMate() throws InvalidPositionException, InvalidMoveException {
+        GameBoard board = new GameBoard();
+        board.importFEN("6k1/5ppp/8/8/8/8/8/R5K1 w - -");
+
+        Ply ply = new Ply();
+        ply.setPiece('R');
+        ply.setDestCell("a8");
+        board.move(ply);
+
+        assertTrue(ply.isCheck());
+        assertTrue(ply.isMate());
+    }
+
+    @Test
+    public void testBackRankCheckBlocked() throws InvalidPositionException, InvalidMoveException {
+        GameBoard board = new GameBoard();
+        board.importFEN("6k1/5ppp/8/8/8/8/2r5/R5K1 w - -");
+
+        Ply ply = new Ply();
+        ply.setPiece('R');
+        ply.setDestCell("a8");
+        board.move(ply);
+
+        assertTrue(ply.isCheck());
+        assertFalse(ply.isMate());
+    }
 }
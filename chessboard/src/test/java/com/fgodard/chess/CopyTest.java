@@ -0,0 +1,74 @@
+package com.fgodard.chess;
+
+import com.fgodard.chess.board.*;
+import com.fgodard.chess.exception.InvalidMoveException;
+import com.fgodard.chess.exception.InvalidPositionException;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class CopyTest {
+
+    private void assertSamePosition(GameBoard expected, GameBoard actual) {
+        assertEquals(expected.exportFEN(), actual.exportFEN());
+        assertEquals(expected.getPositionKey(), actual.getPositionKey());
+        assertEquals(expected.getTurnColor(), actual.getTurnColor());
+        assertEquals(expected.getPlyNo(), actual.getPlyNo());
+        assertEquals(expected.getPlyNoSincePawn(), actual.getPlyNoSincePawn());
+        for (BoardCell cell : BoardCell.values()) {
+            Piece p = actual.getPiece(cell);
+            if (p == null) {
+                assertNull(expected.getPiece(cell));
+            } else {
+                assertEquals(cell, p.getCell());
+                assertSame(actual, p.getCurrentBoard());
+                assertEquals(expected.getPiece(cell).getPosSymbol(), p.getPosSymbol());
+            }
+        }
+    }
+
+    @Test
+    public void testCopyIsIndependent() throws InvalidPositionException, InvalidMoveException {
+        GameBoard board = new GameBoard();
+        board.importFEN(PerftPosition.KIWIPETE.getFen());
+        GameBoard copy = board.copy();
+        assertSamePosition(board, copy);
+
+        copy.applyUci("e1g1");
+        assertEquals(PerftPosition.KIWIPETE.getFen(), board.exportFEN());
+        assertNotEquals(board.getPositionKey(), copy.getPositionKey());
+        assertEquals(Perft.perft(board, 2), 2039L);
+    }
+
+    @Test
+    public void testCopyFromReusesTarget() throws InvalidPositionException {
+        GameBoard target = new GameBoard();
+        for (PerftPosition position : PerftPosition.values()) {
+            GameBoard board = new GameBoard();
+            board.importFEN(position.getFen());
+            target.copyFrom(board);
+            assertSamePosition(board, target);
+            assertEquals(position.name(), position.getExpectedNodes(2), Perft.perft(target, 2));
+        }
+    }
+
+    @Test
+    public void testCopyKeepsEnPassantAndHistory() throws InvalidPositionException, InvalidMoveException {
+        GameBoard board = new GameBoard();
+        board.importFEN("4k3/1P6/8/3pP3/8/8/8/4K3 w - d6");
+        GameBoard copy = board.copy();
+        copy.applyUci("e5d6");
+        assertNull(copy.getPiece(BoardCell.D5));
+
+        board.importFEN("rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w KQkq -");
+        for (String uci : new String[]{"g1f3", "g8f6", "f3g1", "f6g8", "g1f3", "g8f6", "f3g1"}) {
+            board.applyUci(uci);
+        }
+        copy.copyFrom(board);
+        assertFalse(copy.isRepetition(3));
+        copy.makeMove(Move.fromUci(copy, "f6g8"));
+        assertTrue(copy.isRepetition(3));
+        assertFalse(board.isRepetition(3));
+    }
+}
@@ -6,6 +6,10 @@ import com.fgodard.chess.exception.InvalidPositionException;
 
 import org.junit.Test;
 
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
+
 import static org.junit.Assert.*;
 
 public class FenTest {
@@ -228,4 +232,121 @@ public class FenTest {
         assertNotNull(htmlBlack);
         assertTrue(htmlBlack.contains("<table"));
     }
+
+    @Test
+    public void testImportFenRange() throws InvalidPositionException {
+        String line = "id 42; fen 4k3/8/8/3pP3/8/8/8/4K3 w - d6 7 40; eval 0.3";
+        int start = line.indexOf("fen ") + 4;
+        int end = line.indexOf(';', start);
+        GameBoard board = new GameBoard();
+        board.importFEN(line, start, end);
+        assertEquals("4k3/8/8/3pP3/8/8/8/4K3 w - d6", board.exportFEN());
+
+        GameBoard fromChars = new GameBoard(true);
+        fromChars.importFEN(line.toCharArray(), start, end);
+        assertEquals(board.getPositionKey(), fromChars.getPositionKey());
+        assertEquals(BoardCell.D6, fromChars.getEnPassantCell());
+    }
+
+    @Test
+    public void testImportChess960Castling() throws InvalidPositionException {
+        GameBoard board = new GameBoard();
+        board.importFEN("4k3/8/8/8/8/8/8/R3K2R w HAha -");
+        assertTrue(board.isChess960());
+        board.importFEN(STARTING_FEN);
+        assertFalse(board.isChess960());
+        assertTrue(board.isWhiteCanCastleKingSide());
+    }
+
+    @Test(expected = InvalidPositionException.class)
+    public void testImportInvalidTurn() throws InvalidPositionException {
+        new GameBoard().importFEN("4k3/8/8/8/8/8/8/4K3 x - -");
+    }
+
+    @Test
+    public void testExportFenToBuffers() throws Exception {
+        GameBoard board = new GameBoard();
+        board.importFEN("r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R b Kq -");
+
+        StringBuilder sb = new StringBuilder("fen: ");
+        board.exportFEN(sb);
+        assertEquals("fen: " + board.exportFEN(), sb.toString());
+
+        char[] dest = new char[2 + GameBoard.MAX_FEN_LENGTH];
+        int end = board.exportFEN(dest, 2);
+        assertEquals(board.exportFEN(), new String(dest, 2, end - 2));
+    }
+
+    @Test
+    public void testIncrementalLLPMatchesFullExport() throws InvalidPositionException {
+        GameBoard board = new GameBoard();
+        board.importFEN("r3k2r/1P6/q7/3pP3/8/8/6p1/R3K2R w KQkq d6");
+        board.exportLLP();
+        for (String uci : new String[]{"e5d6", "g2h1q", "e1d2", "e8d7", "b7b8q", "a8b8", "a1a6", "h1e4"}) {
+            assertEquals(uci, MoveStatus.OK, board.tryApplyUci(uci));
+            String llp = board.exportLLP();
+
+            GameBoard fresh = new GameBoard();
+            fresh.importFEN(board.exportFEN());
+            assertEquals(uci, fresh.exportLLP(), llp);
+
+            GameBoard imported = new GameBoard(true);
+            imported.importLLP(llp);
+            assertEquals(uci, board.getBitBoard().getKey(), imported.getBitBoard().getKey());
+            if (uci.equals("g2h1q")) {
+                // deux dames noires : celle de h1 est une pièce supplémentaire
+                assertTrue(llp, llp.endsWith("qH"));
+            }
+        }
+    }
+
+    @Test
+    public void testReimportReusesPieces() throws InvalidPositionException {
+        GameBoard board = new GameBoard();
+        board.importFEN(STARTING_FEN);
+        Set<Piece> previous = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (BoardCell cell : BoardCell.values()) {
+            if (board.getPiece(cell) != null) {
+                previous.add(board.getPiece(cell));
+            }
+        }
+        assertEquals(32, previous.size());
+
+        String fen = "r1bqkb1r/pppp1ppp/2n2n2/4p3/2B1P3/5N2/PPPP1PPP/RNBQK2R w KQkq -";
+        char[] chars = fen.toCharArray();
+        board.importFEN(chars, 0, chars.length);
+        int pieces = 0;
+        for (BoardCell cell : BoardCell.values()) {
+            Piece piece = board.getPiece(cell);
+            if (piece != null) {
+                pieces++;
+                assertTrue(cell.name(), previous.contains(piece));
+                assertEquals(cell, piece.getCell());
+                assertSame(board, piece.getCurrentBoard());
+            }
+        }
+        assertEquals(32, pieces);
+        assertEquals(fen, board.exportFEN().substring(0, fen.length()));
+    }
+
+    @Test
+    public void testPieceReferencesAreRecycledByImport() throws InvalidPositionException {
+        GameBoard board = new GameBoard();
+        board.importFEN(STARTING_FEN);
+        Piece king = board.getPiece(BoardCell.E1);
+        Piece queen = board.getPiece(BoardCell.D1);
+
+        // une pièce absente de la nouvelle position n'est plus sur l'échiquier
+        board.importFEN("4k3/8/8/8/8/8/8/4K3 w - -");
+        assertSame(king, board.getPiece(BoardCell.E1));
+        assertNull(queen.getCell());
+
+        // puis elle est réutilisée par l'import suivant, sur une autre case
+        char[] fen = "4k3/8/8/7Q/8/8/8/K7 w - -".toCharArray();
+        board.importFEN(fen, 0, fen.length);
+        assertSame(queen, board.getPiece(BoardCell.H5));
+        assertEquals(BoardCell.H5, queen.getCell());
+        assertSame(king, board.getPiece(BoardCell.A1));
+        assertEquals(BoardCell.A1, king.getCell());
+    }
 }
@@ -0,0 +1,149 @@
+package com.fgodard.chess;
+
+import com.fgodard.chess.beans.Ply;
+import com.fgodard.chess.board.*;
+import com.fgodard.chess.exception.InvalidMoveException;
+import com.fgodard.chess.exception.InvalidPositionException;
+
+import org.junit.Test;
+
+import java.util.HashSet;
+
+import static org.junit.Assert.*;
+
+public class FlyweightTest {
+
+    private static Ply ply(char piece, String orig, String dest) {
+        Ply ply = new Ply();
+        ply.setPiece(piece);
+        ply.setOrigCell(orig);
+        ply.setDestCell(dest);
+        return ply;
+    }
+
+    @Test
+    public void testKindsAreShared() throws InvalidPositionException {
+        GameBoard first = new GameBoard();
+        first.importFEN(PerftPosition.STARTING.getFen());
+        GameBoard second = new GameBoard();
+        second.importFEN(PerftPosition.STARTING.getFen());
+
+        assertSame(first.getPiece(BoardCell.G1).getKind(), second.getPiece(BoardCell.B1).getKind());
+        assertSame(PieceKind.WHITE_KNIGHT, PieceKind.of('N'));
+        assertSame(PieceKind.BLACK_KING, PieceKind.of('k'));
+        assertNull(PieceKind.of('x'));
+        assertEquals(Color.BLACK, PieceKind.BLACK_QUEEN.getColor());
+        assertEquals('Q', PieceKind.BLACK_QUEEN.getSymbol());
+        assertEquals('q', PieceKind.BLACK_QUEEN.getPosSymbol());
+    }
+
+    @Test
+    public void testKindMoveCellsMatchPieces() throws InvalidPositionException {
+        for (PerftPosition position : PerftPosition.values()) {
+            GameBoard board = new GameBoard();
+            board.importFEN(position.getFen());
+            GameBoard flyweight = new GameBoard(true);
+            flyweight.importFEN(position.getFen());
+            for (BoardCell cell : BoardCell.values()) {
+                Piece p = board.getPiece(cell);
+                PieceKind kind = flyweight.getPieceKind(cell);
+                if (p == null) {
+                    assertNull(kind);
+                } else {
+                    assertSame(p.getKind(), kind);
+                    assertEquals(position.name() + " " + cell, new HashSet<>(p.getMoveCells()),
+                            new HashSet<>(kind.getMoveCells(flyweight, cell)));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testFlyweightBoardPerft() throws InvalidPositionException {
+        for (PerftPosition position : PerftPosition.values()) {
+            GameBoard board = new GameBoard(true);
+            board.importFEN(position.getFen());
+            assertEquals(position.name(), position.getExpectedNodes(3), Perft.perft(board, 3));
+            assertEquals(position.getFen(), board.exportFEN());
+            GameBoard copy = board.copy();
+            assertTrue(copy.isFlyweight());
+            assertEquals(board.getPositionKey(), copy.getPositionKey());
+        }
+    }
+
+    @Test
+    public void testFlyweightBoardPlays() throws InvalidPositionException, InvalidMoveException {
+        GameBoard board = new GameBoard();
+        board.importFEN(PerftPosition.STARTING.getFen());
+        GameBoard flyweight = new GameBoard(true);
+        flyweight.importFEN(PerftPosition.STARTING.getFen());
+
+        String[] ucis = {"e2e4", "e7e5", "f1c4", "b8c6", "d1h5", "g8f6"};
+        for (String uci : ucis) {
+            board.applyUci(uci);
+            flyweight.applyUci(uci);
+            assertEquals(board.exportFEN(), flyweight.exportFEN());
+            assertEquals(board.getPositionKey(), flyweight.getPositionKey());
+        }
+
+        Ply mate = ply('Q', null, "f7");
+        flyweight.move(mate);
+        assertEquals("h5", mate.getOrigCell());
+        assertEquals(Color.WHITE, mate.getColor());
+        assertTrue(mate.isTake());
+        assertTrue(mate.isCheck());
+        assertTrue(mate.isMate());
+        assertTrue(flyweight.isCheckMate());
+
+        // la copie vers un échiquier à pièces reconstruit les objets
+        board.copyFrom(flyweight);
+        assertEquals(PieceKind.WHITE_QUEEN, board.getPiece(BoardCell.F7).getKind());
+        assertEquals(flyweight.exportFEN(), board.exportFEN());
+    }
+
+    @Test
+    public void testFlyweightBoardSpecialMoves() throws InvalidPositionException, InvalidMoveException {
+        GameBoard board = new GameBoard(true);
+        board.importFEN("r3k2r/8/8/8/8/8/8/R3K2R w KQkq -");
+        Ply castle = new Ply();
+        castle.setKingCastle(true);
+        board.move(castle);
+        assertEquals(PieceKind.WHITE_KING, board.getPieceKind(BoardCell.G1));
+        assertEquals(PieceKind.WHITE_ROOK, board.getPieceKind(BoardCell.F1));
+        assertFalse(board.isWhiteCanCastleQueenSide());
+
+        board.importFEN("4k3/8/8/3pP3/8/8/8/4K3 w - d6");
+        Ply enPassant = ply('P', "e", "d6");
+        board.move(enPassant);
+        assertTrue(enPassant.isEnPassant());
+        assertNull(board.getPieceKind(BoardCell.D5));
+        board.unmakeMove();
+        assertEquals(PieceKind.BLACK_PAWN, board.getPieceKind(BoardCell.D5));
+
+        board.importFEN("4k3/1P6/8/8/8/8/8/4K3 w - -");
+        Ply promotion = ply('P', "b7", "b8");
+        promotion.setPromotion('N');
+        board.move(promotion);
+        assertEquals(PieceKind.WHITE_KNIGHT, board.getPieceKind(BoardCell.B8));
+        board.unmakeMove();
+        assertEquals(PieceKind.WHITE_PAWN, board.getPieceKind(BoardCell.B7));
+    }
+
+    @Test
+    public void testFlyweightBoardRejects() throws InvalidPositionException {
+        GameBoard board = new GameBoard(true);
+        board.importFEN(PerftPosition.STARTING.getFen());
+        try {
+            board.getPiece(BoardCell.E1);
+            fail();
+        } catch (IllegalStateException e) {
+            // attendu
+        }
+        try {
+            board.move(ply('N', null, "e4"));
+            fail();
+        } catch (InvalidMoveException e) {
+            // attendu
+        }
+    }
+}
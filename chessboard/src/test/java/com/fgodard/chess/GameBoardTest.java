@@ -10,6 +10,8 @@ import com.fgodard.chess.exception.InvalidPositionException;
 
 import org.junit.Test;
 
+import java.util.Collection;
+
 import static org.junit.Assert.*;
 
 public class GameBoardTest {
@@ -217,4 +219,252 @@ public class GameBoardTest {
         assertFalse(board.isBlackCanCastleKingSide());
         assertFalse(board.isBlackCanCastleQueenSide());
     }
+
+    private static Ply ply(char piece, String dest) {
+        Ply ply = new Ply();
+        ply.setPiece(piece);
+        ply.setDestCell(dest);
+        return ply;
+    }
+
+    @Test
+    public void testSanResolutionFollowsCapturesAndMoves() throws InvalidPositionException, InvalidMoveException {
+        GameBoard board = new GameBoard();
+        board.importFEN("4k3/8/8/8/8/2n5/8/1N2K1N1 b - -");
+
+        Ply capture = ply('N', "b1");
+        board.move(capture);
+        assertEquals("c3", capture.getOrigCell());
+        assertTrue(capture.isTake());
+
+        Ply white = ply('N', "e2");
+        board.move(white);
+        assertEquals("g1", white.getOrigCell());
+
+        board.move(ply('N', "d2"));
+        Ply back = ply('N', "c3");
+        board.move(back);
+        assertEquals("e2", back.getOrigCell());
+        assertTrue(board.getPiece(BoardCell.C3) instanceof Knight);
+        assertEquals("4k3/8/8/8/8/2N5/3n4/4K3 b - -", board.exportFEN());
+
+        // après annulation d'une prise, la pièce restaurée est de nouveau trouvée
+        board.importFEN("4k3/8/8/8/8/2n5/8/1N2K1N1 b - -");
+        board.makeMove(Move.fromUci(board, "c3b1"));
+        board.unmakeMove();
+        board.setTurnColor(Color.WHITE);
+        Ply restored = ply('N', "a3");
+        board.move(restored);
+        assertEquals("b1", restored.getOrigCell());
+
+        // index par type : seules les pièces demandées, à jour après prises et déplacements
+        Collection<Piece> knights = board.getPieces(Color.WHITE, 'N');
+        assertEquals(2, knights.size());
+        for (Piece knight : knights) {
+            assertTrue(knight instanceof Knight);
+            assertSame(knight, board.getPiece(knight.getCell()));
+        }
+        assertTrue(board.getPieces(Color.BLACK, 'n').contains(board.getPiece(BoardCell.C3)));
+        assertTrue(board.getPieces(Color.WHITE, 'Q').isEmpty());
+    }
+
+    private static Ply ply(char piece, String orig, String dest) {
+        Ply ply = ply(piece, dest);
+        ply.setOrigCell(orig);
+        return ply;
+    }
+
+    @Test
+    public void testSanDisambiguation() throws InvalidPositionException, InvalidMoveException {
+        GameBoard board = new GameBoard();
+        board.importFEN("4k3/8/R7/8/8/8/4K3/R6R w - -");
+
+        Ply byRank = ply('R', "1", "a3");
+        board.move(byRank);
+        assertEquals("a1", byRank.getOrigCell());
+
+        board.importFEN("4k3/8/R7/8/8/8/4K3/R6R w - -");
+        Ply byFile = ply('R', "h", "d1");
+        board.move(byFile);
+        assertEquals("h1", byFile.getOrigCell());
+
+        board.importFEN("4k3/8/R7/8/8/8/4K3/R6R w - -");
+        try {
+            board.move(ply('R', "a3"));
+            fail();
+        } catch (InvalidMoveException e) {
+            // a1 et a6 peuvent aller en a3
+        }
+    }
+
+    @Test
+    public void testSanIgnoresPinnedPiece() throws InvalidPositionException, InvalidMoveException {
+        GameBoard board = new GameBoard();
+        // le cavalier c3 est cloué par le fou b4 : Ne2 ne peut venir que de g1
+        board.importFEN("4k3/8/8/8/1b6/2N5/8/4K1N1 w - -");
+        Ply ply = ply('N', "e2");
+        board.move(ply);
+        assertEquals("g1", ply.getOrigCell());
+    }
+
+    @Test
+    public void testSanPawnMoves() throws InvalidPositionException, InvalidMoveException {
+        GameBoard board = new GameBoard();
+        board.importFEN(STARTING_FEN);
+        Ply push = ply('P', "e4");
+        board.move(push);
+        assertEquals("e2", push.getOrigCell());
+
+        board.importFEN("4k3/8/8/3pP3/8/8/8/4K3 w - d6");
+        Ply enPassant = ply('P', "e", "d6");
+        board.move(enPassant);
+        assertEquals("e5", enPassant.getOrigCell());
+        assertTrue(enPassant.isEnPassant());
+        assertNull(board.getPiece(BoardCell.D5));
+
+        try {
+            board.move(ply('P', "d3"));
+            fail();
+        } catch (InvalidMoveException e) {
+            // aucun pion noir ne peut aller en d3
+        }
+    }
+
+    @Test
+    public void testTryMoveAndMoveShareUndoStack() throws InvalidPositionException, InvalidMoveException {
+        GameBoard board = new GameBoard();
+        board.importFEN(STARTING_FEN);
+        assertEquals(MoveStatus.OK, board.tryMove(ply('P', "e4")));
+        assertEquals(1, board.getUndoDepth());
+        board.move(ply('P', "d5"));
+        String fen = board.exportFEN();
+        // le coup joué par move(Ply) n'est pas annulable : l'état de e4 ne doit pas être restauré
+        assertEquals(0, board.getUndoDepth());
+        try {
+            board.unmakeMove();
+            fail();
+        } catch (IllegalStateException e) {
+            assertEquals(fen, board.exportFEN());
+        }
+
+        Ply take = ply('P', "e", "d5");
+        assertEquals(MoveStatus.OK, board.tryMove(take));
+        assertTrue(take.isTake());
+        board.unmakeMove();
+        assertEquals(fen, board.exportFEN());
+        assertTrue(board.getPiece(BoardCell.D5) instanceof Pawn);
+        assertEquals(Color.BLACK, board.getPiece(BoardCell.D5).getColor());
+    }
+
+    @Test
+    public void testTryMoveStatus() throws InvalidPositionException {
+        GameBoard board = new GameBoard();
+        board.importFEN("4k3/8/R7/8/8/8/4K3/R6R w - -");
+        String fen = board.exportFEN();
+        assertEquals(MoveStatus.AMBIGUOUS, board.tryMove(ply('R', "a3")));
+        assertEquals(MoveStatus.ILLEGAL, board.tryMove(ply('N', "c3")));
+        assertEquals(fen, board.exportFEN());
+
+        Ply byRank = ply('R', "1", "a3");
+        assertEquals(MoveStatus.OK, board.tryMove(byRank));
+        assertEquals("a1", byRank.getOrigCell());
+        assertEquals(Color.WHITE, byRank.getColor());
+        assertEquals(Color.BLACK, board.getTurnColor());
+
+        GameBoard noTurn = new GameBoard();
+        noTurn.importFEN("4k3/8/8/8/8/8/8/4K3 w - -");
+        noTurn.setTurnColor(null);
+        assertEquals(MoveStatus.NO_TURN, noTurn.tryMove(ply('K', "e2")));
+    }
+
+    @Test
+    public void testTryApplyUciStatus() throws InvalidPositionException {
+        GameBoard board = new GameBoard();
+        board.importFEN(STARTING_FEN);
+        assertEquals(MoveStatus.INVALID, board.tryApplyUci("e2"));
+        assertEquals(MoveStatus.INVALID, board.tryApplyUci("z2e4"));
+        assertEquals(MoveStatus.INVALID, board.tryApplyUci("e4e5"));
+        assertEquals(MoveStatus.ILLEGAL, board.tryApplyUci("e2e5"));
+        assertEquals(MoveStatus.ILLEGAL, board.tryApplyUci("e7e5"));
+        assertEquals(MoveStatus.INVALID, board.tryApplyUci("e2e4zz"));
+        assertEquals(MoveStatus.INVALID, board.tryApplyUci("g1f3q"));
+        assertEquals(MoveStatus.INVALID, board.tryApplyUci("e2e4q"));
+        assertEquals(STARTING_FEN, board.exportFEN().substring(0, STARTING_FEN.length()));
+        assertEquals(0, board.applyUciSequence("g1f3q e7e5"));
+
+        for (String uci : new String[]{"e2e4", "e7e5", "g1f3", "b8c6", "f1c4", "g8f6"}) {
+            assertEquals(uci, MoveStatus.OK, board.tryApplyUci(uci));
+        }
+        assertTrue(board.tryApplyUci("e1h1").isOk());
+        assertEquals(BitBoard.ROOK, board.getPieceKind(BoardCell.F1).getType());
+        assertEquals(BitBoard.KING, board.getPieceKind(BoardCell.G1).getType());
+        assertEquals(Color.BLACK, board.getTurnColor());
+
+        board.importFEN("4k3/1P6/8/8/8/8/8/4K3 w - -");
+        assertEquals(MoveStatus.INVALID, board.tryApplyUci("b7b8x"));
+        assertEquals(MoveStatus.ILLEGAL, board.tryApplyUci("b7b8"));
+        assertEquals(MoveStatus.OK, board.tryApplyUci("b7b8n"));
+        assertEquals(BitBoard.KNIGHT, board.getPieceKind(BoardCell.B8).getType());
+    }
+
+    @Test
+    public void testApplyUciSequence() throws InvalidPositionException, InvalidMoveException {
+        String moves = "e2e4 e7e5  g1f3 b8c6 f1c4 g8f6 e1g1 f6e4 d2d4 e5d4";
+        GameBoard expected = new GameBoard();
+        expected.importFEN(STARTING_FEN);
+        for (String uci : moves.trim().split(" +")) {
+            expected.applyUci(uci);
+        }
+
+        GameBoard board = new GameBoard();
+        board.importFEN(STARTING_FEN);
+        assertEquals(10, board.applyUciSequence(moves));
+        assertEquals(expected.exportFEN(), board.exportFEN());
+        // rejeu en avant seulement : la pile d'annulation ne grossit pas
+        assertEquals(0, board.getUndoDepth());
+
+        // un roque refusé ne modifie pas le trait
+        board.importFEN("4k3/8/8/8/8/8/8/4K2R b K -");
+        assertEquals(MoveStatus.ILLEGAL, board.tryApplyUci("e1g1"));
+        assertEquals(Color.BLACK, board.getTurnColor());
+        board.importFEN("4k3/8/8/8/8/8/5r2/4K2R w K -");
+        assertEquals(MoveStatus.ILLEGAL, board.tryApplyUci("e1g1"));
+        assertEquals(Color.WHITE, board.getTurnColor());
+        assertEquals(BitBoard.KING, board.getPieceKind(BoardCell.E1).getType());
+
+        // arrêt au premier coup illégal (e4 est vide, d5e4 n'est pas une prise)
+        board.importFEN(STARTING_FEN);
+        assertEquals(3, board.applyUciSequence("e2e4 d7d5 e4e5 d5e4 g1f3"));
+        assertEquals(Color.BLACK, board.getTurnColor());
+        assertEquals(BitBoard.PAWN, board.getPieceKind(BoardCell.D5).getType());
+        assertNull(board.getPieceKind(BoardCell.E4));
+
+        // un coup qui laisse le roi en échec n'est pas joué
+        board.importFEN("4k3/8/8/8/1b6/2N5/8/4K3 w - -");
+        assertEquals(0, board.applyUciSequence("c3e2"));
+        assertNotNull(board.getPiece(BoardCell.C3));
+        assertEquals(Color.WHITE, board.getTurnColor());
+
+        board.importFEN("4k3/1P6/8/8/8/8/8/4K3 w - -");
+        assertEquals(0, board.applyUciSequence("b7b8"));
+        assertEquals(1, board.applyUciSequence("b7b8n"));
+        assertEquals(BitBoard.KNIGHT, board.getPieceKind(BoardCell.B8).getType());
+    }
+
+    @Test
+    public void testApplyMoveSequence() throws InvalidPositionException {
+        GameBoard board = new GameBoard(true);
+        board.importFEN(STARTING_FEN);
+        int[] moves = {
+                Move.encode(BoardCell.E2.getIdx(), BoardCell.E4.getIdx(), Move.QUIET),
+                Move.encode(BoardCell.D7.getIdx(), BoardCell.D5.getIdx(), Move.QUIET),
+                Move.encode(BoardCell.E4.getIdx(), BoardCell.D5.getIdx(), Move.QUIET),
+                Move.encode(BoardCell.D8.getIdx(), BoardCell.D1.getIdx(), Move.QUIET)
+        };
+        assertEquals(3, board.applyMoveSequence(moves, 0, moves.length));
+        assertEquals(0, board.getUndoDepth());
+        assertEquals(BitBoard.PAWN, board.getPieceKind(BoardCell.D5).getType());
+        assertEquals(Color.BLACK, board.getTurnColor());
+        assertEquals(15, Long.bitCount(board.getBitBoard().getColorOccupancy(BitBoard.BLACK)));
+    }
 }
@@ -0,0 +1,131 @@
+package com.fgodard.chess;
+
+import com.fgodard.chess.beans.Ply;
+import com.fgodard.chess.board.*;
+import com.fgodard.chess.exception.InvalidMoveException;
+import com.fgodard.chess.exception.InvalidPositionException;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class LegalMoveTest {
+
+    private static final String[] POSITIONS = {
+        "rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w KQkq -",
+        "r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq -",
+        "8/2p5/3p4/KP5r/1R3p1k/8/4P1P1/8 w - -",
+        "r3k2r/Pppp1ppp/1b3nbN/nP6/BBP1P3/q4N2/Pp1P2PP/R2Q1RK1 w kq -",
+        "rnbq1k1r/pp1Pbppp/2p5/8/2B5/8/PPP1NnPP/RNBQK2R w KQ -",
+        "8/8/8/K2pP2q/8/8/8/7k w - d6",
+        "4k3/8/8/8/1b6/8/3P4/4K3 w - -"
+    };
+
+    private int countByFiltering(GameBoard board, int depth) {
+        if (depth == 0) {
+            return 1;
+        }
+        Color color = board.getTurnColor();
+        MoveList moves = new MoveList();
+        MoveGenerator.generatePseudoLegalMoves(board, moves);
+        int nodes = 0;
+        for (int i = 0; i < moves.size(); i++) {
+            board.makeMove(moves.get(i));
+            if (!board.isInCheck(color)) {
+                nodes += countByFiltering(board, depth - 1);
+            }
+            board.unmakeMove();
+        }
+        return nodes;
+    }
+
+    private int countLegal(GameBoard board, int depth) {
+        MoveList moves = new MoveList();
+        int count = board.generateLegalMoves(moves);
+        if (depth == 1) {
+            return count;
+        }
+        int nodes = 0;
+        for (int i = 0; i < count; i++) {
+            board.makeMove(moves.get(i));
+            nodes += countLegal(board, depth - 1);
+            board.unmakeMove();
+        }
+        return nodes;
+    }
+
+    @Test
+    public void testLegalMovesMatchFilteredPseudoLegalMoves() throws InvalidPositionException {
+        for (String fen : POSITIONS) {
+            GameBoard board = new GameBoard();
+            board.importFEN(fen);
+            assertEquals(fen, countByFiltering(board, 3), countLegal(board, 3));
+        }
+    }
+
+    @Test
+    public void testKnownCounts() throws InvalidPositionException {
+        GameBoard board = new GameBoard();
+        board.importFEN(POSITIONS[0]);
+        assertEquals(8902, countLegal(board, 3));
+        board.importFEN(POSITIONS[1]);
+        assertEquals(2039, countLegal(board, 2));
+        board.importFEN(POSITIONS[2]);
+        assertEquals(2812, countLegal(board, 3));
+        board.importFEN(POSITIONS[3]);
+        assertEquals(264, countLegal(board, 2));
+    }
+
+    @Test
+    public void testPinnedPieces() throws InvalidPositionException {
+        GameBoard board = new GameBoard();
+        board.importFEN(POSITIONS[6]);
+
+        assertEquals(1L << BoardCell.D2.getIdx(), Attacks.pinnedPieces(board.getBitBoard(), BitBoard.WHITE));
+        MoveList moves = new MoveList();
+        board.generateLegalMoves(moves);
+        for (int i = 0; i < moves.size(); i++) {
+            assertNotEquals(BoardCell.D2.getIdx(), Move.getFrom(moves.get(i)));
+        }
+    }
+
+    @Test
+    public void testEnPassantDiscoveringCheck() throws InvalidPositionException {
+        GameBoard board = new GameBoard();
+        board.importFEN(POSITIONS[5]);
+
+        MoveList moves = new MoveList();
+        board.generateLegalMoves(moves);
+        assertFalse(moves.contains(Move.encode(BoardCell.E5.getIdx(), BoardCell.D6.getIdx(), Move.EN_PASSANT)));
+    }
+
+    @Test
+    public void testMateAndStaleMate() throws InvalidPositionException {
+        GameBoard board = new GameBoard();
+        board.importFEN("R5k1/5ppp/8/8/8/8/8/6K1 b - -");
+        assertTrue(board.isCheckMate());
+        assertFalse(board.isStaleMate());
+
+        board.importFEN("7k/5Q2/6K1/8/8/8/8/8 b - -");
+        assertFalse(board.isCheckMate());
+        assertTrue(board.isStaleMate());
+
+        board.importFEN("rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w KQkq -");
+        assertFalse(board.isCheckMate());
+        assertFalse(board.isStaleMate());
+    }
+
+    @Test
+    public void testMateWithPinnedInterposer() throws InvalidPositionException, InvalidMoveException {
+        // La tour noire pourrait s'interposer en f8 mais elle est clouée par le fou
+        GameBoard board = new GameBoard();
+        board.importFEN("7k/6rp/8/8/8/8/1B6/R5K1 w - -");
+
+        Ply ply = new Ply();
+        ply.setPiece('R');
+        ply.setDestCell("a8");
+        board.move(ply);
+        assertTrue(ply.isCheck());
+        assertTrue(ply.isMate());
+    }
+}
@@ -0,0 +1,104 @@
+package com.fgodard.chess;
+
+import com.fgodard.chess.board.*;
+import com.fgodard.chess.exception.InvalidMoveException;
+import com.fgodard.chess.exception.InvalidPositionException;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class MakeUnmakeTest {
+
+    private static final String STARTING_FEN = "rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w KQkq -";
+    private static final String KIWIPETE_FEN = "r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq -";
+
+    private void assertInSync(GameBoard board) {
+        BitBoard bb = board.getBitBoard();
+        for (BoardCell cell : BoardCell.values()) {
+            Piece p = board.getPiece(cell);
+            int code = bb.getPieceCode(cell.getIdx());
+            if (p == null) {
+                assertEquals(BitBoard.EMPTY, code);
+            } else {
+                assertEquals(cell, p.getCell());
+                assertEquals(p.getPosSymbol(), BitBoard.symbolOf(code));
+            }
+        }
+    }
+
+    private void assertMakeUnmakeRestores(String fen, int depth) throws InvalidPositionException {
+        GameBoard board = new GameBoard();
+        board.importFEN(fen);
+        walk(board, depth);
+        assertEquals(fen, board.exportFEN());
+        assertEquals(0, board.getUndoDepth());
+    }
+
+    private void walk(GameBoard board, int depth) {
+        if (depth == 0) {
+            return;
+        }
+        String fen = board.exportFEN();
+        int plyNo = board.getPlyNo();
+        MoveList moves = new MoveList();
+        MoveGenerator.generatePseudoLegalMoves(board, moves);
+        for (int i = 0; i < moves.size(); i++) {
+            board.makeMove(moves.get(i));
+            assertInSync(board);
+            walk(board, depth - 1);
+            board.unmakeMove();
+            assertEquals(fen, board.exportFEN());
+            assertEquals(plyNo, board.getPlyNo());
+            assertInSync(board);
+        }
+    }
+
+    @Test
+    public void testMakeUnmakeRestoresPosition() throws InvalidPositionException {
+        assertMakeUnmakeRestores(STARTING_FEN, 3);
+        assertMakeUnmakeRestores(KIWIPETE_FEN, 2);
+        assertMakeUnmakeRestores("4k3/1P6/8/3pP3/8/8/8/4K3 w - d6", 2);
+        assertMakeUnmakeRestores("r3k2r/1P6/8/8/8/8/6p1/R3K2R b KQkq -", 2);
+    }
+
+    @Test
+    public void testMakeMoveMatchesApplyUci() throws InvalidPositionException, InvalidMoveException {
+        GameBoard board = new GameBoard();
+        board.importFEN(STARTING_FEN);
+        GameBoard reference = new GameBoard();
+        reference.importFEN(STARTING_FEN);
+
+        String[] moves = {"e2e4", "d7d5", "e4d5", "g8f6", "g1f3", "f6d5", "f1c4", "c7c5", "e1g1", "b8c6", "c4d5", "d8d5"};
+        for (String uci : moves) {
+            board.makeMove(Move.fromUci(board, uci));
+            reference.applyUci(uci);
+            assertEquals(reference.exportFEN(), board.exportFEN());
+            assertEquals(reference.getTurnColor(), board.getTurnColor());
+        }
+        assertEquals(moves.length, board.getUndoDepth());
+
+        for (int i = 0; i < moves.length; i++) {
+            board.unmakeMove();
+        }
+        assertEquals(STARTING_FEN, board.exportFEN());
+    }
+
+    @Test
+    public void testCastleRightsLostOnRookCapture() throws InvalidPositionException {
+        GameBoard board = new GameBoard();
+        board.importFEN("r3k2r/8/8/8/8/8/8/R3K2R w KQkq -");
+
+        board.makeMove(Move.fromUci(board, "a1a8"));
+        assertEquals("R3k2r/8/8/8/8/8/8/4K2R b Kk -", board.exportFEN());
+        board.unmakeMove();
+        assertEquals("r3k2r/8/8/8/8/8/8/R3K2R w KQkq -", board.exportFEN());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testUnmakeWithoutMove() throws InvalidPositionException {
+        GameBoard board = new GameBoard();
+        board.importFEN(STARTING_FEN);
+        board.unmakeMove();
+    }
+}
@@ -0,0 +1,87 @@
+package com.fgodard.chess;
+
+import com.fgodard.chess.beans.Ply;
+import com.fgodard.chess.board.*;
+import com.fgodard.chess.exception.InvalidCellException;
+import com.fgodard.chess.exception.InvalidMoveException;
+import com.fgodard.chess.exception.InvalidPositionException;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class MoveCacheTest {
+
+    @Test
+    public void testMoveCellsAreReusedUntilNextMove() throws InvalidPositionException, InvalidMoveException {
+        GameBoard board = new GameBoard();
+        board.importFEN(PerftPosition.STARTING.getFen());
+        Piece knight = board.getPiece(BoardCell.G1);
+
+        long misses = board.getMoveCacheMisses();
+        long hits = board.getMoveCacheHits();
+        assertEquals(2, knight.getMoveCells().size());
+        assertEquals(2, knight.getMoveCells().size());
+        assertEquals(misses + 1, board.getMoveCacheMisses());
+        assertEquals(hits + 1, board.getMoveCacheHits());
+
+        board.applyUci("e2e4");
+        assertEquals(3, knight.getMoveCells().size());
+        assertEquals(misses + 2, board.getMoveCacheMisses());
+
+        board.makeMove(Move.fromUci(board, "e7e5"));
+        board.unmakeMove();
+        assertEquals(3, knight.getMoveCells().size());
+        assertEquals(misses + 3, board.getMoveCacheMisses());
+    }
+
+    @Test
+    public void testEnPassantCellInvalidatesCache() throws InvalidPositionException, InvalidCellException {
+        GameBoard board = new GameBoard();
+        board.importFEN("4k3/8/8/3pP3/8/8/8/4K3 w - -");
+        assertFalse(board.getPiece(BoardCell.E5).getMoveCells().contains(BoardCell.D6));
+        board.setEnPassantCell("d6");
+        assertTrue(board.getPiece(BoardCell.E5).getMoveCells().contains(BoardCell.D6));
+    }
+
+    @Test
+    public void testLegalMovesAreShared() throws InvalidPositionException, InvalidMoveException {
+        GameBoard board = new GameBoard();
+        board.importFEN(PerftPosition.STARTING.getFen());
+        for (String uci : new String[]{"e2e4", "e7e5", "f1c4", "b8c6", "d1h5", "g8f6"}) {
+            board.applyUci(uci);
+        }
+        Ply mate = new Ply();
+        mate.setPiece('Q');
+        mate.setDestCell("f7");
+        board.move(mate);
+        assertTrue(mate.isMate());
+
+        long misses = board.getMoveCacheMisses();
+        assertTrue(board.isCheckMate());
+        assertFalse(board.isStaleMate());
+        assertEquals(0, board.generateLegalMoves(new MoveList()));
+        assertEquals(misses, board.getMoveCacheMisses());
+    }
+
+    @Test
+    public void testCachedLegalMovesMatchGenerator() throws InvalidPositionException {
+        for (PerftPosition position : PerftPosition.values()) {
+            GameBoard board = new GameBoard();
+            board.importFEN(position.getFen());
+            MoveList expected = new MoveList();
+            MoveGenerator.generateLegalMoves(board, expected);
+            MoveList cached = new MoveList();
+            board.generateLegalMoves(cached);
+            board.generateLegalMoves(cached);
+            assertEquals(position.name(), expected.size(), cached.size());
+            for (int i = 0; i < expected.size(); i++) {
+                assertTrue(cached.contains(expected.get(i)));
+            }
+            board.makeMove(cached.get(0));
+            assertEquals(MoveGenerator.generateLegalMoves(board, new MoveList()), board.generateLegalMoves(cached));
+            board.unmakeMove();
+            assertEquals(expected.size(), board.generateLegalMoves(cached));
+        }
+    }
+}
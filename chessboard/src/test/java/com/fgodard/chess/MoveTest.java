@@ -0,0 +1,134 @@
+package com.fgodard.chess;
+
+import com.fgodard.chess.beans.Ply;
+import com.fgodard.chess.board.*;
+import com.fgodard.chess.exception.InvalidPositionException;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class MoveTest {
+
+    private static final String STARTING_FEN = "rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w KQkq -";
+    private static final String KIWIPETE_FEN = "r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq -";
+
+    @Test
+    public void testEncoding() {
+        int move = Move.encode(BoardCell.E7.getIdx(), BoardCell.D8.getIdx(), Move.CAPTURE | Move.KNIGHT_PROMOTION);
+        assertEquals(BoardCell.E7.getIdx(), Move.getFrom(move));
+        assertEquals(BoardCell.D8.getIdx(), Move.getTo(move));
+        assertTrue(Move.isCapture(move));
+        assertTrue(Move.isPromotion(move));
+        assertFalse(Move.isCastle(move));
+        assertEquals(BitBoard.KNIGHT, Move.getPromotionType(move));
+        assertEquals("e7d8n", Move.toUci(move));
+        assertTrue(move < (1 << 16));
+    }
+
+    @Test
+    public void testGenerateStartingPosition() throws InvalidPositionException {
+        GameBoard board = new GameBoard();
+        board.importFEN(STARTING_FEN);
+
+        MoveList moves = new MoveList();
+        assertEquals(20, MoveGenerator.generatePseudoLegalMoves(board, moves));
+        assertTrue(moves.contains(Move.encode(BoardCell.E2.getIdx(), BoardCell.E4.getIdx(), Move.DOUBLE_PAWN_PUSH)));
+        assertTrue(moves.contains(Move.encode(BoardCell.G1.getIdx(), BoardCell.F3.getIdx(), Move.QUIET)));
+    }
+
+    @Test
+    public void testGenerateKiwipete() throws InvalidPositionException {
+        GameBoard board = new GameBoard();
+        board.importFEN(KIWIPETE_FEN);
+
+        int[] buffer = new int[MoveList.MAX_MOVES + 3];
+        int count = MoveGenerator.generatePseudoLegalMoves(board, buffer, 3);
+        assertEquals(48, count - 3);
+
+        int captures = 0;
+        int castles = 0;
+        for (int i = 3; i < count; i++) {
+            captures += Move.isCapture(buffer[i]) ? 1 : 0;
+            castles += Move.isCastle(buffer[i]) ? 1 : 0;
+        }
+        assertEquals(8, captures);
+        assertEquals(2, castles);
+    }
+
+    @Test
+    public void testGenerateEnPassantAndPromotions() throws InvalidPositionException {
+        GameBoard board = new GameBoard();
+        board.importFEN("4k3/1P6/8/3pP3/8/8/8/4K3 w - d6");
+
+        MoveList moves = new MoveList();
+        MoveGenerator.generatePseudoLegalMoves(board, moves);
+        assertTrue(moves.contains(Move.encode(BoardCell.E5.getIdx(), BoardCell.D6.getIdx(), Move.EN_PASSANT)));
+        assertTrue(moves.contains(Move.encode(BoardCell.B7.getIdx(), BoardCell.B8.getIdx(), Move.QUEEN_PROMOTION)));
+        assertTrue(moves.contains(Move.encode(BoardCell.B7.getIdx(), BoardCell.B8.getIdx(), Move.KNIGHT_PROMOTION)));
+        // 4 promotions, 2 poussées de e5, 5 coups de roi
+        assertEquals(11, moves.size());
+    }
+
+    @Test
+    public void testCastleThroughAttackedCell() throws InvalidPositionException {
+        GameBoard board = new GameBoard();
+        board.importFEN("r3k2r/8/8/8/8/8/5r2/R3K2R w KQ -");
+
+        MoveList moves = new MoveList();
+        MoveGenerator.generatePseudoLegalMoves(board, moves);
+        assertFalse(moves.contains(Move.encode(BoardCell.E1.getIdx(), BoardCell.G1.getIdx(), Move.KING_CASTLE)));
+        assertTrue(moves.contains(Move.encode(BoardCell.E1.getIdx(), BoardCell.C1.getIdx(), Move.QUEEN_CASTLE)));
+    }
+
+    @Test
+    public void testUciConversion() throws InvalidPositionException {
+        GameBoard board = new GameBoard();
+        board.importFEN(KIWIPETE_FEN);
+
+        assertEquals(Move.encode(BoardCell.E1.getIdx(), BoardCell.G1.getIdx(), Move.KING_CASTLE), Move.fromUci(board, "e1g1"));
+        assertEquals(Move.encode(BoardCell.E1.getIdx(), BoardCell.C1.getIdx(), Move.QUEEN_CASTLE), Move.fromUci(board, "e1a1"));
+        assertEquals(Move.encode(BoardCell.E5.getIdx(), BoardCell.F7.getIdx(), Move.CAPTURE), Move.fromUci(board, "e5f7"));
+        assertEquals(Move.encode(BoardCell.A2.getIdx(), BoardCell.A4.getIdx(), Move.DOUBLE_PAWN_PUSH), Move.fromUci(board, "a2a4"));
+        assertEquals(Move.NONE, Move.fromUci(board, "e4"));
+        assertEquals(Move.NONE, Move.fromUci(board, "a3a4"));
+
+        MoveList moves = new MoveList();
+        MoveGenerator.generatePseudoLegalMoves(board, moves);
+        for (int i = 0; i < moves.size(); i++) {
+            assertEquals(moves.get(i), Move.fromUci(board, Move.toUci(moves.get(i))));
+        }
+    }
+
+    @Test
+    public void testPlyConversion() throws InvalidPositionException {
+        GameBoard board = new GameBoard();
+        board.importFEN(KIWIPETE_FEN);
+
+        int move = Move.fromUci(board, "e5f7");
+        Ply ply = Move.toPly(board, move);
+        assertEquals('N', ply.getPiece());
+        assertEquals("e5", ply.getOrigCell());
+        assertEquals("f7", ply.getDestCell());
+        assertTrue(ply.isTake());
+        assertEquals(Color.WHITE, ply.getColor());
+        assertEquals(move, Move.fromPly(board, ply));
+
+        Ply san = new Ply();
+        san.setPiece('N');
+        san.setDestCell("f7");
+        assertEquals(move, Move.fromPly(board, san));
+
+        Ply castle = new Ply();
+        castle.setKingCastle(true);
+        assertEquals(Move.KING_CASTLE, Move.getFlags(Move.fromPly(board, castle)));
+
+        board.importFEN("4k3/8/8/8/8/8/8/N1N1K3 w - -");
+        Ply ambiguous = new Ply();
+        ambiguous.setPiece('N');
+        ambiguous.setDestCell("b3");
+        assertEquals(Move.NONE, Move.fromPly(board, ambiguous));
+        ambiguous.setOrigCell("c");
+        assertEquals(Move.encode(BoardCell.C1.getIdx(), BoardCell.B3.getIdx(), Move.QUIET), Move.fromPly(board, ambiguous));
+    }
+}
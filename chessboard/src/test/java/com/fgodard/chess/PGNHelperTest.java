@@ -3,6 +3,7 @@ package com.fgodard.chess;
 import com.fgodard.chess.beans.Game;
 import com.fgodard.chess.beans.Ply;
 import com.fgodard.chess.board.PGNHelper;
+import com.fgodard.chess.board.PositionCache;
 import com.fgodard.chess.exception.InvalidPgnException;
 
 import org.junit.Test;
@@ -286,4 +287,70 @@ public class PGNHelperTest {
 
         assertEquals(Integer.valueOf(0), games.get(2).getResult());
     }
+
+    @Test
+    public void testLazyPositionsMatchEagerPositions() throws IOException, InvalidPgnException {
+        for (String name : new String[]{"simple_game.pgn", "multiple_games.pgn", "capture_game.pgn",
+                "castling_game.pgn", "promotion_game.pgn", "disambiguation_game.pgn", "game_with_comments.pgn"}) {
+            File pgnFile = getResourceFile(name);
+            List<Game> eager = new ArrayList<>();
+            List<Game> lazy = new ArrayList<>();
+            PGNHelper.readPgnFile(pgnFile, eager::add);
+            PGNHelper.readPgnFile(pgnFile, lazy::add, true);
+
+            assertEquals(name, eager.size(), lazy.size());
+            for (int g = 0; g < eager.size(); g++) {
+                Game expected = eager.get(g);
+                Game actual = lazy.get(g);
+                assertNull(expected.getPositions());
+                assertNotNull(actual.getPositions());
+                assertEquals(name, expected.getPlies().size(), actual.getPlies().size());
+                for (int i = 0; i < expected.getPlies().size(); i++) {
+                    Ply expectedPly = expected.getPlies().get(i);
+                    Ply actualPly = actual.getPlies().get(i);
+                    assertEquals(expectedPly, actualPly);
+                    assertEquals(expectedPly.getInitialPosition().getPosition(), actualPly.getInitialPosition().getPosition());
+                    assertEquals(expectedPly.getFinalPosition().getPosition(), actualPly.getFinalPosition().getPosition());
+                    assertEquals(expectedPly.getFinalPosition().getTurnColor(), actualPly.getFinalPosition().getTurnColor());
+                    assertEquals(expectedPly.getFinalPosition().getBoardState().get().getEpCell(),
+                            actualPly.getFinalPosition().getBoardState().get().getEpCell());
+                    assertSame(actualPly.getFinalPosition(), actualPly.getFinalPosition());
+                    // les positions différées restent des beans modifiables pour les exporteurs
+                    actualPly.getInitialPosition().setPosition(actualPly.getInitialPosition().getPosition());
+                    assertEquals(expectedPly.getFinalPosition(), actualPly.getFinalPosition());
+                }
+                assertEquals(name, expected.getPosList(), actual.getPosList());
+            }
+        }
+    }
+
+    @Test
+    public void testPositionCacheSharedBetweenImports() throws IOException, InvalidPgnException {
+        PositionCache cache = new PositionCache(4096);
+        boolean checkSeen = false;
+        for (String name : new String[]{"multiple_games.pgn", "promotion_game.pgn", "multiple_games.pgn"}) {
+            File pgnFile = getResourceFile(name);
+            List<Game> expected = new ArrayList<>();
+            List<Game> cached = new ArrayList<>();
+            PGNHelper.readPgnFile(pgnFile, expected::add);
+            PGNHelper.readPgnFile(pgnFile, cached::add, false, cache);
+
+            assertEquals(name, expected.size(), cached.size());
+            for (int g = 0; g < expected.size(); g++) {
+                List<Ply> expectedPlies = expected.get(g).getPlies();
+                List<Ply> cachedPlies = cached.get(g).getPlies();
+                assertEquals(name, expectedPlies.size(), cachedPlies.size());
+                for (int i = 0; i < expectedPlies.size(); i++) {
+                    assertEquals(expectedPlies.get(i), cachedPlies.get(i));
+                    assertEquals(expectedPlies.get(i).isCheck(), cachedPlies.get(i).isCheck());
+                    assertEquals(expectedPlies.get(i).isMate(), cachedPlies.get(i).isMate());
+                    checkSeen |= cachedPlies.get(i).isCheck();
+                }
+            }
+        }
+        assertTrue(checkSeen);
+        assertTrue(cache.size() > 0);
+        // les ouvertures du second passage sur multiple_games.pgn sont toutes lues dans le cache
+        assertTrue(cache.getHits() > 0);
+    }
 }
@@ -0,0 +1,88 @@
+package com.fgodard.chess;
+
+import com.fgodard.chess.beans.PerftResult;
+import com.fgodard.chess.board.GameBoard;
+import com.fgodard.chess.board.Perft;
+import com.fgodard.chess.board.PerftHashTable;
+import com.fgodard.chess.board.PerftPosition;
+import com.fgodard.chess.board.Zobrist;
+import com.fgodard.chess.exception.InvalidPositionException;
+
+import org.junit.Test;
+
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.Assert.*;
+
+public class PerftTest {
+
+    /** Limite le nombre de feuilles par position pour garder des tests rapides */
+    private static final long MAX_NODES = 2_200_000L;
+
+    @Test
+    public void testReferencePositions() throws InvalidPositionException {
+        for (PerftPosition position : PerftPosition.values()) {
+            GameBoard board = new GameBoard();
+            board.importFEN(position.getFen());
+            for (int depth = 1; depth <= position.getMaxDepth() && position.getExpectedNodes(depth) <= MAX_NODES; depth++) {
+                assertEquals(position.name() + " depth " + depth, position.getExpectedNodes(depth), Perft.perft(board, depth));
+            }
+            assertEquals(position.getFen(), board.exportFEN());
+        }
+    }
+
+    @Test
+    public void testDivide() throws InvalidPositionException {
+        GameBoard board = new GameBoard();
+        board.importFEN(PerftPosition.KIWIPETE.getFen());
+
+        PerftResult result = Perft.divide(board, 2);
+        assertEquals(2039L, result.getNodes());
+        assertEquals(48, result.getDivide().size());
+        assertEquals(Long.valueOf(43L), result.getDivide().get("e1g1"));
+        assertEquals(result.getNodes(), result.getDivide().values().stream().mapToLong(Long::longValue).sum());
+        assertTrue(result.toString().contains("nodes 2039"));
+    }
+
+    @Test
+    public void testRunReportsSpeed() throws InvalidPositionException {
+        PerftResult result = Perft.run(PerftPosition.STARTING.getFen(), 4);
+        assertEquals(197281L, result.getNodes());
+        assertEquals(4, result.getDepth());
+        assertTrue(result.getDurationNanos() > 0);
+        assertTrue(result.getNodesPerSecond() > 0);
+        assertEquals(1L, Perft.perft(new GameBoard(), 0));
+    }
+
+    @Test
+    public void testParallelPerft() throws InvalidPositionException {
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            for (PerftPosition position : PerftPosition.values()) {
+                GameBoard board = new GameBoard();
+                board.importFEN(position.getFen());
+                assertEquals(position.name(), position.getExpectedNodes(3), Perft.parallelPerft(board, 3, 2, pool, null));
+                assertEquals(position.getFen(), board.exportFEN());
+            }
+
+            GameBoard board = new GameBoard();
+            board.importFEN(PerftPosition.KIWIPETE.getFen());
+            PerftResult result = Perft.runParallel(board, 4, pool, new PerftHashTable(4));
+            assertEquals(PerftPosition.KIWIPETE.getExpectedNodes(4), result.getNodes());
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void testPerftWithHashTable() throws InvalidPositionException {
+        GameBoard board = new GameBoard();
+        board.importFEN(PerftPosition.EN_PASSANT_PINS.getFen());
+        PerftHashTable table = new PerftHashTable(1);
+
+        assertEquals(674624L, Perft.perft(board, 5, table));
+        assertEquals(674624L, Perft.perft(board, 5, table));
+        assertEquals(674624L, table.get(Zobrist.computeKey(board), 5));
+        assertEquals(-1L, table.get(Zobrist.computeKey(board), 6));
+    }
+}
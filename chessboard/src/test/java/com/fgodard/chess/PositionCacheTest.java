@@ -0,0 +1,116 @@
+package com.fgodard.chess;
+
+import com.fgodard.chess.board.*;
+import com.fgodard.chess.exception.InvalidMoveException;
+import com.fgodard.chess.exception.InvalidPositionException;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.*;
+
+public class PositionCacheTest {
+
+    private static final String[] OPENING = {"e2e4", "e7e5", "g1f3", "b8c6", "f1b5", "a7a6", "b5a4", "g8f6"};
+
+    private static void replay(GameBoard board, String... ucis) throws InvalidMoveException {
+        for (String uci : ucis) {
+            board.applyUci(uci);
+            board.generateLegalMoves(new MoveList());
+        }
+    }
+
+    @Test
+    public void testOpeningsAreSharedBetweenBoards() throws InvalidPositionException, InvalidMoveException {
+        PositionCache cache = new PositionCache(1024);
+        GameBoard first = new GameBoard();
+        first.setPositionCache(cache);
+        first.importFEN(PerftPosition.STARTING.getFen());
+        replay(first, OPENING);
+        long misses = cache.getMisses();
+        assertEquals(0, cache.getHits());
+
+        GameBoard second = new GameBoard();
+        second.setPositionCache(cache);
+        second.importFEN(PerftPosition.STARTING.getFen());
+        replay(second, OPENING);
+        assertEquals(misses, cache.getMisses());
+        assertTrue(cache.getHits() >= OPENING.length);
+
+        MoveList expected = new MoveList();
+        MoveGenerator.generateLegalMoves(second, expected);
+        MoveList cached = new MoveList();
+        second.generateLegalMoves(cached);
+        assertEquals(expected.size(), cached.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertTrue(cached.contains(expected.get(i)));
+        }
+    }
+
+    @Test
+    public void testCheckAndMateStatus() throws InvalidPositionException, InvalidMoveException {
+        PositionCache cache = new PositionCache(64);
+        GameBoard board = new GameBoard();
+        board.setPositionCache(cache);
+        board.importFEN(PerftPosition.STARTING.getFen());
+        replay(board, "f2f3", "e7e5", "g2g4", "d8h4");
+        PositionCache.Entry entry = cache.get(board.getPositionKey());
+        assertNotNull(entry);
+        assertTrue(entry.isCheck());
+        assertTrue(entry.isMate());
+        assertFalse(entry.isStaleMate());
+        assertEquals(0, entry.getMoveCount());
+        assertTrue(board.isCheckMate());
+    }
+
+    @Test
+    public void testEvictionRespectsBudget() throws InvalidPositionException {
+        PositionCache cache = new PositionCache(32);
+        int[] moves = new int[MoveList.MAX_MOVES];
+        for (long key = 0; key < 1000; key++) {
+            cache.put(key * 0x9E3779B97F4A7C15L, moves, 0, false);
+        }
+        assertTrue(cache.size() <= 32);
+        cache.clear();
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void testConcurrentReplays() throws Exception {
+        final PositionCache cache = new PositionCache(256);
+        final AtomicReference<Throwable> failure = new AtomicReference<>();
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            threads.add(new Thread(() -> {
+                try {
+                    for (int n = 0; n < 20; n++) {
+                        GameBoard board = new GameBoard(true);
+                        board.setPositionCache(cache);
+                        board.importFEN(PerftPosition.STARTING.getFen());
+                        for (String uci : OPENING) {
+                            board.applyUci(uci);
+                            MoveList cached = new MoveList();
+                            int count = board.generateLegalMoves(cached);
+                            assertEquals(MoveGenerator.generateLegalMoves(board, new MoveList()), count);
+                        }
+                    }
+                } catch (Throwable e) {
+                    failure.compareAndSet(null, e);
+                }
+            }));
+        }
+        for (Thread thread : threads) {
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        if (failure.get() != null) {
+            throw new AssertionError(failure.get());
+        }
+        assertTrue(cache.getHits() > 0);
+    }
+}
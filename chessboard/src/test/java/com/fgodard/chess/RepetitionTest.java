@@ -0,0 +1,95 @@
+package com.fgodard.chess;
+
+import com.fgodard.chess.board.*;
+import com.fgodard.chess.exception.InvalidMoveException;
+import com.fgodard.chess.exception.InvalidPositionException;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class RepetitionTest {
+
+    private static final String STARTING_FEN = "rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w KQkq -";
+
+    private static final String[] KNIGHT_SHUFFLE = {"g1f3", "g8f6", "f3g1", "f6g8"};
+
+    @Test
+    public void testThreefoldRepetition() throws InvalidPositionException, InvalidMoveException {
+        GameBoard board = new GameBoard();
+        board.importFEN(STARTING_FEN);
+        assertTrue(board.isRepetition(1));
+        assertFalse(board.isRepetition(2));
+
+        for (String uci : KNIGHT_SHUFFLE) {
+            board.applyUci(uci);
+        }
+        assertTrue(board.isRepetition(2));
+        assertFalse(board.isRepetition(3));
+
+        for (String uci : KNIGHT_SHUFFLE) {
+            board.applyUci(uci);
+        }
+        assertTrue(board.isRepetition(3));
+
+        board.applyUci("e2e4");
+        assertFalse(board.isRepetition(2));
+        assertEquals(0, board.getPlyNoSincePawn());
+    }
+
+    @Test
+    public void testRepetitionWithMakeUnmake() throws InvalidPositionException {
+        GameBoard board = new GameBoard();
+        board.importFEN(STARTING_FEN);
+
+        for (int i = 0; i < 2; i++) {
+            for (String uci : KNIGHT_SHUFFLE) {
+                board.makeMove(Move.fromUci(board, uci));
+            }
+        }
+        assertTrue(board.isRepetition(3));
+        board.unmakeMove();
+        assertFalse(board.isRepetition(3));
+        board.makeMove(Move.fromUci(board, "f6g8"));
+        assertTrue(board.isRepetition(3));
+    }
+
+    @Test
+    public void testCaptureResetsCounter() throws InvalidPositionException, InvalidMoveException {
+        GameBoard board = new GameBoard();
+        board.importFEN("4k3/8/8/3p4/8/2N5/8/4K3 w - -");
+        board.applyUci("c3b5");
+        assertEquals(1, board.getPlyNoSincePawn());
+        board.applyUci("e8d7");
+        board.applyUci("b5d4");
+        assertEquals(3, board.getPlyNoSincePawn());
+        board.applyUci("d7d6");
+        board.applyUci("d4b5");
+        board.applyUci("d6c5");
+        board.applyUci("b5d4");
+        board.applyUci("c5d4");
+        assertEquals(0, board.getPlyNoSincePawn());
+    }
+
+    @Test
+    public void testFiftyAndSeventyFiveMoveRules() throws InvalidPositionException, InvalidMoveException {
+        GameBoard board = new GameBoard();
+        board.importFEN("4k3/8/8/8/8/8/8/R3K3 w - - 99 80");
+        assertEquals(99, board.getPlyNoSincePawn());
+        assertFalse(board.isFiftyMoveDraw());
+
+        board.applyUci("a1a2");
+        assertTrue(board.isFiftyMoveDraw());
+        assertFalse(board.isSeventyFiveMoveDraw());
+
+        board.importFEN("4k3/8/8/8/8/8/8/R3K3 w - - 149 100");
+        board.applyUci("a1b1");
+        assertTrue(board.isSeventyFiveMoveDraw());
+
+        // Le mat l'emporte sur la règle des 50 coups
+        board.importFEN("k7/8/1K6/8/8/8/8/7R w - - 99 80");
+        board.applyUci("h1h8");
+        assertTrue(board.isCheckMate());
+        assertFalse(board.isFiftyMoveDraw());
+    }
+}
@@ -0,0 +1,80 @@
+package com.fgodard.chess;
+
+import com.fgodard.chess.board.*;
+import com.fgodard.chess.exception.InvalidMoveException;
+import com.fgodard.chess.exception.InvalidPositionException;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class ZobristTest {
+
+    private void walk(GameBoard board, int depth) {
+        assertEquals(Zobrist.computeKey(board), board.getPositionKey());
+        if (depth == 0) {
+            return;
+        }
+        long key = board.getPositionKey();
+        MoveList moves = new MoveList();
+        board.generateLegalMoves(moves);
+        for (int i = 0; i < moves.size(); i++) {
+            board.makeMove(moves.get(i));
+            assertNotEquals(key, board.getPositionKey());
+            walk(board, depth - 1);
+            board.unmakeMove();
+            assertEquals(key, board.getPositionKey());
+        }
+    }
+
+    @Test
+    public void testIncrementalKeyMatchesFullComputation() throws InvalidPositionException {
+        for (PerftPosition position : PerftPosition.values()) {
+            GameBoard board = new GameBoard();
+            board.importFEN(position.getFen());
+            walk(board, 2);
+        }
+    }
+
+    @Test
+    public void testTranspositionsShareKey() throws InvalidPositionException, InvalidMoveException {
+        GameBoard board = new GameBoard();
+        board.importFEN(PerftPosition.STARTING.getFen());
+        long start = board.getPositionKey();
+
+        for (String uci : new String[]{"g1f3", "g8f6", "f3g1", "f6g8"}) {
+            board.applyUci(uci);
+            assertEquals(Zobrist.computeKey(board), board.getPositionKey());
+        }
+        assertEquals(start, board.getPositionKey());
+
+        GameBoard other = new GameBoard();
+        other.importFEN(PerftPosition.STARTING.getFen());
+        other.applyUci("e2e3");
+        other.applyUci("e7e6");
+        other.applyUci("e3e4");
+        other.applyUci("e6e5");
+        board.applyUci("e2e4");
+        board.applyUci("e7e5");
+        assertEquals(board.exportFEN(), other.exportFEN());
+        assertEquals(board.getPositionKey(), other.getPositionKey());
+    }
+
+    @Test
+    public void testStateIsPartOfKey() throws InvalidPositionException {
+        GameBoard white = new GameBoard();
+        white.importFEN("r3k2r/8/8/8/8/8/8/R3K2R w KQkq -");
+        GameBoard black = new GameBoard();
+        black.importFEN("r3k2r/8/8/8/8/8/8/R3K2R b KQkq -");
+        GameBoard noCastle = new GameBoard();
+        noCastle.importFEN("r3k2r/8/8/8/8/8/8/R3K2R w Kkq -");
+        assertNotEquals(white.getPositionKey(), black.getPositionKey());
+        assertNotEquals(white.getPositionKey(), noCastle.getPositionKey());
+
+        GameBoard enPassant = new GameBoard();
+        enPassant.importFEN("4k3/8/8/3pP3/8/8/8/4K3 w - d6");
+        GameBoard noEnPassant = new GameBoard();
+        noEnPassant.importFEN("4k3/8/8/3pP3/8/8/8/4K3 w - -");
+        assertNotEquals(enPassant.getPositionKey(), noEnPassant.getPositionKey());
+    }
+}